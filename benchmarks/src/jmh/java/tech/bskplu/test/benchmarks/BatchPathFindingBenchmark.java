@@ -0,0 +1,71 @@
+package tech.bskplu.test.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tech.bskplu.test.ai.GameTiledGraph;
+import tech.bskplu.test.manager.AIManager;
+import tech.bskplu.test.manager.PathRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: BatchPathFindingBenchmark
+ * @Description: 批量寻路基准：每次调用用 AIManager.solveAll 求解一批代理的寻路请求
+ * 用 -XX:ActiveProcessorCount=N 限制可用核数分别运行，即可比较吞吐量随核数的变化。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchPathFindingBenchmark {
+    @Param({"256"})
+    public int gridSize;// 地图边长 (网格)
+
+    @Param({"1000"})
+    public int agentCount;// 同时寻路的代理数
+
+    @Param({"JUMP_POINT", "A_STAR"})
+    public AIManager.PathFinderMode pathFinderMode;// 寻路算法
+
+    private AIManager aiManager;
+    private final Array<PathRequest> requests = new Array<>();
+
+    @Setup
+    public void setUp() {
+        GameTiledGraph graph = BenchmarkMaps.createGraph(gridSize, BenchmarkMaps.createObstacleRects(gridSize, 0.2f), GameTiledGraph.StorageMode.NODES);
+        aiManager = new AIManager(graph);
+        aiManager.setPathFinderMode(pathFinderMode);
+
+        // 随机选取可走的起终点 (不要求连通，不连通的请求由 solveAll 直接判定失败)
+        RandomXS128 random = new RandomXS128(BenchmarkMaps.SEED);
+        int nodeCount = graph.getNodeCount();
+        while (requests.size < agentCount) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            if (!graph.isWalkable(start) || !graph.isWalkable(end)) continue;
+            requests.add(new PathRequest(null, graph.getNode(start), graph.getNode(end)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        aiManager.dispose();
+    }
+
+    @Benchmark
+    public Array<PathRequest> solveAll() {
+        aiManager.solveAll(requests);
+        return requests;
+    }
+}
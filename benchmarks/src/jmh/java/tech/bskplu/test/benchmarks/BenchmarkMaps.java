@@ -0,0 +1,88 @@
+package tech.bskplu.test.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import tech.bskplu.test.ai.GameTiledGraph;
+
+/**
+ * @ClassName: BenchmarkMaps
+ * @Description: 基准测试用的地图：按种子生成随机矩形障碍物，覆盖率接近给定密度，保证每次运行地图相同
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+final class BenchmarkMaps {
+    static final float TILE_SIZE = 1f;// 每个网格 1 米，网格数即世界尺寸
+    static final long SEED = 20261018L;// 固定种子
+    private static final int MIN_HALF_SIZE = 1;// 障碍物最小半边长 (网格)
+    private static final int MAX_HALF_SIZE = 8;// 障碍物最大半边长 (网格)
+
+    private BenchmarkMaps() {
+    }
+
+    /**
+     * 生成障碍物矩形，每 4 个数为 centerX, centerY, halfWidth, halfHeight (米)
+     * @param gridSize 地图边长 (网格)
+     * @param density 障碍物覆盖率 (按面积累计，重叠部分会重复计算)
+     * @return 障碍物矩形
+     */
+    static FloatArray createObstacleRects(int gridSize, float density) {
+        RandomXS128 random = new RandomXS128(SEED);
+        FloatArray rects = new FloatArray();
+        float targetArea = gridSize * gridSize * density;
+        float area = 0f;
+        while (area < targetArea) {
+            int halfWidth = MIN_HALF_SIZE + random.nextInt(MAX_HALF_SIZE - MIN_HALF_SIZE + 1);
+            int halfHeight = MIN_HALF_SIZE + random.nextInt(MAX_HALF_SIZE - MIN_HALF_SIZE + 1);
+            float x = halfWidth + random.nextInt(Math.max(1, gridSize - 2 * halfWidth));
+            float y = halfHeight + random.nextInt(Math.max(1, gridSize - 2 * halfHeight));
+            rects.addAll(x * TILE_SIZE, y * TILE_SIZE, halfWidth * TILE_SIZE, halfHeight * TILE_SIZE);
+            area += 4f * halfWidth * halfHeight;
+        }
+        return rects;
+    }
+
+    /**
+     * 在 Box2D 世界中为每个矩形创建静态物体
+     */
+    static Array<Body> createObstacleBodies(World world, FloatArray rects) {
+        Array<Body> bodies = new Array<>();
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        PolygonShape shape = new PolygonShape();
+        for (int i = 0; i < rects.size; i += 4) {
+            bodyDef.position.set(rects.get(i), rects.get(i + 1));
+            Body body = world.createBody(bodyDef);
+            shape.setAsBox(rects.get(i + 2), rects.get(i + 3));
+            body.createFixture(shape, 0f);
+            bodies.add(body);
+        }
+        shape.dispose();
+        return bodies;
+    }
+
+    /**
+     * 不经过 Box2D，直接把矩形写入导航图 (寻路基准只关心网格本身)
+     */
+    static GameTiledGraph createGraph(int gridSize, FloatArray rects, GameTiledGraph.StorageMode storageMode) {
+        GameTiledGraph graph = new GameTiledGraph(gridSize * TILE_SIZE, gridSize * TILE_SIZE, TILE_SIZE, new Array<>(), storageMode);
+        for (int i = 0; i < rects.size; i += 4) {
+            int minX = graph.worldToTileX(rects.get(i) - rects.get(i + 2));
+            int maxX = graph.worldToTileX(rects.get(i) + rects.get(i + 2)) - 1;
+            int minY = graph.worldToTileY(rects.get(i + 1) - rects.get(i + 3));
+            int maxY = graph.worldToTileY(rects.get(i + 1) + rects.get(i + 3)) - 1;
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    graph.setWalkable(x, y, false);
+                }
+            }
+        }
+        graph.buildConnections();
+        return graph;
+    }
+}
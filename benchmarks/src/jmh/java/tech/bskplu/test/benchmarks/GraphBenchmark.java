@@ -0,0 +1,105 @@
+package tech.bskplu.test.benchmarks;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tech.bskplu.test.ai.GameTiledGraph;
+import tech.bskplu.test.ai.GameTiledNode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: GraphBenchmark
+ * @Description: 导航图基准：构建 (含障碍物栅格化)、打包连接、遍历连接、重新栅格化障碍物
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphBenchmark {
+    @Param({"64", "256", "1024"})
+    public int gridSize;// 地图边长 (网格)
+
+    @Param({"0.1", "0.3"})
+    public float obstacleDensity;// 障碍物覆盖率
+
+    private World world;// Box2D 物理世界
+    private Array<Body> obstacles;// 障碍物
+    private GameTiledGraph graph;// 预先构建的导航图
+    private final Rectangle fullMap = new Rectangle();// 整张地图 (米)
+
+    @Setup
+    public void setUp() {
+        Box2D.init();
+        world = new World(new Vector2(0, 0), false);
+        obstacles = BenchmarkMaps.createObstacleBodies(world, BenchmarkMaps.createObstacleRects(gridSize, obstacleDensity));
+        graph = createGraph();
+        fullMap.set(0f, 0f, gridSize * BenchmarkMaps.TILE_SIZE, gridSize * BenchmarkMaps.TILE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    private GameTiledGraph createGraph() {
+        float worldSize = gridSize * BenchmarkMaps.TILE_SIZE;
+        return new GameTiledGraph(worldSize, worldSize, BenchmarkMaps.TILE_SIZE, obstacles);
+    }
+
+    /**
+     * 创建节点、栅格化所有障碍物并打包连接
+     */
+    @Benchmark
+    public GameTiledGraph construct() {
+        return createGraph();
+    }
+
+    /**
+     * 只重新打包连接 (直接修改网格类型后调用)
+     */
+    @Benchmark
+    public GameTiledGraph buildConnections() {
+        graph.buildConnections();
+        return graph;
+    }
+
+    /**
+     * 通过 gdx-ai 接口遍历所有节点的连接 (A* 展开节点时的访问方式)
+     */
+    @Benchmark
+    public float getConnections() {
+        float totalCost = 0f;
+        for (GameTiledNode node : graph.getNodes()) {
+            Array<Connection<GameTiledNode>> connections = graph.getConnections(node);
+            for (int i = 0; i < connections.size; i++) {
+                totalCost += connections.get(i).getCost();
+            }
+        }
+        return totalCost;
+    }
+
+    /**
+     * 把整张地图标记为脏区域并重新栅格化所有障碍物 (替代原来的 markObstacles)
+     */
+    @Benchmark
+    public boolean rasterizeObstacles() {
+        graph.markDirty(fullMap);
+        return graph.applyDirtyRegions();
+    }
+}
@@ -0,0 +1,126 @@
+package tech.bskplu.test.benchmarks;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tech.bskplu.test.ai.GameTiledGraph;
+import tech.bskplu.test.ai.GameTiledHeuristic;
+import tech.bskplu.test.ai.GameTiledNode;
+import tech.bskplu.test.ai.JumpPointPathFinder;
+import tech.bskplu.test.ai.LandmarkHeuristic;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: HeuristicBenchmark
+ * @Description: 启发函数基准：同一组起终点下，gdx-ai A* 分别使用曼哈顿距离 (旧实现)、八方向距离和 ALT 地标的耗时，
+ * 并用辅助计数器记录展开的节点数和比最短路径多出的代价 (均为累计值，除以 searches 得每次搜索的平均值)
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HeuristicBenchmark {
+    private static final int QUERY_COUNT = 64;// 起终点对数
+
+    @Param({"256", "1024"})
+    public int gridSize;// 地图边长 (网格)
+
+    @Param({"0.3"})
+    public float obstacleDensity;// 障碍物覆盖率
+
+    @Param({"MANHATTAN", "OCTILE", "LANDMARK"})
+    public String heuristicType;// 启发函数
+
+    private GameTiledGraph graph;// 导航图
+    private IndexedAStarPathFinder<GameTiledNode> aStarPathFinder;// gdx-ai A* (开启统计)
+    private Heuristic<GameTiledNode> heuristic;// 被测的启发函数
+    private final DefaultGraphPath<GameTiledNode> path = new DefaultGraphPath<>();// 复用的结果路径
+    private final GameTiledNode[] startNodes = new GameTiledNode[QUERY_COUNT];
+    private final GameTiledNode[] endNodes = new GameTiledNode[QUERY_COUNT];
+    private final float[] optimalCosts = new float[QUERY_COUNT];// 各对起终点的最短路径代价
+    private int nextQuery;
+
+    /**
+     * 搜索质量计数器
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SearchCounters {
+        public long searches;// 搜索次数
+        public long visitedNodes;// 累计展开的节点数
+        public double excessCost;// 累计比最短路径多出的代价
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            searches = 0;
+            visitedNodes = 0;
+            excessCost = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkMaps.createGraph(gridSize, BenchmarkMaps.createObstacleRects(gridSize, obstacleDensity), GameTiledGraph.StorageMode.NODES);
+        aStarPathFinder = new IndexedAStarPathFinder<>(graph, true);
+        switch (heuristicType) {
+            case "MANHATTAN":
+                heuristic = (node, endNode) -> Math.abs(node.x - endNode.x) + Math.abs(node.y - endNode.y);
+                break;
+            case "OCTILE":
+                heuristic = new GameTiledHeuristic();
+                break;
+            default:
+                LandmarkHeuristic landmarkHeuristic = new LandmarkHeuristic(graph);
+                landmarkHeuristic.computeNow();
+                heuristic = landmarkHeuristic;
+                break;
+        }
+
+        // 与 PathFindingBenchmark 相同的选点规则，最短代价由 JPS (八方向距离，可容许) 给出
+        JumpPointPathFinder jumpPointPathFinder = new JumpPointPathFinder(graph);
+        GameTiledHeuristic octile = new GameTiledHeuristic();
+        RandomXS128 random = new RandomXS128(BenchmarkMaps.SEED);
+        int nodeCount = graph.getNodeCount();
+        int minDistance = gridSize / 2;
+        for (int i = 0; i < QUERY_COUNT; ) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            GameTiledNode startNode = graph.getNode(start);
+            GameTiledNode endNode = graph.getNode(end);
+            if (Math.abs(startNode.x - endNode.x) + Math.abs(startNode.y - endNode.y) < minDistance) continue;
+            if (!graph.isReachable(start, end)) continue;
+            startNodes[i] = startNode;
+            endNodes[i] = endNode;
+            path.clear();
+            jumpPointPathFinder.searchNodePath(startNode, endNode, octile, path);
+            optimalCosts[i] = graph.getPathCost(path);
+            i++;
+        }
+    }
+
+    @Benchmark
+    public int aStarSearchNodePath(SearchCounters counters) {
+        int query = nextQuery;
+        nextQuery = (nextQuery + 1) % QUERY_COUNT;
+        path.clear();
+        aStarPathFinder.searchNodePath(startNodes[query], endNodes[query], heuristic, path);
+        counters.searches++;
+        counters.visitedNodes += aStarPathFinder.metrics.visitedNodes;
+        counters.excessCost += graph.getPathCost(path) - optimalCosts[query];
+        return path.getCount();
+    }
+}
@@ -0,0 +1,93 @@
+package tech.bskplu.test.benchmarks;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tech.bskplu.test.ai.GameTiledGraph;
+import tech.bskplu.test.ai.GameTiledHeuristic;
+import tech.bskplu.test.ai.GameTiledNode;
+import tech.bskplu.test.ai.JumpPointPathFinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName: PathFindingBenchmark
+ * @Description: 寻路基准：固定的一组可达起终点，每次调用轮流搜索其中一对
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathFindingBenchmark {
+    private static final int QUERY_COUNT = 64;// 起终点对数
+
+    @Param({"64", "256", "1024"})
+    public int gridSize;// 地图边长 (网格)
+
+    @Param({"0.1", "0.3"})
+    public float obstacleDensity;// 障碍物覆盖率
+
+    private GameTiledGraph graph;// 导航图
+    private IndexedAStarPathFinder<GameTiledNode> aStarPathFinder;// gdx-ai A*
+    private JumpPointPathFinder jumpPointPathFinder;// 跳点搜索 (对照)
+    private final GameTiledHeuristic heuristic = new GameTiledHeuristic();// 八方向距离启发函数
+    private final DefaultGraphPath<GameTiledNode> path = new DefaultGraphPath<>();// 复用的结果路径
+    private final GameTiledNode[] startNodes = new GameTiledNode[QUERY_COUNT];
+    private final GameTiledNode[] endNodes = new GameTiledNode[QUERY_COUNT];
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkMaps.createGraph(gridSize, BenchmarkMaps.createObstacleRects(gridSize, obstacleDensity), GameTiledGraph.StorageMode.NODES);
+        aStarPathFinder = new IndexedAStarPathFinder<>(graph);
+        jumpPointPathFinder = new JumpPointPathFinder(graph);
+
+        // 只选取相距至少半张地图、且互相可达的起终点，避免测到立即失败的搜索
+        RandomXS128 random = new RandomXS128(BenchmarkMaps.SEED);
+        int nodeCount = graph.getNodeCount();
+        int minDistance = gridSize / 2;
+        for (int i = 0; i < QUERY_COUNT; ) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            GameTiledNode startNode = graph.getNode(start);
+            GameTiledNode endNode = graph.getNode(end);
+            if (Math.abs(startNode.x - endNode.x) + Math.abs(startNode.y - endNode.y) < minDistance) continue;
+            if (!graph.isReachable(start, end)) continue;
+            startNodes[i] = startNode;
+            endNodes[i] = endNode;
+            i++;
+        }
+    }
+
+    private int nextQuery() {
+        int query = nextQuery;
+        nextQuery = (nextQuery + 1) % QUERY_COUNT;
+        return query;
+    }
+
+    @Benchmark
+    public int aStarSearchNodePath() {
+        int query = nextQuery();
+        path.clear();
+        aStarPathFinder.searchNodePath(startNodes[query], endNodes[query], heuristic, path);
+        return path.getCount();
+    }
+
+    @Benchmark
+    public int jumpPointSearchNodePath() {
+        int query = nextQuery();
+        path.clear();
+        jumpPointPathFinder.searchNodePath(startNodes[query], endNodes[query], heuristic, path);
+        return path.getCount();
+    }
+}
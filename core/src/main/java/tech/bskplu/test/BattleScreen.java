@@ -6,7 +6,6 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -15,6 +14,9 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import tech.bskplu.test.characters.Enemy;
 import tech.bskplu.test.characters.Player;
+import tech.bskplu.test.manager.AssetService;
+import tech.bskplu.test.manager.GroundCache;
+import tech.bskplu.test.manager.SimulationClock;
 import tech.bskplu.test.manager.UIManager;
 import tech.bskplu.test.manager.WorldManager;
 
@@ -31,10 +33,13 @@ public class BattleScreen implements Screen {
     private OrthographicCamera camera;
     private World world;
     private Box2DDebugRenderer debugRenderer;
-    private Texture groundTexture;
+    private TextureRegion groundRegion;// 地面 (与角色同在世界图集中)
+    private GroundCache groundCache;// 平铺地面的静态缓存
     private BitmapFont font;
     private WorldManager worldManager;
     private UIManager uiManager;
+    private final SimulationClock simulationClock = new SimulationClock();// 固定步长时钟
+    private final Vector2 drawPosTemp = new Vector2();// 插值后的绘制位置 (米)
 
     // 角色
     private Player player;
@@ -70,7 +75,13 @@ public class BattleScreen implements Screen {
         camera.setToOrtho(false, SCENE_WIDTH * PPM, SCENE_HEIGHT * PPM);
         world = new World(new Vector2(0, 0), true);
         debugRenderer = new Box2DDebugRenderer();
-        groundTexture = new Texture(Gdx.files.internal("ground.png"));
+        AssetService assets = AssetService.getInstance();
+        // 战斗中绘制地面和角色，持有世界图集的引用，追击场景释放后仍可绘制
+        groundRegion = assets.acquireAtlas(AssetService.WORLD_ATLAS).findRegion(AssetService.WORLD_GROUND_REGION);
+        int tileCount = MathUtils.ceil(SCENE_WIDTH * PPM / groundRegion.getRegionWidth())
+            * MathUtils.ceil(SCENE_HEIGHT * PPM / groundRegion.getRegionHeight());
+        groundCache = new GroundCache(groundRegion, PPM, tileCount);
+        groundCache.tile(SCENE_WIDTH, SCENE_HEIGHT);
         font = new BitmapFont();
         uiManager = new UIManager();
         worldManager=new WorldManager();
@@ -108,6 +119,8 @@ public class BattleScreen implements Screen {
         enemyBody.createFixture(fixtureDef).setUserData("enemy");
         enemyShape.dispose();
         enemy.setEnemyBody(enemyBody);
+        simulationClock.track(playerBody);
+        simulationClock.track(enemyBody);
 
         // 重置动作状态
         player.setPlayerStateTime(0f);
@@ -125,7 +138,10 @@ public class BattleScreen implements Screen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        world.step(1 / 60f, 6, 2);
+        int steps = simulationClock.advance(delta);
+        for (int i = 0; i < steps; i++) {
+            simulationClock.step(world, 6, 2);
+        }
 
         // 更新动画状态
         player.setPlayerStateTime(player.getPlayerStateTime() + delta);
@@ -136,34 +152,31 @@ public class BattleScreen implements Screen {
         camera.update();
         batch.setProjectionMatrix(camera.combined);
 
+        groundCache.render(camera.combined);
+
         batch.begin();
-        int tileWidth = groundTexture.getWidth();
-        int tileHeight = groundTexture.getHeight();
-        for (float x = 0; x < SCENE_WIDTH * PPM; x += tileWidth) {
-            for (float y = 0; y < SCENE_HEIGHT * PPM; y += tileHeight) {
-                batch.draw(groundTexture, x, y);
-            }
-        }
 
         // 绘制玩家
         TextureRegion playerFrame = player.getCurrentFrame(player.getPlayerStateTime());
         if (playerFrame != null) {
-            float playerX = player.getPlayerBody().getPosition().x * PPM - playerFrame.getRegionWidth() / 2f;
-            float playerY = player.getPlayerBody().getPosition().y * PPM - playerFrame.getRegionHeight() / 2f;
+            Vector2 playerPos = simulationClock.getInterpolatedPosition(player.getPlayerBody(), drawPosTemp);
+            float playerX = playerPos.x * PPM - playerFrame.getRegionWidth() / 2f;
+            float playerY = playerPos.y * PPM - playerFrame.getRegionHeight() / 2f;
             batch.draw(playerFrame, playerX, playerY);
         }
 
         // 绘制敌人
         TextureRegion enemyFrame = enemy.getEnemyCurrentFrame(enemy.getEnemyStateTime());
         if (enemyFrame != null) {
-            float enemyX = enemy.getEnemyBody().getPosition().x * PPM - enemyFrame.getRegionWidth() / 2f;
-            float enemyY = enemy.getEnemyBody().getPosition().y * PPM - enemyFrame.getRegionHeight() / 2f;
+            Vector2 enemyPos = simulationClock.getInterpolatedPosition(enemy.getEnemyBody(), drawPosTemp);
+            float enemyX = enemyPos.x * PPM - enemyFrame.getRegionWidth() / 2f;
+            float enemyY = enemyPos.y * PPM - enemyFrame.getRegionHeight() / 2f;
             batch.draw(enemyFrame, enemyX, enemyY);
         }
-        batch.end();
 
         // 使用UIManager绘制UI
         uiManager.drawBattleUI(batch, playerHealth, enemyHealth, battleMessage, isPlayerTurn);
+        batch.end();
 
         // 处理玩家输入
 //        if (isPlayerTurn) {
@@ -322,7 +335,8 @@ public class BattleScreen implements Screen {
     @Override
     public void dispose() {
         batch.dispose();
-        groundTexture.dispose();
+        groundCache.dispose();
+        AssetService.getInstance().release(AssetService.WORLD_ATLAS);
         world.dispose();
         debugRenderer.dispose();
         font.dispose();
@@ -0,0 +1,289 @@
+package tech.bskplu.test;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import tech.bskplu.test.ai.GameTiledGraph;
+import tech.bskplu.test.characters.Enemy;
+import tech.bskplu.test.characters.Player;
+import tech.bskplu.test.manager.AIManager;
+import tech.bskplu.test.manager.SimulationClock;
+import tech.bskplu.test.manager.WorldManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * @ClassName: ChaseSimulation
+ * @Description: 追击模拟：世界、玩家、敌人和 AIManager 按种子创建，每次 tick 按固定步长推进一步。
+ * TGameScreen 用它运行游戏 (输入来自键盘)，无窗口模拟和回放用它运行脚本输入或录像中的输入；
+ * 同一种子和输入序列在同步寻路模式下逐步得到同一局，可用 {@link #createSnapshot()} 对比。
+ * 开启 respawnOnCatch 时敌人抓住玩家后把玩家传送到远离敌人的位置并继续追击，可以无限运行。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class ChaseSimulation {
+    private static final float PIXELS_PER_METER = 32f;
+    private static final float GAME_WIDTH_METERS = 800f / PIXELS_PER_METER;// 地图宽度 (米)
+    private static final float GAME_HEIGHT_METERS = 600f / PIXELS_PER_METER;// 地图高度 (米)
+    private static final float TILE_SIZE_METERS = 0.5f;// 网格大小 (米)
+    private static final int VELOCITY_ITERATIONS = 6;
+    private static final int POSITION_ITERATIONS = 2;
+    private static final int MIN_INPUT_TICKS = 30;// 一段脚本输入最少持续的步数
+    private static final int MAX_INPUT_TICKS = 180;// 一段脚本输入最多持续的步数
+    private static final float RESPAWN_MIN_DISTANCE = 5f;// 玩家被抓后传送到离所有敌人至少这么远的位置 (米)
+    private static final int RESPAWN_ATTEMPTS = 32;// 传送时最多尝试的随机位置数
+
+    private final WorldManager worldManager;// 物理世界与障碍物
+    private final AIManager aiManager;// 导航图与寻路
+    private final Player player;// 玩家
+    private final Array<Enemy> enemies = new Array<>();// 敌人
+    private final SimulationClock simulationClock = new SimulationClock();// 固定步长时钟 (无窗口模拟直接调用 step，不累加帧时间)
+    private final RandomXS128 inputRandom;// 脚本输入和传送位置的随机数
+    private boolean respawnOnCatch = false;// 被抓后是否传送玩家并继续追击
+    private SessionRecording recording;// 正在录制的录像 (为 null 时不录制)
+    private long lastAiNanos;// 上一步输入与 AI 的耗时 (纳秒)
+    private long lastPhysicsNanos;// 上一步物理步进与障碍物通知的耗时 (纳秒)
+    private final ByteArrayOutputStream snapshotBytes = new ByteArrayOutputStream();// 快照缓冲
+    private final DataOutputStream snapshotOut = new DataOutputStream(snapshotBytes);
+    private final CRC32 snapshotCrc = new CRC32();
+    private int currentInput;// 当前脚本输入
+    private int inputTicksLeft;// 当前脚本输入剩余的步数
+    private long tickCount;// 已推进的步数
+    private int catchCount;// 玩家被抓住的次数
+    private final Vector2 tmpVec = new Vector2();// 临时向量
+
+    /**
+     * 构造函数：不加载纹理的模拟
+     * @param seed 随机种子 (障碍物布局、敌人出生点和脚本输入)
+     * @param enemyCount 敌人数量
+     * @param pathMode 敌人的追击方式
+     * @param pathFinderMode AIManager 使用的寻路算法
+     */
+    public ChaseSimulation(long seed, int enemyCount, Enemy.PathMode pathMode, AIManager.PathFinderMode pathFinderMode) {
+        this(seed, enemyCount, pathMode, pathFinderMode, false);
+    }
+
+    /**
+     * 构造函数：按录像的种子和配置创建模拟 (回放)
+     * @param recording 录像
+     */
+    public ChaseSimulation(SessionRecording recording) {
+        this(recording.getSeed(), recording.getEnemyCount(), recording.getPathMode(), recording.getPathFinderMode(), false);
+    }
+
+    /**
+     * 构造函数
+     * @param seed 随机种子 (障碍物布局、敌人出生点和脚本输入)
+     * @param enemyCount 敌人数量
+     * @param pathMode 敌人的追击方式
+     * @param pathFinderMode AIManager 使用的寻路算法
+     * @param loadGraphics 是否加载角色的纹理和动画 (不影响模拟结果)
+     */
+    public ChaseSimulation(long seed, int enemyCount, Enemy.PathMode pathMode, AIManager.PathFinderMode pathFinderMode, boolean loadGraphics) {
+        inputRandom = new RandomXS128(seed);
+        worldManager = new WorldManager(seed);
+        player = new Player(worldManager.getWorld(), loadGraphics);
+        aiManager = new AIManager(new GameTiledGraph(GAME_WIDTH_METERS, GAME_HEIGHT_METERS, TILE_SIZE_METERS, worldManager.getGroundBodies()));
+        worldManager.addObstacleListener(aiManager);
+        aiManager.setAgentRadius(Enemy.ENEMY_RADIUS);// 共享寻路器按敌人体型绕开窄处
+        aiManager.setPathFinderMode(pathFinderMode);
+        aiManager.getHeuristic().computeNow();// 同步预计算地标，寻路结果不取决于后台线程何时完成
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = new Enemy(worldManager.getWorld(), aiManager, loadGraphics, worldManager.getRandom());
+            enemy.setPathMode(pathMode);
+            enemies.add(enemy);
+        }
+        simulationClock.track(player.getPlayerBody());
+        for (Enemy enemy : enemies) {
+            simulationClock.track(enemy.getEnemyBody());
+        }
+    }
+
+    /**
+     * 开始录制：之后每一步的输入和定期的快照校验和写入录像
+     * @return 录像
+     */
+    public SessionRecording startRecording() {
+        Enemy.PathMode pathMode = enemies.isEmpty() ? Enemy.PathMode.INCREMENTAL : enemies.first().getPathMode();
+        recording = new SessionRecording(worldManager.getSeed(), enemies.size, pathMode, aiManager.getPathFinderMode());
+        return recording;
+    }
+
+    /**
+     * 用脚本输入推进一步
+     */
+    public void tick() {
+        tick(nextScriptedInput());
+    }
+
+    /**
+     * 推进一个固定步长：玩家输入、分发寻路结果、敌人 AI、物理步进、障碍物通知
+     * @param input 本步的玩家输入位掩码
+     */
+    public void tick(int input) {
+        long start = System.nanoTime();
+        float step = simulationClock.getStep();
+        player.applyInput(input);
+        aiManager.update();
+        Body playerBody = player.getPlayerBody();
+        for (Enemy enemy : enemies) {
+            enemy.updateEnemyAI(step, playerBody);
+        }
+        long physicsStart = System.nanoTime();
+        simulationClock.step(worldManager.getWorld(), VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        worldManager.updateObstacles();
+        lastPhysicsNanos = System.nanoTime() - physicsStart;
+        player.setPlayerStateTime(player.getPlayerStateTime() + step);// 动画时间按步推进，攻击时长与帧率无关
+        for (Enemy enemy : enemies) {
+            enemy.setEnemyStateTime(enemy.getEnemyStateTime() + step);
+        }
+        if (respawnOnCatch) handleCatches();
+        tickCount++;
+        lastAiNanos = physicsStart - start;
+        if (recording != null) {
+            recording.recordTick(input);
+            if (tickCount % SessionRecording.CHECKPOINT_INTERVAL == 0) {
+                recording.addCheckpoint((int) tickCount, getSnapshotChecksum());
+            }
+        }
+    }
+
+    /**
+     * 连续推进若干步 (脚本输入)
+     * @param ticks 步数
+     */
+    public void run(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * 脚本输入：随机选择八个方向之一或原地不动，持续一段随机步数后再换
+     */
+    private int nextScriptedInput() {
+        if (inputTicksLeft <= 0) {
+            inputTicksLeft = MIN_INPUT_TICKS + inputRandom.nextInt(MAX_INPUT_TICKS - MIN_INPUT_TICKS + 1);
+            int vertical = inputRandom.nextInt(3);// 0 不动，1 上，2 下
+            int horizontal = inputRandom.nextInt(3);// 0 不动，1 左，2 右
+            currentInput = (vertical == 1 ? Player.INPUT_UP : vertical == 2 ? Player.INPUT_DOWN : 0)
+                | (horizontal == 1 ? Player.INPUT_LEFT : horizontal == 2 ? Player.INPUT_RIGHT : 0);
+        }
+        inputTicksLeft--;
+        return currentInput;
+    }
+
+    /**
+     * 有敌人抓住玩家时把玩家传送走，并让所有敌人恢复追击
+     */
+    private void handleCatches() {
+        boolean caught = false;
+        for (Enemy enemy : enemies) {
+            if (enemy.isPlayerCaught()) {
+                caught = true;
+                enemy.releasePlayer();
+            }
+        }
+        if (!caught) return;
+        catchCount++;
+        respawnPlayer();
+    }
+
+    private void respawnPlayer() {
+        GameTiledGraph graph = aiManager.getTiledGraph();
+        for (int attempt = 0; attempt < RESPAWN_ATTEMPTS; attempt++) {
+            int x = inputRandom.nextInt(graph.getWidth());
+            int y = inputRandom.nextInt(graph.getHeight());
+            if (!graph.isWalkable(x, y)) continue;
+            graph.tileToWorldCenter(x, y, tmpVec);
+            if (attempt < RESPAWN_ATTEMPTS - 1 && isNearEnemy(tmpVec)) continue;
+            Body playerBody = player.getPlayerBody();
+            playerBody.setTransform(tmpVec, playerBody.getAngle());
+            playerBody.setLinearVelocity(0f, 0f);
+            return;
+        }
+    }
+
+    private boolean isNearEnemy(Vector2 position) {
+        for (Enemy enemy : enemies) {
+            if (enemy.getEnemyBody().getPosition().dst(position) < RESPAWN_MIN_DISTANCE) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前状态的二进制快照：步数、所有物理身体、玩家和每个敌人的 AI 状态。
+     * 返回的数组每次调用都新建，频繁比较时用 {@link #getSnapshotChecksum()}
+     * @return 快照
+     */
+    public byte[] createSnapshot() {
+        writeSnapshot();
+        return snapshotBytes.toByteArray();
+    }
+
+    /**
+     * 当前状态快照的 CRC32 校验和
+     */
+    public long getSnapshotChecksum() {
+        writeSnapshot();
+        snapshotCrc.reset();
+        snapshotCrc.update(snapshotBytes.toByteArray());
+        return snapshotCrc.getValue();
+    }
+
+    private void writeSnapshot() {
+        snapshotBytes.reset();
+        try {
+            snapshotOut.writeLong(tickCount);
+            worldManager.writeSnapshot(snapshotOut);
+            player.writeState(snapshotOut);
+            snapshotOut.writeInt(enemies.size);
+            for (Enemy enemy : enemies) {
+                enemy.writeState(snapshotOut);
+            }
+            snapshotOut.flush();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing snapshot", e);
+        }
+    }
+
+    /**
+     * 所有敌人累计发起的寻路次数
+     */
+    public long getPathRequestCount() {
+        long count = 0;
+        for (Enemy enemy : enemies) {
+            count += enemy.getPathRequestCount();
+        }
+        return count;
+    }
+
+    public void dispose() {
+        player.dispose();
+        for (Enemy enemy : enemies) {
+            enemy.dispose();
+        }
+        aiManager.dispose();
+        worldManager.getWorld().dispose();
+    }
+
+    public long getTickCount() { return tickCount; }
+    public boolean isRespawnOnCatch() { return respawnOnCatch; }
+    public void setRespawnOnCatch(boolean respawnOnCatch) { this.respawnOnCatch = respawnOnCatch; }
+    public SessionRecording getRecording() { return recording; }
+    public long getLastAiNanos() { return lastAiNanos; }
+    public long getLastPhysicsNanos() { return lastPhysicsNanos; }
+    public SimulationClock getSimulationClock() { return simulationClock; }
+    public WorldManager getWorldManager() { return worldManager; }
+    public int getCatchCount() { return catchCount; }
+    public float getStep() { return simulationClock.getStep(); }
+    public AIManager getAIManager() { return aiManager; }
+    public Player getPlayer() { return player; }
+    public Array<Enemy> getEnemies() { return enemies; }
+}
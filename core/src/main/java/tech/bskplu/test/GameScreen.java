@@ -6,8 +6,6 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
 import com.badlogic.gdx.ai.pfa.GraphPath;
-import com.badlogic.gdx.ai.pfa.Heuristic;
-import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
@@ -19,14 +17,21 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
+import tech.bskplu.test.ai.DStarLitePlanner;
 import tech.bskplu.test.ai.GameTiledGraph;
-import tech.bskplu.test.ai.GameTiledHeuristic;
 import tech.bskplu.test.ai.GameTiledNode;
+import tech.bskplu.test.ai.PathSmoother;
+import tech.bskplu.test.characters.AnimationSet;
+import tech.bskplu.test.characters.AnimationState;
+import tech.bskplu.test.characters.Direction;
+import tech.bskplu.test.manager.AssetService;
+import tech.bskplu.test.manager.GroundCache;
+import tech.bskplu.test.manager.SimulationClock;
 
-import java.util.Arrays;
 
 /**
  * @ClassName: GameScreen
@@ -42,7 +47,7 @@ public class GameScreen implements Screen {
     private World world;
     private Box2DDebugRenderer debugRenderer;
     private static final float PIXELS_PER_METER = 32f;
-    private float timeStep = 1 / 60f;
+    private final SimulationClock simulationClock = new SimulationClock();// 固定步长时钟
     private int velocityIterations = 6;
     private int positionIterations = 2;
     private static final float GAME_WIDTH_PIXELS = 800f;
@@ -52,51 +57,20 @@ public class GameScreen implements Screen {
 
     // Player1（猫猫）
     private Body playerBody;
-    private Texture playerTexture;
-    private Animation<TextureRegion> playerIdleAnimation;
-    private Animation<TextureRegion> playerWalkAnimation;
-    private Animation<TextureRegion> playerRunAnimation;
+    private AnimationSet catAnimations;// 猫猫的动画集 (共享)
 
     // Player2（武士）
-    private Texture samuraiTexture;
-    private Animation<TextureRegion> samuraiWalkDownAnimation;
-    private Animation<TextureRegion> samuraiWalkUpAnimation;
-    private Animation<TextureRegion> samuraiWalkLeftAnimation;
-    private Animation<TextureRegion> samuraiWalkRightAnimation;
-    private Animation<TextureRegion> samuraiIdleDownAnimation;
-    private Animation<TextureRegion> samuraiIdleUpAnimation;
-    private Animation<TextureRegion> samuraiIdleLeftAnimation;
-    private Animation<TextureRegion> samuraiIdleRightAnimation;
-
-    // 武士攻击动画
-    private Texture attackTexture;
-    private Animation<TextureRegion> samuraiAttackDownAnimation;
-    private Animation<TextureRegion> samuraiAttackUpAnimation;
-    private Animation<TextureRegion> samuraiAttackLeftAnimation;
-    private Animation<TextureRegion> samuraiAttackRightAnimation;
+    private AnimationSet samuraiAnimations;// 武士的动画集 (共享)
 
     // 敌方将领 GuanPin
-    private Texture guanPinMovTexture;
-    private Texture guanPinAtkTexture;
-    private Animation<TextureRegion> guanPinWalkDownAnimation;
-    private Animation<TextureRegion> guanPinWalkUpAnimation;
-    private Animation<TextureRegion> guanPinWalkLeftAnimation;
-    private Animation<TextureRegion> guanPinWalkRightAnimation;
-    private Animation<TextureRegion> guanPinIdleDownAnimation;
-    private Animation<TextureRegion> guanPinIdleUpAnimation;
-    private Animation<TextureRegion> guanPinIdleLeftAnimation;
-    private Animation<TextureRegion> guanPinIdleRightAnimation;
-    private Animation<TextureRegion> guanPinAttackDownAnimation;
-    private Animation<TextureRegion> guanPinAttackUpAnimation;
-    private Animation<TextureRegion> guanPinAttackLeftAnimation;
-    private Animation<TextureRegion> guanPinAttackRightAnimation;
+    private AnimationSet guanPinAnimations;// 敌人的动画集 (共享)
     private Body enemyBody;
     private float enemyStateTime = 0f;
 
     // 角色状态
     private float playerStateTime = 0f;
-    private String currentAnimation = "idle_down";
-    private String lastDirection = "down";
+    private AnimationState animationState = AnimationState.IDLE;
+    private Direction lastDirection = Direction.DOWN;
     private float playerSpeed = 2f;
     private float playerRunSpeed = 5f;
     private boolean isPlayer1Active = false;
@@ -105,7 +79,10 @@ public class GameScreen implements Screen {
     // 背景（地面）
     private Array<Body> groundBodies = new Array<>();
     private int groundCount = 10;
+    private final long worldSeed = MathUtils.random.nextLong();// 世界种子 (写入日志，可重现同一个世界)
+    private final RandomXS128 worldRandom = new RandomXS128(worldSeed);// 地面布局与敌人出生点的随机数
     private Texture groundTexture;
+    private GroundCache groundCache;// 地块的静态缓存
 
     private Music music;
 
@@ -118,14 +95,17 @@ public class GameScreen implements Screen {
     // --- AI 相关字段 ---
     private static final float TILE_SIZE_METERS = 0.5f;// 定义网格大小（米），可以调整精度
     private GameTiledGraph tiledGraph;
-    private IndexedAStarPathFinder<GameTiledNode> pathFinder;
+    private DStarLitePlanner pathPlanner;// 增量寻路，玩家移动或地形变化时只修复受影响的部分
+    private PathSmoother pathSmoother;// 拉绳平滑，敌人沿直线走向可见的拐点
     private GraphPath<GameTiledNode> enemyPath;
-    private Heuristic<GameTiledNode> heuristic;
 
     private float pathUpdateTimer = 0f;// 路径更新计时器
     private static final float PATH_UPDATE_INTERVAL = 0.5f;// 每隔多少秒更新一次路径 (秒)
     private int currentPathIndex = 0;// 敌人当前在路径中的目标节点索引
     private Vector2 enemyTargetWorldPos = new Vector2();// 敌人路径节点的目标世界坐标
+    private final Vector2 tmpVec = new Vector2();// 临时向量
+    private final Vector2 playerDrawPos = new Vector2();// 插值后的玩家位置 (米)
+    private final Vector2 enemyDrawPos = new Vector2();// 插值后的敌人位置 (米)
     private static final float ENEMY_FOLLOW_SPEED = 1.5f;// 敌人移动速度 (米/秒)
     private static final float ENEMY_ARRIVAL_TOLERANCE = 0.2f;// 到达路径节点的容忍距离 (米)
     private static final float PLAYER_CATCH_DISTANCE = 0.8f;// 判定抓住玩家的距离 (米)
@@ -155,8 +135,9 @@ public class GameScreen implements Screen {
         debugRenderer = new Box2DDebugRenderer();
 
         // --- 创建游戏元素 ---
-        groundTexture = new Texture(Gdx.files.internal("ground.png"));// 初始化地块纹理
+        groundTexture = AssetService.getInstance().acquireTexture(AssetService.GROUND);// 初始化地块纹理
 
+        Gdx.app.log("World", "seed=" + worldSeed);
         createBoundaries();
         createPlayer();
         createSamurai();
@@ -164,14 +145,17 @@ public class GameScreen implements Screen {
         createGuanPin();
 
         // --- 初始化 AI ---
-        heuristic = new GameTiledHeuristic();
         // **确保在网格物创建后初始化导航图**
         tiledGraph = new GameTiledGraph(GAME_WIDTH_METERS, GAME_HEIGHT_METERS, TILE_SIZE_METERS, groundBodies);
-        pathFinder = new IndexedAStarPathFinder<>(tiledGraph, true); // true表示允许对角线
+        groundCache = new GroundCache(new TextureRegion(groundTexture), PIXELS_PER_METER, groundCount);
+        groundCache.trackObstacles(groundBodies);
+        pathPlanner = new DStarLitePlanner(tiledGraph);
+        pathSmoother = new PathSmoother(tiledGraph);
         enemyPath = new DefaultGraphPath<>();
+        simulationClock.track(playerBody);
+        simulationClock.track(enemyBody);
 
-
-        music = Gdx.audio.newMusic(Gdx.files.internal("LanTingXu.mp3"));
+        music = AssetService.getInstance().acquireMusic(AssetService.MUSIC);
 
         shapeRenderer = new ShapeRenderer();
         font = new BitmapFont();
@@ -222,25 +206,7 @@ public class GameScreen implements Screen {
 
 
     private void createPlayer() {
-        playerTexture = new Texture(Gdx.files.internal("cat_SpriteSheet.png"));
-
-        int frameWidth = playerTexture.getWidth() / 6;
-        int frameHeight = playerTexture.getHeight() / 3;
-
-        TextureRegion[][] tmp = TextureRegion.split(playerTexture, frameWidth, frameHeight);
-        TextureRegion[] idleFrames = new TextureRegion[5];
-        System.arraycopy(tmp[0], 0, idleFrames, 0, 5);
-        TextureRegion[] walkFrames = new TextureRegion[6];
-        System.arraycopy(tmp[1], 0, walkFrames, 0, 6);
-        TextureRegion[] runFrames = new TextureRegion[6];
-        System.arraycopy(tmp[2], 0, runFrames, 0, 6);
-
-        playerIdleAnimation = new Animation<>(0.2f, idleFrames);
-        playerWalkAnimation = new Animation<>(0.1f, walkFrames);
-        playerRunAnimation = new Animation<>(0.05f, runFrames);
-        for (Animation<TextureRegion> anim : Arrays.asList(playerIdleAnimation, playerWalkAnimation, playerRunAnimation)) {
-            anim.setPlayMode(Animation.PlayMode.LOOP);
-        }
+        catAnimations = AnimationSet.acquire(AnimationSet.Kind.CAT);
 
         // --- 创建 Player Body (初始为猫猫，但会被武士覆盖) ---
         // 注意：这里的 Body 会在 createSamurai 中被重新配置，
@@ -261,67 +227,7 @@ public class GameScreen implements Screen {
     }
 
     private void createSamurai() {
-        samuraiTexture = new Texture(Gdx.files.internal("Samurai_SpriteSheet.png"));
-        int frameWidth = samuraiTexture.getWidth();
-        int frameHeight = samuraiTexture.getHeight() / 11;
-
-        TextureRegion[][] tmp = TextureRegion.split(samuraiTexture, frameWidth, frameHeight);
-
-        TextureRegion[] walkDownFrames = {tmp[0][0], tmp[1][0]};
-        TextureRegion[] walkUpFrames = {tmp[2][0], tmp[3][0]};
-        TextureRegion[] walkLeftFrames = {tmp[4][0], tmp[5][0]};
-        TextureRegion[] walkRightFrames = {new TextureRegion(tmp[4][0]), new TextureRegion(tmp[5][0])};
-        walkRightFrames[0].flip(true, false);
-        walkRightFrames[1].flip(true, false);
-
-        TextureRegion[] idleDownFrames = {tmp[6][0]};
-        TextureRegion[] idleUpFrames = {tmp[7][0]};
-        TextureRegion[] idleLeftFrames = {tmp[8][0]};
-        TextureRegion[] idleRightFrames = {new TextureRegion(tmp[8][0])};
-        idleRightFrames[0].flip(true, false);
-
-        samuraiWalkDownAnimation = new Animation<>(0.2f, walkDownFrames);
-        samuraiWalkUpAnimation = new Animation<>(0.2f, walkUpFrames);
-        samuraiWalkLeftAnimation = new Animation<>(0.2f, walkLeftFrames);
-        samuraiWalkRightAnimation = new Animation<>(0.2f, walkRightFrames);
-        samuraiIdleDownAnimation = new Animation<>(0.2f, idleDownFrames);
-        samuraiIdleUpAnimation = new Animation<>(0.2f, idleUpFrames);
-        samuraiIdleLeftAnimation = new Animation<>(0.2f, idleLeftFrames);
-        samuraiIdleRightAnimation = new Animation<>(0.2f, idleRightFrames);
-
-        for (Animation<TextureRegion> anim : Arrays.asList(samuraiWalkDownAnimation, samuraiWalkUpAnimation,
-            samuraiWalkLeftAnimation, samuraiWalkRightAnimation, samuraiIdleDownAnimation,
-            samuraiIdleUpAnimation, samuraiIdleLeftAnimation, samuraiIdleRightAnimation)) {
-            anim.setPlayMode(Animation.PlayMode.LOOP);
-        }
-
-        attackTexture = new Texture(Gdx.files.internal("SanGuoZhi2.png"));
-        int attackFrameWidth = attackTexture.getWidth();
-        int attackFrameHeight = attackTexture.getHeight() / 12;
-
-        TextureRegion[][] attackTmp = TextureRegion.split(attackTexture, attackFrameWidth, attackFrameHeight);
-        TextureRegion[] attackDownFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackDownFrames[i] = attackTmp[i][0];
-        samuraiAttackDownAnimation = new Animation<>(0.1f, attackDownFrames);
-        samuraiAttackDownAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackUpFrames = new TextureRegion[4];
-        for (int i = 4; i < 8; i++) attackUpFrames[i - 4] = attackTmp[i][0];
-        samuraiAttackUpAnimation = new Animation<>(0.1f, attackUpFrames);
-        samuraiAttackUpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackLeftFrames = new TextureRegion[4];
-        for (int i = 8; i < 12; i++) attackLeftFrames[i - 8] = attackTmp[i][0];
-        samuraiAttackLeftAnimation = new Animation<>(0.1f, attackLeftFrames);
-        samuraiAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackRightFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackRightFrames[i] = new TextureRegion(attackLeftFrames[i]);
-            attackRightFrames[i].flip(true, false);
-        }
-        samuraiAttackRightAnimation = new Animation<>(0.1f, attackRightFrames);
-        samuraiAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
+        samuraiAnimations = AnimationSet.acquire(AnimationSet.Kind.SAMURAI);
 
         // --- 配置 Player Body 为武士 ---
         // 确保 playerBody 存在且是 DynamicBody
@@ -348,6 +254,13 @@ public class GameScreen implements Screen {
 
     }
 
+    /**
+     * [min, max) 内的随机数，使用世界种子的随机数
+     */
+    private float randomRange(float min, float max) {
+        return min + worldRandom.nextFloat() * (max - min);
+    }
+
     private void createGround() {
         // *** 修改：确保地块生成在边界内 ***
         float margin = 1.0f; // 留出一点边距，避免紧贴边界
@@ -360,12 +273,12 @@ public class GameScreen implements Screen {
             // 随机尺寸，但要确保整体在地块内
             float maxWidth = (maxX - minX) / 2;// 最大半宽
             float maxHeight = (maxY - minY) / 2;// 最大半高
-            float halfWidth = MathUtils.random(25 / PIXELS_PER_METER, Math.min(75 / PIXELS_PER_METER, maxWidth));
-            float halfHeight = MathUtils.random(10 / PIXELS_PER_METER, Math.min(35 / PIXELS_PER_METER, maxHeight));
+            float halfWidth = randomRange(25 / PIXELS_PER_METER, Math.min(75 / PIXELS_PER_METER, maxWidth));
+            float halfHeight = randomRange(10 / PIXELS_PER_METER, Math.min(35 / PIXELS_PER_METER, maxHeight));
 
             // 随机位置，确保加上半宽/半高后仍在边界内
-            float x = MathUtils.random(minX + halfWidth, maxX - halfWidth);
-            float y = MathUtils.random(minY + halfHeight, maxY - halfHeight);
+            float x = randomRange(minX + halfWidth, maxX - halfWidth);
+            float y = randomRange(minY + halfHeight, maxY - halfHeight);
 
             BodyDef groundBodyDef = new BodyDef();
             groundBodyDef.type = BodyDef.BodyType.StaticBody;
@@ -380,79 +293,15 @@ public class GameScreen implements Screen {
     }
 
     private void createGuanPin() {
-        guanPinMovTexture = new Texture(Gdx.files.internal("Mov_GuanPin.png"));
-        int movFrameHeight = guanPinMovTexture.getHeight() / 11;
-        int movFrameWidth = guanPinMovTexture.getWidth();
-        TextureRegion[][] movTmp = TextureRegion.split(guanPinMovTexture, movFrameWidth, movFrameHeight);
-
-        TextureRegion[] walkDownFrames = {movTmp[0][0], movTmp[1][0]};
-        guanPinWalkDownAnimation = new Animation<>(0.2f, walkDownFrames);
-        guanPinWalkDownAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkUpFrames = {movTmp[2][0], movTmp[3][0]};
-        guanPinWalkUpAnimation = new Animation<>(0.2f, walkUpFrames);
-        guanPinWalkUpAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkLeftFrames = {movTmp[4][0], movTmp[5][0]};
-        guanPinWalkLeftAnimation = new Animation<>(0.2f, walkLeftFrames);
-        guanPinWalkLeftAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkRightFrames = new TextureRegion[2];
-        for (int i = 0; i < 2; i++) {
-            walkRightFrames[i] = new TextureRegion(movTmp[4 + i][0]);
-            walkRightFrames[i].flip(true, false);
-        }
-        guanPinWalkRightAnimation = new Animation<>(0.2f, walkRightFrames);
-        guanPinWalkRightAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] idleDownFrames = {movTmp[6][0]};
-        guanPinIdleDownAnimation = new Animation<>(0.2f, idleDownFrames);
-
-        TextureRegion[] idleUpFrames = {movTmp[7][0]};
-        guanPinIdleUpAnimation = new Animation<>(0.2f, idleUpFrames);
-
-        TextureRegion[] idleLeftFrames = {movTmp[8][0]};
-        guanPinIdleLeftAnimation = new Animation<>(0.2f, idleLeftFrames);
-
-        TextureRegion[] idleRightFrames = {new TextureRegion(movTmp[8][0])};
-        idleRightFrames[0].flip(true, false);
-        guanPinIdleRightAnimation = new Animation<>(0.2f, idleRightFrames);
-
-        guanPinAtkTexture = new Texture(Gdx.files.internal("Atk_GuanPin.png"));
-        int atkFrameHeight = guanPinAtkTexture.getHeight() / 12;
-        int atkFrameWidth = guanPinAtkTexture.getWidth();
-        TextureRegion[][] atkTmp = TextureRegion.split(guanPinAtkTexture, atkFrameWidth, atkFrameHeight);
-
-        TextureRegion[] attackDownFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackDownFrames[i] = atkTmp[i][0];
-        guanPinAttackDownAnimation = new Animation<>(0.1f, attackDownFrames);
-        guanPinAttackDownAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackUpFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackUpFrames[i] = atkTmp[4 + i][0];
-        guanPinAttackUpAnimation = new Animation<>(0.1f, attackUpFrames);
-        guanPinAttackUpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackLeftFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackLeftFrames[i] = atkTmp[8 + i][0];
-        guanPinAttackLeftAnimation = new Animation<>(0.1f, attackLeftFrames);
-        guanPinAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackRightFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackRightFrames[i] = new TextureRegion(atkTmp[8 + i][0]);
-            attackRightFrames[i].flip(true, false);
-        }
-        guanPinAttackRightAnimation = new Animation<>(0.1f, attackRightFrames);
-        guanPinAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
+        guanPinAnimations = AnimationSet.acquire(AnimationSet.Kind.GUAN_PIN);
 
         BodyDef enemyBodyDef = new BodyDef();
         enemyBodyDef.type = BodyDef.BodyType.DynamicBody;
 
         // *** 确保敌人生成在边界内 ***
         float margin = 2.0f;// 给敌人生成留更大边距，避免生成时就卡住
-        float randomX = MathUtils.random(margin, GAME_WIDTH_METERS - margin);
-        float randomY = MathUtils.random(margin, GAME_HEIGHT_METERS - margin);
+        float randomX = randomRange(margin, GAME_WIDTH_METERS - margin);
+        float randomY = randomRange(margin, GAME_HEIGHT_METERS - margin);
         enemyBodyDef.position.set(randomX, randomY);
         enemyBody = world.createBody(enemyBodyDef);
 
@@ -494,11 +343,11 @@ public class GameScreen implements Screen {
 
             // 简单的状态判断
             if (velocity.isZero(0.1f)) {// 加个小阈值判断静止
-                currentAnimation = "idle";
+                animationState = AnimationState.IDLE;
             } else if (speed == playerSpeed) {
-                currentAnimation = "walk";
+                animationState = AnimationState.WALK;
             } else {
-                currentAnimation = "run";
+                animationState = AnimationState.RUN;
             }
             // 猫猫动画不需要区分方向，这里简化
             // 需要处理速度归一化，防止斜向移动过快
@@ -511,40 +360,40 @@ public class GameScreen implements Screen {
                 boolean isMoving = false;
                 if (Gdx.input.isKeyPressed(Input.Keys.W)) {
                     velocity.y = speed;
-                    lastDirection = "up";
+                    lastDirection = Direction.UP;
                     isMoving = true;
                 }
                 if (Gdx.input.isKeyPressed(Input.Keys.S)) {
                     // 如果同时按下了 W 和 S，则 Y 速度为 0
                     velocity.y = (velocity.y > 0) ? 0 : -speed;
-                    if (!isMoving) lastDirection = "down";// 只有在没按W时才更新方向为down
+                    if (!isMoving) lastDirection = Direction.DOWN;// 只有在没按W时才更新方向为down
                     isMoving = true;
                 }
                 if (Gdx.input.isKeyPressed(Input.Keys.A)) {
                     velocity.x = -speed;
-                    lastDirection = "left";
+                    lastDirection = Direction.LEFT;
                     isMoving = true;
                 }
                 if (Gdx.input.isKeyPressed(Input.Keys.D)) {
                     // 如果同时按下了 A 和 D，则 X 速度为 0
                     velocity.x = (velocity.x < 0) ? 0 : speed;
-                    if (!isMoving || velocity.x < 0) lastDirection = "right";// 没按A或覆盖A时更新方向为right
+                    if (!isMoving || velocity.x < 0) lastDirection = Direction.RIGHT;// 没按A或覆盖A时更新方向为right
                     isMoving = true;
                 }
 
                 // 处理移动动画状态
                 if (isMoving) {
-                    currentAnimation = "walk_" + lastDirection;
+                    animationState = AnimationState.WALK;
                     // 速度归一化，防止斜向移动过快
                     velocity.nor().scl(speed);
                 } else {
-                    currentAnimation = "idle_" + lastDirection;
+                    animationState = AnimationState.IDLE;
                 }
 
 
                 // 处理攻击输入 (J 键)
                 if (Gdx.input.isKeyJustPressed(Input.Keys.J)) {// 使用 isKeyJustPressed 避免连续触发
-                    currentAnimation = "attack_" + lastDirection;// 根据最后移动方向决定攻击方向
+                    animationState = AnimationState.ATTACK;// 根据最后移动方向决定攻击方向
                     isAttacking = true;
                     playerStateTime = 0f;// 重置攻击动画时间
                     velocity.set(0, 0);// 攻击时停止移动
@@ -555,7 +404,7 @@ public class GameScreen implements Screen {
                 Animation<TextureRegion> currentAnim = getCurrentAnimation();// 获取当前攻击动画
                 if (currentAnim != null && currentAnim.isAnimationFinished(playerStateTime)) {
                     isAttacking = false;// 攻击动画播放完毕
-                    currentAnimation = "idle_" + lastDirection;// 恢复到静止站立状态
+                    animationState = AnimationState.IDLE;// 恢复到静止站立状态
                 }
             }
         }
@@ -564,29 +413,8 @@ public class GameScreen implements Screen {
 
     // 获取当前Player的动画 (区分猫猫和武士)
     private Animation<TextureRegion> getCurrentAnimation() {
-        if (isPlayer1Active) {
-            return switch (currentAnimation) {
-                case "walk" -> playerWalkAnimation;
-                case "run" -> playerRunAnimation;
-                default -> playerIdleAnimation;
-            };
-        } else {
-            return switch (currentAnimation) {
-                case "walk_down" -> samuraiWalkDownAnimation;
-                case "walk_up" -> samuraiWalkUpAnimation;
-                case "walk_left" -> samuraiWalkLeftAnimation;
-                case "walk_right" -> samuraiWalkRightAnimation;
-                case "idle_down" -> samuraiIdleDownAnimation;
-                case "idle_up" -> samuraiIdleUpAnimation;
-                case "idle_left" -> samuraiIdleLeftAnimation;
-                case "idle_right" -> samuraiIdleRightAnimation;
-                case "attack_down" -> samuraiAttackDownAnimation;
-                case "attack_up" -> samuraiAttackUpAnimation;
-                case "attack_left" -> samuraiAttackLeftAnimation;
-                case "attack_right" -> samuraiAttackRightAnimation;
-                default -> samuraiIdleDownAnimation;
-            };
-        }
+        AnimationSet animations = isPlayer1Active ? catAnimations : samuraiAnimations;
+        return animations.get(animationState, lastDirection);
     }
 
     // --- 更新敌人 AI 的方法 ---
@@ -640,7 +468,8 @@ public class GameScreen implements Screen {
         if (startNode != null && startNode.type != GameTiledGraph.TILE_WALL &&
             endNode != null && endNode.type != GameTiledGraph.TILE_WALL) {
             enemyPath.clear();// 清空旧路径
-            pathFinder.searchNodePath(startNode, endNode, heuristic, enemyPath);
+            pathPlanner.plan(startNode, endNode, enemyPath);
+            pathSmoother.smooth(enemyPath);
             currentPathIndex = 0;// 从路径起点开始 (或者 1 如果起点就是当前位置)
             // Gdx.app.log("AI", "Path calculated. Nodes: " + enemyPath.getCount());
             if (enemyPath.getCount() > 1) { // 路径至少包含起点和下一个目标点
@@ -692,15 +521,15 @@ public class GameScreen implements Screen {
         }
 
         // 计算朝向目标节点的向量
-        Vector2 direction = GameTiledGraph.tmpVec.set(enemyTargetWorldPos).sub(enemyPos).nor();
+        Vector2 direction = tmpVec.set(enemyTargetWorldPos).sub(enemyPos).nor();
 
         // 设置敌人速度
         enemyBody.setLinearVelocity(direction.scl(ENEMY_FOLLOW_SPEED));
     }
 
     // --- 新增：更新敌人动画状态 ---
-    private String enemyCurrentAnimation = "idle_down";// 敌人动画状态
-    private String enemyLastDirection = "down";// 敌人最后移动方向
+    private AnimationState enemyAnimationState = AnimationState.IDLE;// 敌人动画状态
+    private Direction enemyLastDirection = Direction.DOWN;// 敌人最后移动方向
 
     private void updateEnemyAnimation() {
         if (enemyBody == null) return;
@@ -710,32 +539,17 @@ public class GameScreen implements Screen {
 
         if (isMoving) {
             // 根据速度决定主要方向
-            if (Math.abs(velocity.x) > Math.abs(velocity.y)) {
-                enemyLastDirection = (velocity.x > 0) ? "right" : "left";
-            } else {
-                enemyLastDirection = (velocity.y > 0) ? "up" : "down";
-            }
-            enemyCurrentAnimation = "walk_" + enemyLastDirection;
+            enemyLastDirection = Direction.of(velocity.x, velocity.y);
+            enemyAnimationState = AnimationState.WALK;
         } else {
-            enemyCurrentAnimation = "idle_" + enemyLastDirection;
+            enemyAnimationState = AnimationState.IDLE;
         }
         // 这里没有实现敌人的攻击动画，仅移动和站立
     }
 
     // --- 新增：获取敌人当前帧 ---
     private TextureRegion getEnemyCurrentFrame(float stateTime) {
-        Animation<TextureRegion> anim = switch (enemyCurrentAnimation) {
-            case "walk_down" -> guanPinWalkDownAnimation;
-            case "walk_up" -> guanPinWalkUpAnimation;
-            case "walk_left" -> guanPinWalkLeftAnimation;
-            case "walk_right" -> guanPinWalkRightAnimation;
-            case "idle_down" -> guanPinIdleDownAnimation;
-            case "idle_up" -> guanPinIdleUpAnimation;
-            case "idle_left" -> guanPinIdleLeftAnimation;
-            case "idle_right" -> guanPinIdleRightAnimation;
-            // case "attack_..." -> ... // 如果有攻击动画
-            default -> guanPinIdleDownAnimation;
-        };
+        Animation<TextureRegion> anim = guanPinAnimations.get(enemyAnimationState, enemyLastDirection);
         return anim.getKeyFrame(stateTime, true);
     }
 
@@ -795,7 +609,7 @@ public class GameScreen implements Screen {
             pathRenderer.setColor(Color.LIME);// 换个颜色区分
             Vector2 prevPixelPoint = null;
             for (GameTiledNode node : enemyPath) {
-                Vector2 worldCenter = tiledGraph.tileToWorldCenter(node.x, node.y, GameTiledGraph.tmpVec);
+                Vector2 worldCenter = tiledGraph.tileToWorldCenter(node.x, node.y, tmpVec);
                 Vector2 currentPixelPoint = new Vector2(worldCenter.x * PIXELS_PER_METER, worldCenter.y * PIXELS_PER_METER);
                 if (prevPixelPoint != null) {
                     pathRenderer.line(prevPixelPoint, currentPixelPoint);
@@ -815,59 +629,51 @@ public class GameScreen implements Screen {
         // 处理输入和物理模拟
         handleInput();
 
-        // 更新AI状态 (路径查找、移动、抓捕检测)
-        updateEnemyAI(delta);
-
-        world.step(timeStep, velocityIterations, positionIterations);
+        // 按固定步长更新AI状态 (路径查找、移动、抓捕检测) 和物理世界，与刷新率无关
+        int steps = simulationClock.advance(delta);
+        for (int i = 0; i < steps; i++) {
+            updateEnemyAI(simulationClock.getStep());
+            simulationClock.step(world, velocityIterations, positionIterations);
+        }
+        simulationClock.getInterpolatedPosition(playerBody, playerDrawPos);
+        simulationClock.getInterpolatedPosition(enemyBody, enemyDrawPos);
         playerStateTime += delta;
         enemyStateTime += delta;
 
         // --- 更新摄像机位置，使其跟随玩家 ---
         // 保持摄像机中心在玩家身上，但限制摄像机不超过边界
-        float camX = MathUtils.clamp(playerBody.getPosition().x * PIXELS_PER_METER,
+        float camX = MathUtils.clamp(playerDrawPos.x * PIXELS_PER_METER,
             GAME_WIDTH_PIXELS / 2f,
             (GAME_WIDTH_METERS * PIXELS_PER_METER) - GAME_WIDTH_PIXELS / 2f);// 假设地图比屏幕大，这里需要调整
-        float camY = MathUtils.clamp(playerBody.getPosition().y * PIXELS_PER_METER,
+        float camY = MathUtils.clamp(playerDrawPos.y * PIXELS_PER_METER,
             GAME_HEIGHT_PIXELS / 2f,
             (GAME_HEIGHT_METERS * PIXELS_PER_METER) - GAME_HEIGHT_PIXELS / 2f);// 同上
 
-        camera.position.set(playerBody.getPosition().x * PIXELS_PER_METER, playerBody.getPosition().y * PIXELS_PER_METER, 0);
+        camera.position.set(playerDrawPos.x * PIXELS_PER_METER, playerDrawPos.y * PIXELS_PER_METER, 0);
         camera.update();
 
         // --- 绘制 ---
+        // --- 绘制地块 (地块创建后不再变化，只烘焙一次) ---
+        groundCache.render(camera.combined);
+
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
 
-        // --- 绘制地块 ---
-        for (Body groundBody : groundBodies) {
-            float x = groundBody.getPosition().x * PIXELS_PER_METER;
-            float y = groundBody.getPosition().y * PIXELS_PER_METER;
-            PolygonShape shape = (PolygonShape) groundBody.getFixtureList().get(0).getShape();
-            Vector2 vertex0 = new Vector2();
-            Vector2 vertex1 = new Vector2();
-            shape.getVertex(0, vertex0);
-            shape.getVertex(1, vertex1);
-            float width = vertex0.x * 2 * PIXELS_PER_METER;
-            float height = vertex1.y * 2 * PIXELS_PER_METER;
-            batch.draw(groundTexture, x - width / 2, y - height / 2, width, height);
-        }
 
 
         // --- 绘制玩家角色 ---
         TextureRegion currentFrame = getCurrentFrame(playerStateTime);
         if (currentFrame != null) {
-            float playerX = playerBody.getPosition().x * PIXELS_PER_METER - currentFrame.getRegionWidth() / 2f;
-            float playerY = playerBody.getPosition().y * PIXELS_PER_METER - currentFrame.getRegionHeight() / 2f;
+            float playerX = playerDrawPos.x * PIXELS_PER_METER - currentFrame.getRegionWidth() / 2f;
+            float playerY = playerDrawPos.y * PIXELS_PER_METER - currentFrame.getRegionHeight() / 2f;
             batch.draw(currentFrame, playerX, playerY);
         }
 
         // --- 绘制敌方单位 ---
-        Animation<TextureRegion> enemyAnim = guanPinIdleDownAnimation;
-        //TextureRegion enemyFrame = enemyAnim.getKeyFrame(enemyStateTime, true);
         TextureRegion enemyFrame = getEnemyCurrentFrame(enemyStateTime);// 使用新获取敌人帧的方法
         if (enemyFrame != null && enemyBody != null) {
-            float enemyX = enemyBody.getPosition().x * PIXELS_PER_METER - enemyFrame.getRegionWidth() / 2f;
-            float enemyY = enemyBody.getPosition().y * PIXELS_PER_METER - enemyFrame.getRegionHeight() / 2f;
+            float enemyX = enemyDrawPos.x * PIXELS_PER_METER - enemyFrame.getRegionWidth() / 2f;
+            float enemyY = enemyDrawPos.y * PIXELS_PER_METER - enemyFrame.getRegionHeight() / 2f;
             batch.draw(enemyFrame, enemyX, enemyY);
         }
 
@@ -885,8 +691,8 @@ public class GameScreen implements Screen {
             float barHeight = 5;// 血量条高度 (像素)
             float barOffsetX = (currentFrame.getRegionWidth() - barWidth) / 2f;// 居中偏移
             float barOffsetY = currentFrame.getRegionHeight() + 5;// 在头顶上方距离
-            float barX = (playerBody.getPosition().x * PIXELS_PER_METER) - currentFrame.getRegionWidth() / 2f + barOffsetX;
-            float barY = (playerBody.getPosition().y * PIXELS_PER_METER) - currentFrame.getRegionHeight() / 2f + barOffsetY;
+            float barX = (playerDrawPos.x * PIXELS_PER_METER) - currentFrame.getRegionWidth() / 2f + barOffsetX;
+            float barY = (playerDrawPos.y * PIXELS_PER_METER) - currentFrame.getRegionHeight() / 2f + barOffsetY;
 
             // 背景 (灰色或白色)
             shapeRenderer.setColor(Color.DARK_GRAY);
@@ -912,8 +718,8 @@ public class GameScreen implements Screen {
             float enemyBarHeight = 5;
             float enemyBarOffsetX = (enemyFrame.getRegionWidth() - enemyBarWidth) / 2f;
             float enemyBarOffsetY = enemyFrame.getRegionHeight() + 5;
-            float enemyBarX = (enemyBody.getPosition().x * PIXELS_PER_METER) - enemyFrame.getRegionWidth() / 2f + enemyBarOffsetX;
-            float enemyBarY = (enemyBody.getPosition().y * PIXELS_PER_METER) - enemyFrame.getRegionHeight() / 2f + enemyBarOffsetY;
+            float enemyBarX = (enemyDrawPos.x * PIXELS_PER_METER) - enemyFrame.getRegionWidth() / 2f + enemyBarOffsetX;
+            float enemyBarY = (enemyDrawPos.y * PIXELS_PER_METER) - enemyFrame.getRegionHeight() / 2f + enemyBarOffsetY;
 
             shapeRenderer.setColor(Color.DARK_GRAY);
             shapeRenderer.rect(enemyBarX, enemyBarY, enemyBarWidth, enemyBarHeight);
@@ -965,16 +771,8 @@ public class GameScreen implements Screen {
     }
 
     private TextureRegion getCurrentFrame(float stateTime) {
-        if (isPlayer1Active) {
-            return switch (currentAnimation) {
-                case "walk" -> playerWalkAnimation.getKeyFrame(stateTime, true);
-                case "run" -> playerRunAnimation.getKeyFrame(stateTime, true);
-                default -> playerIdleAnimation.getKeyFrame(stateTime, true);
-            };
-        } else {
-            Animation<TextureRegion> anim = getCurrentAnimation();
-            return isAttacking ? anim.getKeyFrame(stateTime, false) : anim.getKeyFrame(stateTime, true);
-        }
+        Animation<TextureRegion> anim = getCurrentAnimation();
+        return isAttacking ? anim.getKeyFrame(stateTime, false) : anim.getKeyFrame(stateTime, true);
     }
 
     @Override
@@ -1008,14 +806,14 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
         batch.dispose();
-        playerTexture.dispose();
-        samuraiTexture.dispose();
-        attackTexture.dispose();
-        guanPinMovTexture.dispose();
-        guanPinAtkTexture.dispose();
+        groundCache.dispose();
+        AssetService assets = AssetService.getInstance();
+        AnimationSet.release(AnimationSet.Kind.CAT);
+        AnimationSet.release(AnimationSet.Kind.SAMURAI);
+        AnimationSet.release(AnimationSet.Kind.GUAN_PIN);
+        assets.releaseAll(AssetService.GROUND, AssetService.MUSIC);
         world.dispose();
         debugRenderer.dispose();
-        music.dispose();
         shapeRenderer.dispose();
         font.dispose();
         messageFont.dispose(); // 清理新添加的字体
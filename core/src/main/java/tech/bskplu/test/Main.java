@@ -13,8 +13,11 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
+import tech.bskplu.test.characters.AnimationSet;
+import tech.bskplu.test.characters.AnimationState;
+import tech.bskplu.test.characters.Direction;
+import tech.bskplu.test.manager.AssetService;
 
-import java.util.Arrays;
 import java.util.Random;
 
 /** {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms. */
@@ -44,33 +47,15 @@ public class Main extends ApplicationAdapter {
 
     // Player1（玩家 猫猫）
     private Body playerBody;// 角色的Box2D Body，用于物理模拟
-    private Texture playerTexture;// 角色的纹理（精灵表）
-    private Animation<TextureRegion> playerIdleAnimation;// 角色站立时的动画
-    private Animation<TextureRegion> playerWalkAnimation;// 角色行走时的动画
-    private Animation<TextureRegion> playerRunAnimation;// 角色跑步时的动画
+    private AnimationSet catAnimations;// 猫猫的动画集 (共享)
 
     // Player2（玩家 武士）
-    private Texture samuraiTexture;
-    private Animation<TextureRegion> samuraiWalkDownAnimation;// 向下走动画
-    private Animation<TextureRegion> samuraiWalkUpAnimation;// 向上走动画
-    private Animation<TextureRegion> samuraiWalkLeftAnimation;// 向左走动画
-    private Animation<TextureRegion> samuraiWalkRightAnimation;// 向右走动画
-    private Animation<TextureRegion> samuraiIdleDownAnimation;// 向下站立动画
-    private Animation<TextureRegion> samuraiIdleUpAnimation;// 向上站立动画
-    private Animation<TextureRegion> samuraiIdleLeftAnimation;// 向左站立动画
-    private Animation<TextureRegion> samuraiIdleRightAnimation;// 向右站立动画
-
-    // 攻击动画
-    private Texture attackTexture; // 攻击动作精灵表
-    private Animation<TextureRegion> samuraiAttackDownAnimation;// 向下攻击动画
-    private Animation<TextureRegion> samuraiAttackUpAnimation;// 向上攻击动画
-    private Animation<TextureRegion> samuraiAttackLeftAnimation;// 向左攻击动画
-    private Animation<TextureRegion> samuraiAttackRightAnimation;// 向右攻击动画
+    private AnimationSet samuraiAnimations;// 武士的动画集 (共享)
 
     // 角色状态
     private float playerStateTime = 0f;// 角色动画状态时间，用于控制动画播放
-    private String currentAnimation = "idle_down";// 当前角色动画状态，默认向下站立
-    private String lastDirection = "down";// 记录最后移动的方向，初始为向下
+    private AnimationState animationState = AnimationState.IDLE;// 当前角色动画状态，默认站立
+    private Direction lastDirection = Direction.DOWN;// 记录最后移动的方向，初始为向下
     private float playerSpeed = 2f;// 角色行走速度（米/秒）
     private float playerRunSpeed = 5f;// 角色跑步速度（米/秒）
 
@@ -82,6 +67,7 @@ public class Main extends ApplicationAdapter {
     private int groundCount = 10;// 地面块的数量
 
     private Texture image;
+    private Texture groundTexture;// 地块纹理
     private Music music;
 
     @Override
@@ -98,43 +84,17 @@ public class Main extends ApplicationAdapter {
         createSamurai();
         createGround();
 
-        image = new Texture("WhiteFoxSex.png");
-        music = Gdx.audio.newMusic(Gdx.files.internal("LanTingXu.mp3"));
+        AssetService assets = AssetService.getInstance();
+        image = assets.acquireTexture(AssetService.SPLASH_IMAGE);
+        groundTexture = assets.acquireTexture(AssetService.GROUND);
+        music = assets.acquireMusic(AssetService.MUSIC);
     }
 
     /**
-     * 创建猫猫角色对象，包括加载纹理、创建动画、创建Box2D Body和Fixture
+     * 创建猫猫角色对象，包括获取共享动画集、创建Box2D Body和Fixture
      */
     private void createPlayer() {
-        playerTexture = new Texture(Gdx.files.internal("cat_SpriteSheet.png"));
-
-        // 将精灵表拆分为帧
-        int frameWidth = playerTexture.getWidth() / 6;
-        int frameHeight = playerTexture.getHeight() / 3;
-
-        TextureRegion[][] tmp = TextureRegion.split(playerTexture, frameWidth, frameHeight);
-
-        // 创建站立动画帧数组
-        TextureRegion[] idleFrames = new TextureRegion[5];
-        System.arraycopy(tmp[0], 0, idleFrames, 0, 5);
-
-        // 创建行走动画帧数组
-        TextureRegion[] walkFrames = new TextureRegion[6];
-        System.arraycopy(tmp[1], 0, walkFrames, 0, 6);
-
-        // 创建跑步动画帧数组
-        TextureRegion[] runFrames = new TextureRegion[6];
-        System.arraycopy(tmp[2], 0, runFrames, 0, 6);
-
-        // 创建动画
-        playerIdleAnimation = new Animation<>(0.2f, idleFrames);
-        playerWalkAnimation = new Animation<>(0.1f, walkFrames);
-        playerRunAnimation = new Animation<>(0.05f, runFrames);
-
-        // 设置动作动画循环播放
-        for (Animation<TextureRegion> textureRegionAnimation : Arrays.asList(playerIdleAnimation, playerWalkAnimation, playerRunAnimation)) {
-            textureRegionAnimation.setPlayMode(Animation.PlayMode.LOOP);
-        }
+        catAnimations = AnimationSet.acquire(AnimationSet.Kind.CAT);
 
         // 定义角色
         BodyDef bodyDef = new BodyDef();
@@ -159,107 +119,10 @@ public class Main extends ApplicationAdapter {
     }
 
     /**
-     * 创建武士角色对象，包括加载纹理、创建动画、创建Box2D Body和Fixture
+     * 创建武士角色对象，包括获取共享动画集、创建Box2D Body和Fixture
      */
     private void createSamurai() {
-        samuraiTexture = new Texture(Gdx.files.internal("Samurai_SpriteSheet.png"));
-        int frameWidth = samuraiTexture.getWidth();// 动作帧宽度
-        int frameHeight = samuraiTexture.getHeight() / 11;// 动作帧高度
-
-        // 根据动作帧的宽高进行裁剪分割
-        TextureRegion[][] tmp = TextureRegion.split(samuraiTexture, frameWidth, frameHeight);
-
-        // 向下走 动作帧组
-        TextureRegion[] walkDownFrames = new TextureRegion[2];
-        walkDownFrames[0] = tmp[0][0];
-        walkDownFrames[1] = tmp[1][0];
-
-        // 向上走 动作帧组
-        TextureRegion[] walkUpFrames = new TextureRegion[2];
-        walkUpFrames[0] = tmp[2][0];
-        walkUpFrames[1] = tmp[3][0];
-
-        // 向左走 动作帧组
-        TextureRegion[] walkLeftFrames = new TextureRegion[2];
-        walkLeftFrames[0] = tmp[4][0];
-        walkLeftFrames[1] = tmp[5][0];
-
-        // 创建向右走的帧副本并翻转
-        TextureRegion[] walkRightFrames = new TextureRegion[2];
-        walkRightFrames[0] = new TextureRegion(tmp[4][0]);
-        walkRightFrames[1] = new TextureRegion(tmp[5][0]);
-        walkRightFrames[0].flip(true, false);
-        walkRightFrames[1].flip(true, false);
-
-        // 待机状态 动作帧组
-        TextureRegion[] idleDownFrames = new TextureRegion[1];
-        idleDownFrames[0] = tmp[6][0];// 向下站立
-
-        TextureRegion[] idleUpFrames = new TextureRegion[1];
-        idleUpFrames[0] = tmp[7][0];// 向上站立
-
-        TextureRegion[] idleLeftFrames = new TextureRegion[1];
-        idleLeftFrames[0] = tmp[8][0];// 向左站立
-
-        TextureRegion[] idleRightFrames = new TextureRegion[1];
-        idleRightFrames[0] = new TextureRegion(tmp[8][0]);// 向右站立，通过翻转向左帧
-        idleRightFrames[0].flip(true, false);
-
-        // 创建动画
-        samuraiWalkDownAnimation = new Animation<>(0.2f, walkDownFrames);
-        samuraiWalkUpAnimation = new Animation<>(0.2f, walkUpFrames);
-        samuraiWalkLeftAnimation = new Animation<>(0.2f, walkLeftFrames);
-        samuraiWalkRightAnimation = new Animation<>(0.2f, walkRightFrames);
-        samuraiIdleDownAnimation = new Animation<>(0.2f, idleDownFrames);
-        samuraiIdleUpAnimation = new Animation<>(0.2f, idleUpFrames);
-        samuraiIdleLeftAnimation = new Animation<>(0.2f, idleLeftFrames);
-        samuraiIdleRightAnimation = new Animation<>(0.2f, idleRightFrames);
-
-        // 设置动作动画循环播放
-        for (Animation<TextureRegion> textureRegionAnimation : Arrays.asList(
-            samuraiWalkDownAnimation, samuraiWalkUpAnimation, samuraiWalkLeftAnimation, samuraiWalkRightAnimation,
-            samuraiIdleDownAnimation, samuraiIdleUpAnimation, samuraiIdleLeftAnimation, samuraiIdleRightAnimation)) {
-            textureRegionAnimation.setPlayMode(Animation.PlayMode.LOOP);
-        }
-
-        // 加载攻击精灵表
-        attackTexture = new Texture(Gdx.files.internal("SanGuoZhi2.png"));
-        int attackFrameWidth = attackTexture.getWidth();
-        int attackFrameHeight = attackTexture.getHeight() / 12;
-        TextureRegion[][] attackTmp = TextureRegion.split(attackTexture, attackFrameWidth, attackFrameHeight);
-
-        // 向下攻击动画
-        TextureRegion[] attackDownFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackDownFrames[i] = attackTmp[i][0];
-        }
-        samuraiAttackDownAnimation = new Animation<>(0.1f, attackDownFrames);
-        samuraiAttackDownAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        // 向上攻击动画
-        TextureRegion[] attackUpFrames = new TextureRegion[4];
-        for (int i = 4; i < 8; i++) {
-            attackUpFrames[i - 4] = attackTmp[i][0];
-        }
-        samuraiAttackUpAnimation = new Animation<>(0.1f, attackUpFrames);
-        samuraiAttackUpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        // 向左攻击动画
-        TextureRegion[] attackLeftFrames = new TextureRegion[4];
-        for (int i = 8; i < 12; i++) {
-            attackLeftFrames[i - 8] = attackTmp[i][0];
-        }
-        samuraiAttackLeftAnimation = new Animation<>(0.1f, attackLeftFrames);
-        samuraiAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        // 向右攻击动画（翻转向左帧）
-        TextureRegion[] attackRightFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackRightFrames[i] = new TextureRegion(attackLeftFrames[i]);
-            attackRightFrames[i].flip(true, false);
-        }
-        samuraiAttackRightAnimation = new Animation<>(0.1f, attackRightFrames);
-        samuraiAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
+        samuraiAnimations = AnimationSet.acquire(AnimationSet.Kind.SAMURAI);
 
         // 设置角色定义
         BodyDef bodyDef = new BodyDef();
@@ -348,52 +211,56 @@ public class Main extends ApplicationAdapter {
             }
 
             if (velocity.isZero()) {
-                currentAnimation = "idle";
+                animationState = AnimationState.IDLE;
             } else if (speed == playerSpeed) {
-                currentAnimation = "walk";
+                animationState = AnimationState.WALK;
             } else {
-                currentAnimation = "run";
+                animationState = AnimationState.RUN;
             }
         } else {
             // 武士
             if (!isAttacking) {
                 if (Gdx.input.isKeyPressed(Input.Keys.J)) {
                     if (Gdx.input.isKeyPressed(Input.Keys.S)) {
-                        currentAnimation = "attack_down";
+                        lastDirection = Direction.DOWN;
+                        animationState = AnimationState.ATTACK;
                         isAttacking = true;
                         playerStateTime = 0f;// 重置动画时间
                     } else if (Gdx.input.isKeyPressed(Input.Keys.W)) {
-                        currentAnimation = "attack_up";
+                        lastDirection = Direction.UP;
+                        animationState = AnimationState.ATTACK;
                         isAttacking = true;
                         playerStateTime = 0f;
                     } else if (Gdx.input.isKeyPressed(Input.Keys.A)) {
-                        currentAnimation = "attack_left";
+                        lastDirection = Direction.LEFT;
+                        animationState = AnimationState.ATTACK;
                         isAttacking = true;
                         playerStateTime = 0f;
                     } else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
-                        currentAnimation = "attack_right";
+                        lastDirection = Direction.RIGHT;
+                        animationState = AnimationState.ATTACK;
                         isAttacking = true;
                         playerStateTime = 0f;
                     }
                 } else {
                     if (Gdx.input.isKeyPressed(Input.Keys.W)) {
                         velocity.y = speed;
-                        currentAnimation = "walk_up";
-                        lastDirection = "up";
+                        animationState = AnimationState.WALK;
+                        lastDirection = Direction.UP;
                     } else if (Gdx.input.isKeyPressed(Input.Keys.S)) {
                         velocity.y = -speed;
-                        currentAnimation = "walk_down";
-                        lastDirection = "down";
+                        animationState = AnimationState.WALK;
+                        lastDirection = Direction.DOWN;
                     } else if (Gdx.input.isKeyPressed(Input.Keys.A)) {
                         velocity.x = -speed;
-                        currentAnimation = "walk_left";
-                        lastDirection = "left";
+                        animationState = AnimationState.WALK;
+                        lastDirection = Direction.LEFT;
                     } else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
                         velocity.x = speed;
-                        currentAnimation = "walk_right";
-                        lastDirection = "right";
+                        animationState = AnimationState.WALK;
+                        lastDirection = Direction.RIGHT;
                     } else {
-                        currentAnimation = "idle_" + lastDirection;
+                        animationState = AnimationState.IDLE;
                     }
                 }
             } else {
@@ -403,7 +270,7 @@ public class Main extends ApplicationAdapter {
                 Animation<TextureRegion> currentAnim = getCurrentAnimation();
                 if (currentAnim.isAnimationFinished(playerStateTime)) {
                     isAttacking = false;
-                    currentAnimation = "idle_" + lastDirection;
+                    animationState = AnimationState.IDLE;
                 }
             }
         }
@@ -415,21 +282,8 @@ public class Main extends ApplicationAdapter {
      * 获取当前动画对象
      */
     private Animation<TextureRegion> getCurrentAnimation() {
-        return switch (currentAnimation) {
-            case "walk_down" -> samuraiWalkDownAnimation;
-            case "walk_up" -> samuraiWalkUpAnimation;
-            case "walk_left" -> samuraiWalkLeftAnimation;
-            case "walk_right" -> samuraiWalkRightAnimation;
-            case "idle_down" -> samuraiIdleDownAnimation;
-            case "idle_up" -> samuraiIdleUpAnimation;
-            case "idle_left" -> samuraiIdleLeftAnimation;
-            case "idle_right" -> samuraiIdleRightAnimation;
-            case "attack_down" -> samuraiAttackDownAnimation;
-            case "attack_up" -> samuraiAttackUpAnimation;
-            case "attack_left" -> samuraiAttackLeftAnimation;
-            case "attack_right" -> samuraiAttackRightAnimation;
-            default -> samuraiIdleDownAnimation;
-        };
+        AnimationSet animations = isPlayer1Active ? catAnimations : samuraiAnimations;
+        return animations.get(animationState, lastDirection);
     }
 
     @Override
@@ -469,7 +323,6 @@ public class Main extends ApplicationAdapter {
             vertex0.setZero();
             vertex1.setZero();
 
-            Texture groundTexture = new Texture(Gdx.files.internal("ground.png"));
             batch.draw(groundTexture, x - width / 2, y - height / 2, width, height);
         }
 
@@ -494,33 +347,23 @@ public class Main extends ApplicationAdapter {
      * @return 当前动画帧
      */
     private TextureRegion getCurrentFrame(float stateTime) {
-        if (isPlayer1Active) {
-            // 猫猫
-            return switch (currentAnimation) {
-                case "walk" -> playerWalkAnimation.getKeyFrame(stateTime, true);
-                case "run" -> playerRunAnimation.getKeyFrame(stateTime, true);
-                default -> playerIdleAnimation.getKeyFrame(stateTime, true);
-            };
+        Animation<TextureRegion> anim = getCurrentAnimation();
+        if (isAttacking) {
+            return anim.getKeyFrame(stateTime, false);// 攻击动画不循环
         } else {
-            // 武士
-            Animation<TextureRegion> anim = getCurrentAnimation();
-            if (isAttacking) {
-                return anim.getKeyFrame(stateTime, false);// 攻击动画不循环
-            } else {
-                return anim.getKeyFrame(stateTime, true);// 行走和站立动画循环
-            }
+            return anim.getKeyFrame(stateTime, true);// 行走和站立动画循环
         }
     }
 
     @Override
     public void dispose() {
         batch.dispose();
-        playerTexture.dispose();
-        samuraiTexture.dispose();
-        attackTexture.dispose(); // 释放攻击纹理
         world.dispose();
         debugRenderer.dispose();
-        image.dispose();
-        music.dispose();
+        AssetService assets = AssetService.getInstance();
+        AnimationSet.release(AnimationSet.Kind.CAT);
+        AnimationSet.release(AnimationSet.Kind.SAMURAI);
+        assets.releaseAll(AssetService.SPLASH_IMAGE, AssetService.GROUND, AssetService.MUSIC);
+        assets.dispose();// Main 单独运行时是应用本身，退出时释放所有共享资源
     }
 }
@@ -1,6 +1,7 @@
 package tech.bskplu.test;
 
 import com.badlogic.gdx.Game;
+import tech.bskplu.test.manager.AssetService;
 
 /**
  * @ClassName: MyGame
@@ -14,4 +15,10 @@ public class MyGame extends Game{
     public void create() {
         setScreen(new StartScreen(this)); // 默认进入开始游戏场景
     }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        AssetService.getInstance().dispose();// 释放所有共享资源
+    }
 }
@@ -0,0 +1,180 @@
+package tech.bskplu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import tech.bskplu.test.characters.Enemy;
+import tech.bskplu.test.manager.AIManager;
+
+import java.io.*;
+
+/**
+ * @ClassName: SessionRecording
+ * @Description: 一局追击的录像：世界种子与配置、每步的输入位掩码 (按连续相同的段压缩)、
+ * 定期的快照校验和 (回放时检查是否偏离) 以及卡顿帧所在的步。
+ * 同一种子和输入在同步寻路模式下逐步重现同一局，回放见 headless 模块。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class SessionRecording {
+    public static final int CHECKPOINT_INTERVAL = 600;// 每隔多少步记录一次快照校验和 (60Hz 下 10 秒)
+    private static final int MAGIC = 0x53535250;// 文件头 "SSRP"
+    private static final int VERSION = 2;// 文件格式版本 (2：快照中的动画状态写为枚举序号)
+
+    private final long seed;// 世界种子
+    private final int enemyCount;// 敌人数量
+    private final Enemy.PathMode pathMode;// 敌人的追击方式
+    private final AIManager.PathFinderMode pathFinderMode;// 寻路算法
+    private final IntArray inputRuns = new IntArray();// 输入段：(输入位掩码, 连续步数) 成对存放
+    private int tickCount;// 已记录的步数
+    private final IntArray checkpointTicks = new IntArray();// 校验点所在的步 (该步执行之后)
+    private final LongArray checkpointChecksums = new LongArray();// 校验点的快照校验和
+    private final IntArray hitchTicks = new IntArray();// 卡顿帧执行的第一步
+    private final FloatArray hitchMillis = new FloatArray();// 卡顿帧的耗时 (毫秒)
+
+    /**
+     * @param seed 世界种子
+     * @param enemyCount 敌人数量
+     * @param pathMode 敌人的追击方式
+     * @param pathFinderMode 寻路算法
+     */
+    public SessionRecording(long seed, int enemyCount, Enemy.PathMode pathMode, AIManager.PathFinderMode pathFinderMode) {
+        this.seed = seed;
+        this.enemyCount = enemyCount;
+        this.pathMode = pathMode;
+        this.pathFinderMode = pathFinderMode;
+    }
+
+    /**
+     * 记录下一步的输入
+     * @param input 输入位掩码
+     */
+    public void recordTick(int input) {
+        int size = inputRuns.size;
+        if (size > 0 && inputRuns.get(size - 2) == input) {
+            inputRuns.incr(size - 1, 1);
+        } else {
+            inputRuns.add(input, 1);
+        }
+        tickCount++;
+    }
+
+    /**
+     * 记录校验点
+     * @param tick 步序号 (该步执行之后的状态)
+     * @param checksum 快照校验和
+     */
+    public void addCheckpoint(int tick, long checksum) {
+        checkpointTicks.add(tick);
+        checkpointChecksums.add(checksum);
+    }
+
+    /**
+     * 记录卡顿帧
+     * @param tick 该帧执行的第一步
+     * @param millis 该帧耗时 (毫秒)
+     */
+    public void addHitch(int tick, float millis) {
+        hitchTicks.add(tick);
+        hitchMillis.add(millis);
+    }
+
+    /**
+     * 展开为每步的输入
+     * @return 长度为 {@link #getTickCount()} 的输入位掩码数组
+     */
+    public int[] expandInputs() {
+        int[] inputs = new int[tickCount];
+        int tick = 0;
+        for (int i = 0; i < inputRuns.size; i += 2) {
+            int input = inputRuns.get(i);
+            int length = inputRuns.get(i + 1);
+            for (int j = 0; j < length; j++) {
+                inputs[tick++] = input;
+            }
+        }
+        return inputs;
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seed);
+        out.writeShort(enemyCount);
+        out.writeUTF(pathMode.name());
+        out.writeUTF(pathFinderMode.name());
+        out.writeInt(tickCount);
+        out.writeInt(inputRuns.size / 2);
+        for (int i = 0; i < inputRuns.size; i += 2) {
+            out.writeByte(inputRuns.get(i));
+            out.writeInt(inputRuns.get(i + 1));
+        }
+        out.writeInt(checkpointTicks.size);
+        for (int i = 0; i < checkpointTicks.size; i++) {
+            out.writeInt(checkpointTicks.get(i));
+            out.writeLong(checkpointChecksums.get(i));
+        }
+        out.writeInt(hitchTicks.size);
+        for (int i = 0; i < hitchTicks.size; i++) {
+            out.writeInt(hitchTicks.get(i));
+            out.writeFloat(hitchMillis.get(i));
+        }
+        out.flush();
+    }
+
+    public static SessionRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) throw new IOException("Not a session recording");
+        int version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported session recording version: " + version);
+        long seed = in.readLong();
+        int enemyCount = in.readShort();
+        Enemy.PathMode pathMode = Enemy.PathMode.valueOf(in.readUTF());
+        AIManager.PathFinderMode pathFinderMode = AIManager.PathFinderMode.valueOf(in.readUTF());
+        SessionRecording recording = new SessionRecording(seed, enemyCount, pathMode, pathFinderMode);
+        recording.tickCount = in.readInt();
+        int runCount = in.readInt();
+        for (int i = 0; i < runCount; i++) {
+            recording.inputRuns.add(in.readUnsignedByte(), in.readInt());
+        }
+        int checkpointCount = in.readInt();
+        for (int i = 0; i < checkpointCount; i++) {
+            recording.addCheckpoint(in.readInt(), in.readLong());
+        }
+        int hitchCount = in.readInt();
+        for (int i = 0; i < hitchCount; i++) {
+            recording.addHitch(in.readInt(), in.readFloat());
+        }
+        return recording;
+    }
+
+    public void save(FileHandle file) {
+        try (OutputStream stream = file.write(false)) {
+            write(stream);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing session recording: " + file, e);
+        }
+    }
+
+    public static SessionRecording load(FileHandle file) {
+        try (InputStream stream = file.read()) {
+            return read(stream);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading session recording: " + file, e);
+        }
+    }
+
+    public long getSeed() { return seed; }
+    public int getEnemyCount() { return enemyCount; }
+    public Enemy.PathMode getPathMode() { return pathMode; }
+    public AIManager.PathFinderMode getPathFinderMode() { return pathFinderMode; }
+    public int getTickCount() { return tickCount; }
+    public IntArray getCheckpointTicks() { return checkpointTicks; }
+    public LongArray getCheckpointChecksums() { return checkpointChecksums; }
+    public IntArray getHitchTicks() { return hitchTicks; }
+    public FloatArray getHitchMillis() { return hitchMillis; }
+}
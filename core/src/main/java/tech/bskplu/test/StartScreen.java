@@ -15,6 +15,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import tech.bskplu.test.manager.AssetService;
 
 /**
  * @ClassName: StartScreen
@@ -46,7 +47,7 @@ public class StartScreen implements Screen {
 
     public StartScreen(Game game) {
         this.game = game;
-        groundTexture = new Texture("ground.png");
+        groundTexture = AssetService.getInstance().acquireTexture(AssetService.GROUND);
         stage = new Stage(new ScreenViewport());
         batch = new SpriteBatch();
 
@@ -62,7 +63,7 @@ public class StartScreen implements Screen {
         }
 
         // 创建“开始游戏”按钮
-        Texture startButtonTexture = new Texture(Gdx.files.internal("StartCircleButton2.png"));
+        Texture startButtonTexture = AssetService.getInstance().acquireTexture(AssetService.START_BUTTON);
         ImageButton startButton = new ImageButton(new TextureRegionDrawable(startButtonTexture));
         startButton.setPosition(Gdx.graphics.getWidth() / 2f - startButton.getWidth() / 2, Gdx.graphics.getHeight() / 2f);
         startButton.addListener(new ClickListener() {
@@ -73,7 +74,7 @@ public class StartScreen implements Screen {
         });
 
         // 创建“退出游戏”按钮
-        Texture exitButtonTexture = new Texture(Gdx.files.internal("ExitCircleButton2.png"));
+        Texture exitButtonTexture = AssetService.getInstance().acquireTexture(AssetService.EXIT_BUTTON);
         ImageButton exitButton = new ImageButton(new TextureRegionDrawable(exitButtonTexture));
         exitButton.setPosition(Gdx.graphics.getWidth() / 2f - exitButton.getWidth() / 2, Gdx.graphics.getHeight() / 2f - 100);
         exitButton.addListener(new ClickListener() {
@@ -136,6 +137,6 @@ public class StartScreen implements Screen {
     public void dispose() {
         stage.dispose();
         batch.dispose();
-        groundTexture.dispose();
+        AssetService.getInstance().releaseAll(AssetService.GROUND, AssetService.START_BUTTON, AssetService.EXIT_BUTTON);
     }
 }
@@ -5,19 +5,20 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.physics.box2d.PolygonShape;
-import tech.bskplu.test.ai.GameTiledGraph;
 import tech.bskplu.test.characters.Enemy;
 import tech.bskplu.test.characters.Player;
 import tech.bskplu.test.manager.AIManager;
+import tech.bskplu.test.manager.AssetService;
+import tech.bskplu.test.manager.GroundCache;
+import tech.bskplu.test.manager.SimulationClock;
 import tech.bskplu.test.manager.UIManager;
 import tech.bskplu.test.manager.WorldManager;
 
@@ -36,9 +37,13 @@ public class TGameScreen implements Screen {
     private WorldManager worldManager;
     private Box2DDebugRenderer debugRenderer;
     public static final float PIXELS_PER_METER = 32f;
-    private float timeStep = 1 / 60f;
-    private int velocityIterations = 6;
-    private int positionIterations = 2;
+    private final ChaseSimulation simulation;// 世界、角色与 AI 的固定步长模拟 (与无窗口模拟、回放共用)
+    private final SimulationClock simulationClock;// 固定步长时钟
+    private final SessionRecording recording;// 本局录像 (离开场景时保存)
+    private int pendingInput;// 尚未被任何一步消费的"本帧按下"输入 (帧内没有步进时留到下一帧)
+    private int lastFrameFirstTick;// 上一帧执行的第一步
+    private static final float HITCH_THRESHOLD = 1 / 20f;// 超过该时长的帧记为卡顿 (秒)
+    private static final int JUST_PRESSED_INPUTS = Player.INPUT_ATTACK | Player.INPUT_SWITCH;// 只作用一步的输入
     private static final float GAME_WIDTH_PIXELS = 800f;
     private static final float GAME_HEIGHT_PIXELS = 600f;
 
@@ -47,8 +52,12 @@ public class TGameScreen implements Screen {
     private AIManager aiManager;
     private UIManager uiManager;
 
-    private Texture groundTexture;
+    private TextureRegion groundRegion;// 地面 (与角色同在世界图集中，整个世界层只绑定一张纹理)
+    private static final int GROUND_CACHE_SIZE = 256;// 地面缓存最多容纳的地块数
+    private GroundCache groundCache;// 地面的静态缓存
     private Music music;
+    private final Vector2 playerDrawPos = new Vector2();// 插值后的玩家位置 (米)
+    private final Vector2 enemyDrawPos = new Vector2();// 插值后的敌人位置 (米)
 
     /**
      * 构造函数：初始化游戏场景
@@ -60,16 +69,23 @@ public class TGameScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME_WIDTH_PIXELS, GAME_HEIGHT_PIXELS);
 
-        worldManager = new WorldManager();
+        long seed = MathUtils.random.nextLong();
+        Gdx.app.log("World", "seed=" + seed);
+        simulation = new ChaseSimulation(seed, 1, Enemy.PathMode.INCREMENTAL, AIManager.PathFinderMode.JUMP_POINT, true);
+        recording = simulation.startRecording();
+        simulationClock = simulation.getSimulationClock();
+        worldManager = simulation.getWorldManager();
+        player = simulation.getPlayer();
+        aiManager = simulation.getAIManager();
+        enemy = simulation.getEnemies().first();
         debugRenderer = new Box2DDebugRenderer();
 
-        groundTexture = new Texture(Gdx.files.internal("ground.png"));
+        groundRegion = AssetService.getInstance().acquireAtlas(AssetService.WORLD_ATLAS).findRegion(AssetService.WORLD_GROUND_REGION);
+        groundCache = new GroundCache(groundRegion, PIXELS_PER_METER, GROUND_CACHE_SIZE);
+        groundCache.trackObstacles(worldManager.getGroundBodies());
+        worldManager.addObstacleListener(groundCache);
 
-        player = new Player(worldManager.getWorld());
-        aiManager = new AIManager(new GameTiledGraph(GAME_WIDTH_PIXELS / PIXELS_PER_METER, GAME_HEIGHT_PIXELS / PIXELS_PER_METER, 0.5f, worldManager.getGroundBodies()));
-        enemy = new Enemy(worldManager.getWorld(), aiManager.getTiledGraph(), aiManager.getPathFinder());
-
-        music = Gdx.audio.newMusic(Gdx.files.internal("LanTingXu.mp3"));
+        music = AssetService.getInstance().acquireMusic(AssetService.MUSIC);
 
         uiManager = new UIManager();
     }
@@ -86,55 +102,54 @@ public class TGameScreen implements Screen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        player.handleInput();
-        enemy.updateEnemyAI(delta, player.getPlayerBody());
-
-        worldManager.getWorld().step(timeStep, velocityIterations, positionIterations);
-        player.setPlayerStateTime(player.getPlayerStateTime() + delta);
-        enemy.setEnemyStateTime(enemy.getEnemyStateTime() + delta);
+        // 帧时间包含上一帧的全部工作，卡顿记在上一帧执行的第一步上，回放时从那一步开始分析
+        int frameFirstTick = (int) simulation.getTickCount();
+        if (delta > HITCH_THRESHOLD) {
+            recording.addHitch(lastFrameFirstTick, delta * 1000f);
+        }
+        lastFrameFirstTick = frameFirstTick;
+
+        // 按固定步长推进：输入、AI 与物理每步执行一次，与刷新率无关。
+        // 持续按住的键作用于本帧的每一步，"本帧按下"的键只作用于第一步
+        int input = Player.pollInput();
+        pendingInput |= input & JUST_PRESSED_INPUTS;
+        int heldInput = input & ~JUST_PRESSED_INPUTS;
+        int steps = simulationClock.advance(delta);
+        for (int i = 0; i < steps; i++) {
+            simulation.tick(heldInput | pendingInput);
+            pendingInput = 0;
+        }
+        simulationClock.getInterpolatedPosition(player.getPlayerBody(), playerDrawPos);
+        simulationClock.getInterpolatedPosition(enemy.getEnemyBody(), enemyDrawPos);
 
-        camera.position.set(player.getPlayerBody().getPosition().x * PIXELS_PER_METER, player.getPlayerBody().getPosition().y * PIXELS_PER_METER, 0);
+        camera.position.set(playerDrawPos.x * PIXELS_PER_METER, playerDrawPos.y * PIXELS_PER_METER, 0);
         camera.update();
 
+        // 绘制地面 (静态缓存，障碍物变化时才重建)
+        groundCache.render(camera.combined);
+
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
 
-        // 绘制地面
-        for (Body groundBody : worldManager.getGroundBodies()) {
-            float x = groundBody.getPosition().x * PIXELS_PER_METER;
-            float y = groundBody.getPosition().y * PIXELS_PER_METER;
-            PolygonShape shape = (PolygonShape) groundBody.getFixtureList().get(0).getShape();
-            Vector2 vertex0 = new Vector2();
-            Vector2 vertex1 = new Vector2();
-            shape.getVertex(0, vertex0);
-            shape.getVertex(1, vertex1);
-            float width = vertex0.x * 2 * PIXELS_PER_METER;
-            float height = vertex1.y * 2 * PIXELS_PER_METER;
-            batch.draw(groundTexture, x - width / 2, y - height / 2, width, height);
-        }
-
         // 绘制玩家
         TextureRegion playerFrame = player.getCurrentFrame(player.getPlayerStateTime());
         if (playerFrame != null) {
-            float playerX = player.getPlayerBody().getPosition().x * PIXELS_PER_METER - playerFrame.getRegionWidth() / 2f;
-            float playerY = player.getPlayerBody().getPosition().y * PIXELS_PER_METER - playerFrame.getRegionHeight() / 2f;
+            float playerX = playerDrawPos.x * PIXELS_PER_METER - playerFrame.getRegionWidth() / 2f;
+            float playerY = playerDrawPos.y * PIXELS_PER_METER - playerFrame.getRegionHeight() / 2f;
             batch.draw(playerFrame, playerX, playerY);
         }
 
         // 绘制敌人
         TextureRegion enemyFrame = enemy.getEnemyCurrentFrame(enemy.getEnemyStateTime());
         if (enemyFrame != null && enemy.getEnemyBody() != null) {
-            float enemyX = enemy.getEnemyBody().getPosition().x * PIXELS_PER_METER - enemyFrame.getRegionWidth() / 2f;
-            float enemyY = enemy.getEnemyBody().getPosition().y * PIXELS_PER_METER - enemyFrame.getRegionHeight() / 2f;
+            float enemyX = enemyDrawPos.x * PIXELS_PER_METER - enemyFrame.getRegionWidth() / 2f;
+            float enemyY = enemyDrawPos.y * PIXELS_PER_METER - enemyFrame.getRegionHeight() / 2f;
             batch.draw(enemyFrame, enemyX, enemyY);
         }
 
-        batch.end();
-
-        // 绘制 UI
+        // 绘制 UI：血条与角色同在世界图集中，文字最后一起绘制
         uiManager.drawHealthBar(batch,
-            camera,
-            player.getPlayerBody().getPosition(),
+            playerDrawPos,
             100f,
             100f,
             playerFrame.getRegionWidth(),
@@ -143,8 +158,7 @@ public class TGameScreen implements Screen {
             playerFrame.getRegionHeight() + 5);
 
         uiManager.drawHealthBar(batch,
-            camera,
-            enemy.getEnemyBody().getPosition(),
+            enemyDrawPos,
             100f,
             100f,
             enemyFrame.getRegionWidth(),
@@ -152,10 +166,15 @@ public class TGameScreen implements Screen {
             (enemyFrame.getRegionWidth() - 40) / 2f,
             enemyFrame.getRegionHeight() + 5);
 
+        uiManager.drawLabels(batch);
+        if (enemy.isPlayerCaught()) {
+            uiManager.drawMessage(batch, "Caught!", camera.position.x - 50, camera.position.y);
+        }
+        batch.end();
+
         debugRenderer.render(worldManager.getWorld(), camera.combined.cpy().scale(PIXELS_PER_METER, PIXELS_PER_METER, 0));
 
         if (enemy.isPlayerCaught()) {
-            uiManager.drawMessage(batch, "Caught!", camera.position.x - 50, camera.position.y);
             enemy.setGameOverTimer(enemy.getGameOverTimer() - delta);
             if (enemy.getGameOverTimer() <= 0f) {
                 game.setScreen(new BattleScreen(game, player, enemy));
@@ -183,15 +202,19 @@ public class TGameScreen implements Screen {
     @Override
     public void hide() {
         music.stop();
+        FileHandle file = Gdx.files.local("replays/session-" + recording.getSeed() + ".ssr");
+        recording.save(file);
+        Gdx.app.log("World", "Session recording (" + recording.getTickCount() + " ticks) saved to " + file.path());
     }
 
     @Override
     public void dispose() {
         batch.dispose();
-        groundTexture.dispose();
-        worldManager.getWorld().dispose();
+        worldManager.removeObstacleListener(groundCache);
+        groundCache.dispose();
+        simulation.dispose();
         debugRenderer.dispose();
-        music.dispose();
+        AssetService.getInstance().releaseAll(AssetService.WORLD_ATLAS, AssetService.MUSIC);
         uiManager.dispose();
     }
 }
@@ -4,13 +4,16 @@ package tech.bskplu.test;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import tech.bskplu.test.manager.AssetService;
 
 /**
  * @ClassName: TransitionScreen
- * @Description: 过渡场景
+ * @Description: 过渡场景，显示期间在后台加载追击场景的资源
  * @Author BsKPLu
  * @Date 2025/3/15
  * @Version 1.1
@@ -20,11 +23,18 @@ public class TransitionScreen implements Screen {
     private SpriteBatch batch;
     private Texture image;
     private float elapsedTime;
+    private boolean assetsLoaded;// 追击场景的资源是否已加载完
+    private static final float MIN_DISPLAY_TIME = 3f;// 最短显示时间 (秒)
+    private static final int LOAD_BUDGET_MILLIS = 8;// 每帧用于加载资源的时间 (毫秒)
 
     public TransitionScreen(Game game) {
         this.game = game;
         batch = new SpriteBatch();
-        image = new Texture(Gdx.files.internal("WhiteFoxSex1.png"));
+        AssetService assets = AssetService.getInstance();
+        image = assets.acquireTexture(AssetService.TRANSITION_IMAGE);
+        // 排队加载追击场景的资源，切换后追击场景直接取用已解码的纹理和音乐
+        assets.queue(AssetService.WORLD_ATLAS, TextureAtlas.class);
+        assets.queue(AssetService.MUSIC, Music.class);
         elapsedTime = 0f;
     }
 
@@ -43,9 +53,16 @@ public class TransitionScreen implements Screen {
         batch.draw(image, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         batch.end();
 
-        // 延时3秒后切换到战斗场景
-        if (elapsedTime >= 3f) {
+        if (!assetsLoaded) {
+            assetsLoaded = AssetService.getInstance().update(LOAD_BUDGET_MILLIS);
+        }
+
+        // 至少显示3秒且资源加载完后切换到追击场景
+        if (elapsedTime >= MIN_DISPLAY_TIME && assetsLoaded) {
             game.setScreen(new TGameScreen(game));
+            // 追击场景已持有自己的引用，释放排队时的引用
+            AssetService assets = AssetService.getInstance();
+            assets.releaseAll(AssetService.WORLD_ATLAS, AssetService.MUSIC);
         }
     }
 
@@ -68,6 +85,6 @@ public class TransitionScreen implements Screen {
     @Override
     public void dispose() {
         batch.dispose();
-        image.dispose();
+        AssetService.getInstance().release(AssetService.TRANSITION_IMAGE);
     }
 }
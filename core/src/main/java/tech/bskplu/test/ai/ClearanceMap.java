@@ -0,0 +1,220 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: ClearanceMap
+ * @Description: 净空图：每个网格到最近墙壁 (地图边界外也算墙) 的切比雪夫距离，上限为 MAX_CLEARANCE
+ * 净空为 c 表示以该网格为中心、边长 2c-1 的正方形内全是地面；圆形代理经过的网格
+ * 净空至少为 {@link GameTiledGraph#getRequiredClearance(float)} 才不会卡在墙上。
+ * 网格变化时只在变化网格周围 MAX_CLEARANCE 范围内重新计算，不同体型的代理共用同一张净空图。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class ClearanceMap {
+    public static final int MAX_CLEARANCE = 16;// 净空上限 (网格)，更大的值一律按上限记录
+
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final int height;
+    private final byte[] clearances;// 各网格的净空 (墙为 0)
+    private final IntArray changedTiles = new IntArray();// 最近一次更新中净空变化的网格
+    private final IntArray oldClearances = new IntArray();// 对应的旧净空
+
+    // 临时变量，避免重复创建
+    private final int[] marks;// 各网格最后一次被划入重算区域时的编号
+    private int markId;
+    private final IntArray region = new IntArray();
+    private final IntArray[] buckets = new IntArray[MAX_CLEARANCE + 1];// 按净空分桶的待扩展网格
+
+    ClearanceMap(GameTiledGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.height = graph.getHeight();
+        clearances = new byte[graph.getNodeCount()];
+        marks = new int[graph.getNodeCount()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntArray();
+        }
+        rebuild();
+    }
+
+    /**
+     * 对整张图重新计算.
+     */
+    void rebuild() {
+        changedTiles.clear();
+        oldClearances.clear();
+        int regionMark = nextMark();
+        for (int index = 0; index < clearances.length; index++) {
+            marks[index] = regionMark;
+            clearances[index] = (byte) initialClearance(index);
+            buckets[clearances[index]].add(index);
+        }
+        propagate(regionMark);
+    }
+
+    /**
+     * 网格类型变化后更新：每个变化网格周围 MAX_CLEARANCE 范围内的净空重新计算，
+     * 以区域外一圈网格的净空和区域内的墙壁为源点，按净空从小到大向内扩展。
+     * @param changed 类型发生变化的网格索引
+     */
+    void update(IntArray changed) {
+        changedTiles.clear();
+        oldClearances.clear();
+        if (changed.size == 0) return;
+
+        // 1. 划出重算区域，记录旧值并重置为只考虑地图边界时的净空
+        int regionMark = nextMark();
+        region.clear();
+        for (int i = 0; i < changed.size; i++) {
+            int centerX = changed.get(i) % width;
+            int centerY = changed.get(i) / width;
+            int minX = Math.max(0, centerX - MAX_CLEARANCE);
+            int maxX = Math.min(width - 1, centerX + MAX_CLEARANCE);
+            int minY = Math.max(0, centerY - MAX_CLEARANCE);
+            int maxY = Math.min(height - 1, centerY + MAX_CLEARANCE);
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    int index = y * width + x;
+                    if (marks[index] == regionMark) continue;
+                    marks[index] = regionMark;
+                    region.add(index);
+                    oldClearances.add(clearances[index]);
+                    clearances[index] = (byte) initialClearance(index);
+                    buckets[clearances[index]].add(index);
+                }
+            }
+        }
+
+        // 2. 区域外紧邻的网格保持原值，作为源点
+        for (int i = 0; i < region.size; i++) {
+            int x = region.get(i) % width;
+            int y = region.get(i) / width;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (!graph.isValidTile(x + dx, y + dy)) continue;
+                    int neighbor = (y + dy) * width + x + dx;
+                    if (marks[neighbor] != regionMark && clearances[neighbor] < MAX_CLEARANCE) {
+                        buckets[clearances[neighbor]].add(neighbor);
+                    }
+                }
+            }
+        }
+        propagate(regionMark);
+
+        // 3. 收集净空发生变化的网格
+        for (int i = 0; i < region.size; i++) {
+            int index = region.get(i);
+            if (clearances[index] != oldClearances.get(i)) {
+                changedTiles.add(index);
+                oldClearances.set(changedTiles.size - 1, oldClearances.get(i));
+            }
+        }
+        oldClearances.size = changedTiles.size;
+    }
+
+    /**
+     * 墙为 0，地面为到地图边界外的距离 (上限 MAX_CLEARANCE)
+     */
+    private int initialClearance(int index) {
+        if (!graph.isWalkable(index)) return 0;
+        int x = index % width;
+        int y = index / width;
+        int border = Math.min(Math.min(x + 1, width - x), Math.min(y + 1, height - y));
+        return Math.min(MAX_CLEARANCE, border);
+    }
+
+    /**
+     * 按净空从小到大扩展：相邻网格 (八方向) 的净空至多比当前网格大 1，只写入区域内的网格.
+     */
+    private void propagate(int regionMark) {
+        for (int value = 0; value < MAX_CLEARANCE; value++) {
+            IntArray bucket = buckets[value];
+            for (int i = 0; i < bucket.size; i++) {
+                int index = bucket.get(i);
+                if (clearances[index] != value) continue;// 已被更小的值取代
+                int x = index % width;
+                int y = index / width;
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        if (!graph.isValidTile(x + dx, y + dy)) continue;
+                        int neighbor = (y + dy) * width + x + dx;
+                        if (marks[neighbor] == regionMark && clearances[neighbor] > value + 1) {
+                            clearances[neighbor] = (byte) (value + 1);
+                            buckets[value + 1].add(neighbor);
+                        }
+                    }
+                }
+            }
+            bucket.clear();
+        }
+        buckets[MAX_CLEARANCE].clear();
+    }
+
+    private int nextMark() {
+        if (markId == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            markId = 0;
+        }
+        return ++markId;
+    }
+
+    /**
+     * 网格能否容纳需要 minClearance 净空的代理.
+     */
+    public boolean fits(int index, int minClearance) {
+        return clearances[index] >= minClearance && clearances[index] > 0;
+    }
+
+    /**
+     * 在 maxDistance 范围内查找离 index 最近 (切比雪夫距离) 且能容纳代理的网格.
+     * 代理贴墙站立或目标在窄处时，用它把起点/终点移到附近够宽的网格上。
+     * @param index 原网格
+     * @param minClearance 需要的净空
+     * @param maxDistance 最大查找距离 (网格)
+     * @return 网格索引，找不到时返回 -1
+     */
+    public int findNearestFitting(int index, int minClearance, int maxDistance) {
+        if (fits(index, minClearance)) return index;
+        int centerX = index % width;
+        int centerY = index / width;
+        for (int r = 1; r <= maxDistance; r++) {
+            for (int dy = -r; dy <= r; dy++) {
+                int y = centerY + dy;
+                if (y < 0 || y >= height) continue;
+                int step = (dy == -r || dy == r) ? 1 : 2 * r;// 上下两行整行检查，中间只检查左右两端
+                for (int dx = -r; dx <= r; dx += step) {
+                    int x = centerX + dx;
+                    if (x >= 0 && x < width && fits(y * width + x, minClearance)) return y * width + x;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 找出最近一次更新中，是否能容纳 minClearance 代理发生了变化的网格.
+     * @param minClearance 需要的净空
+     * @param out 输出：网格索引 (追加)
+     */
+    public void collectFitChanges(int minClearance, IntArray out) {
+        for (int i = 0; i < changedTiles.size; i++) {
+            int oldClearance = oldClearances.get(i);
+            boolean oldFits = oldClearance >= minClearance && oldClearance > 0;
+            if (oldFits != fits(changedTiles.get(i), minClearance)) {
+                out.add(changedTiles.get(i));
+            }
+        }
+    }
+
+    public int getClearance(int index) { return clearances[index]; }
+
+    /**
+     * 最近一次更新中净空发生变化的网格，仅在下一次更新前有效
+     */
+    public IntArray getChangedTiles() { return changedTiles; }
+}
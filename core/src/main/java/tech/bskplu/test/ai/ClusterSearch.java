@@ -0,0 +1,149 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: ClusterSearch
+ * @Description: 限定在一个矩形簇内的网格搜索，供分层寻路计算簇内代价和细化路径段
+ * 数组只按簇的大小分配，与整张地图的大小无关；每个线程需要各自的实例。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+final class ClusterSearch {
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final int clusterSize;// 簇边长 (网格)
+    private final int minClearance;// 代理需要的净空
+    private final NodeHeap openList;// 开放列表 (簇内局部索引)
+    private final float[] costSoFar;// 起点到各网格的代价 (簇内局部索引)
+    private final int[] parents;// 各网格的父网格 (簇内局部索引)
+    private final int[] searchIds;// 网格最后一次被访问时的搜索编号
+    private int searchId;
+
+    // 当前搜索的簇范围 (网格坐标，包含边界)
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    // 临时变量，避免重复创建
+    private final int[] neighborTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] neighborCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+    private final IntArray pathTemp = new IntArray();
+
+    ClusterSearch(GameTiledGraph graph, int clusterSize, int minClearance) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.clusterSize = clusterSize;
+        this.minClearance = minClearance;
+        int localCount = clusterSize * clusterSize;
+        openList = new NodeHeap(localCount);
+        costSoFar = new float[localCount];
+        parents = new int[localCount];
+        searchIds = new int[localCount];
+    }
+
+    /**
+     * 从 source 出发在簇内做 Dijkstra，之后用 {@link #getCost(int)} 读取到簇内各网格的代价.
+     * @param clusterMinX 簇范围 (网格坐标，包含边界)
+     * @param source 起点网格索引 (必须在簇内)
+     */
+    void expandAll(int clusterMinX, int clusterMinY, int clusterMaxX, int clusterMaxY, int source) {
+        begin(clusterMinX, clusterMinY, clusterMaxX, clusterMaxY, source);
+        while (!openList.isEmpty()) {
+            expand(openList.pop(), -1);
+        }
+    }
+
+    /**
+     * 最近一次 {@link #expandAll} 中 source 到 tile 的代价
+     * @return 代价，不可达或不在簇内时返回 -1
+     */
+    float getCost(int tile) {
+        int x = tile % width;
+        int y = tile / width;
+        if (x < minX || x > maxX || y < minY || y > maxY) return -1f;
+        int local = toLocal(tile);
+        return searchIds[local] == searchId ? costSoFar[local] : -1f;
+    }
+
+    /**
+     * 在簇内用 A* 搜索 source 到 target 的逐格路径，追加到 outPath (不含 source).
+     * @return 是否找到路径；未找到时 outPath 不变
+     */
+    boolean findPath(int clusterMinX, int clusterMinY, int clusterMaxX, int clusterMaxY, int source, int target, GraphPath<GameTiledNode> outPath) {
+        begin(clusterMinX, clusterMinY, clusterMaxX, clusterMaxY, source);
+        int targetLocal = toLocal(target);
+        while (!openList.isEmpty()) {
+            int local = openList.pop();
+            if (local == targetLocal) {
+                appendPath(targetLocal, outPath);
+                return true;
+            }
+            expand(local, target);
+        }
+        return false;
+    }
+
+    private void begin(int clusterMinX, int clusterMinY, int clusterMaxX, int clusterMaxY, int source) {
+        minX = clusterMinX;
+        minY = clusterMinY;
+        maxX = clusterMaxX;
+        maxY = clusterMaxY;
+        openList.clear();
+        if (++searchId == 0) {
+            Arrays.fill(searchIds, 0);
+            searchId = 1;
+        }
+        int local = toLocal(source);
+        searchIds[local] = searchId;
+        costSoFar[local] = 0f;
+        parents[local] = -1;
+        openList.add(local, 0f);
+    }
+
+    /**
+     * 松弛一个网格在簇内的邻居
+     * @param target A* 的目标网格，-1 表示 Dijkstra (不使用启发值)
+     */
+    private void expand(int local, int target) {
+        int tile = toTile(local);
+        int count = graph.getNeighbors(tile, minClearance, neighborTargets, neighborCosts);
+        for (int i = 0; i < count; i++) {
+            int neighbor = neighborTargets[i];
+            int x = neighbor % width;
+            int y = neighbor / width;
+            if (x < minX || x > maxX || y < minY || y > maxY) continue;
+            int neighborLocal = (y - minY) * clusterSize + x - minX;
+            float cost = costSoFar[local] + neighborCosts[i];
+            if (searchIds[neighborLocal] == searchId && cost >= costSoFar[neighborLocal]) continue;
+            searchIds[neighborLocal] = searchId;
+            costSoFar[neighborLocal] = cost;
+            parents[neighborLocal] = local;
+            float estimate = target < 0 ? 0f : GameTiledGraph.octileDistance(x, y, target % width, target / width);
+            openList.add(neighborLocal, cost + estimate);
+        }
+    }
+
+    private void appendPath(int targetLocal, GraphPath<GameTiledNode> outPath) {
+        pathTemp.clear();
+        for (int local = targetLocal; parents[local] >= 0; local = parents[local]) {
+            pathTemp.add(toTile(local));
+        }
+        for (int i = pathTemp.size - 1; i >= 0; i--) {
+            outPath.add(graph.getNode(pathTemp.get(i)));
+        }
+    }
+
+    private int toLocal(int tile) {
+        return (tile / width - minY) * clusterSize + tile % width - minX;
+    }
+
+    private int toTile(int local) {
+        return (minY + local / clusterSize) * width + minX + local % clusterSize;
+    }
+}
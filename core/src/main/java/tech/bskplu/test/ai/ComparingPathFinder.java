@@ -0,0 +1,83 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.PathFinder;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+
+/**
+ * @ClassName: ComparingPathFinder
+ * @Description: 对比模式：同时运行 A* 与 JPS，检查两者的路径代价是否一致并统计展开节点数
+ * 两边统一使用八方向距离作为启发函数 (可采纳)，保证得到的都是最优代价；返回 JPS 的结果。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class ComparingPathFinder implements PathFinder<GameTiledNode> {
+    private static final float COST_TOLERANCE = 0.01f;// 浮点累加误差容忍度
+
+    private final GameTiledGraph graph;
+    private final IndexedAStarPathFinder<GameTiledNode> aStarPathFinder;
+    private final JumpPointPathFinder jumpPointPathFinder;
+    private final Heuristic<GameTiledNode> octileHeuristic;
+    private final DefaultGraphPath<GameTiledNode> aStarPathTemp = new DefaultGraphPath<>();
+
+    // 累计统计
+    private int comparisons;// 对比次数
+    private int mismatches;// 代价不一致的次数
+    private long aStarVisitedNodes;// A* 累计展开节点
+    private long jumpPointVisitedNodes;// JPS 累计展开跳点
+
+    public ComparingPathFinder(GameTiledGraph graph, IndexedAStarPathFinder<GameTiledNode> aStarPathFinder, JumpPointPathFinder jumpPointPathFinder) {
+        this.graph = graph;
+        this.aStarPathFinder = aStarPathFinder;
+        this.jumpPointPathFinder = jumpPointPathFinder;
+        this.octileHeuristic = (node, endNode) -> GameTiledGraph.octileDistance(node.x, node.y, endNode.x, endNode.y);
+    }
+
+    @Override
+    public boolean searchNodePath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<GameTiledNode> outPath) {
+        aStarPathTemp.clear();
+        boolean aStarFound = aStarPathFinder.searchNodePath(startNode, endNode, octileHeuristic, aStarPathTemp);
+        int outStart = outPath.getCount();
+        boolean jumpPointFound = jumpPointPathFinder.searchNodePath(startNode, endNode, octileHeuristic, outPath);
+
+        comparisons++;
+        if (aStarPathFinder.metrics != null) {
+            aStarVisitedNodes += aStarPathFinder.metrics.visitedNodes;
+        }
+        jumpPointVisitedNodes += jumpPointPathFinder.metrics.visitedNodes;
+
+        if (aStarFound != jumpPointFound) {
+            mismatches++;
+            Gdx.app.error("PathCompare", startNode + " -> " + endNode + ": A* found=" + aStarFound + ", JPS found=" + jumpPointFound);
+        } else if (jumpPointFound && outStart == 0) {
+            float aStarCost = graph.getPathCost(aStarPathTemp);
+            float jumpPointCost = graph.getPathCost(outPath);
+            if (Math.abs(aStarCost - jumpPointCost) > COST_TOLERANCE) {
+                mismatches++;
+                Gdx.app.error("PathCompare", startNode + " -> " + endNode + ": A* cost=" + aStarCost + ", JPS cost=" + jumpPointCost);
+            }
+        }
+        return jumpPointFound;
+    }
+
+    @Override
+    public boolean searchConnectionPath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<Connection<GameTiledNode>> outPath) {
+        return jumpPointPathFinder.searchConnectionPath(startNode, endNode, heuristic, outPath);
+    }
+
+    @Override
+    public boolean search(PathFinderRequest<GameTiledNode> request, long timeToRun) {
+        return jumpPointPathFinder.search(request, timeToRun);
+    }
+
+    public int getComparisons() { return comparisons; }
+    public int getMismatches() { return mismatches; }
+    public long getAStarVisitedNodes() { return aStarVisitedNodes; }
+    public long getJumpPointVisitedNodes() { return jumpPointVisitedNodes; }
+}
@@ -0,0 +1,400 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: ConnectedComponents
+ * @Description: 连通分量标记：为每个可走网格记录所在连通区域的编号
+ * 两个网格编号不同时一定不可达，寻路前 O(1) 判断即可，不必让搜索遍历整个区域后才失败。
+ * 网格变化时增量更新：新变成墙的网格如果周围仍在局部连通，编号保持不变；只有可能断开时才重新填充该分量；
+ * 新变成地面的网格把相邻的较小区域并入最大的区域。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class ConnectedComponents {
+    public static final int NO_COMPONENT = -1;// 墙壁没有连通分量
+    private static final int LOCAL_MARGIN = 2;// 局部连通检测时在变化区域外额外搜索的网格数
+    private static final int RACE_ACTIVE = 0;// 拆分时的填充状态：进行中
+    private static final int RACE_FINISHED = 1;// 已填充完 (断开的一块)
+    private static final int RACE_MERGED = 2;// 与其他填充相遇后停止
+
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final int height;
+    private final int[] labels;// 各网格的连通分量编号
+    private final IntArray sizes = new IntArray();// 各编号的网格数 (为 0 表示编号已废弃)
+    private int componentCount;// 非空连通分量数
+    private int lastRelabeledTiles;// 最近一次更新重新标记的网格数
+
+    // 临时变量，避免重复创建
+    private final int[] marks;// 各网格最后一次被标记时的编号
+    private int markId;
+    private final IntArray queue = new IntArray();
+    private final IntArray cluster = new IntArray();
+    private final IntArray boundary = new IntArray();
+    private final IntArray splitLabels = new IntArray();
+    private final IntIntMap labelRegions = new IntIntMap();
+    private final IntArray boundaryRegions = new IntArray();
+    private final IntArray raceSeeds = new IntArray();
+    private final IntArray raceRegions = new IntArray();
+    private final IntArray raceHeads = new IntArray();
+    private final IntArray raceStates = new IntArray();
+    private final Array<IntArray> raceQueues = new Array<>();
+    private final int[] neighborTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] neighborCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+
+    ConnectedComponents(GameTiledGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.height = graph.getHeight();
+        labels = new int[graph.getNodeCount()];
+        marks = new int[graph.getNodeCount()];
+        rebuild();
+    }
+
+    /**
+     * 对整张图重新标记.
+     */
+    void rebuild() {
+        Arrays.fill(labels, NO_COMPONENT);
+        sizes.clear();
+        componentCount = 0;
+        lastRelabeledTiles = 0;
+        for (int index = 0; index < labels.length; index++) {
+            if (graph.isWalkable(index) && labels[index] == NO_COMPONENT) {
+                flood(index, newLabel());
+            }
+        }
+    }
+
+    /**
+     * 网格类型变化后增量更新 (此时导航图的连接已经更新).
+     * @param changedTiles 类型发生变化的网格索引
+     */
+    void update(IntArray changedTiles) {
+        if (sizes.size > labels.length) {
+            // 废弃的编号过多，整体重新编号
+            rebuild();
+            return;
+        }
+        lastRelabeledTiles = 0;
+
+        // 1. 变成墙的网格移出所在分量
+        int removedMark = nextMark();
+        for (int i = 0; i < changedTiles.size; i++) {
+            int index = changedTiles.get(i);
+            if (graph.isWalkable(index)) continue;
+            setLabel(index, NO_COMPONENT);
+            marks[index] = removedMark;
+        }
+
+        // 2. 相邻的新墙壁作为一组，检查周围同一分量的网格是否仍然连通，否则重新填充可能断开的分量
+        int clusteredMark = nextMark();
+        for (int i = 0; i < changedTiles.size; i++) {
+            int index = changedTiles.get(i);
+            if (marks[index] != removedMark) continue;
+            collectCluster(index, removedMark, clusteredMark);
+            findSplitLabels();
+            for (int j = 0; j < splitLabels.size; j++) {
+                splitComponent(splitLabels.get(j));
+            }
+        }
+
+        // 3. 变成地面的网格并入相邻的最大分量，顺带合并被它连通的其他分量
+        for (int i = 0; i < changedTiles.size; i++) {
+            int index = changedTiles.get(i);
+            if (!graph.isWalkable(index) || labels[index] != NO_COMPONENT) continue;
+            int target = NO_COMPONENT;
+            int count = graph.getNeighbors(index, neighborTargets, neighborCosts);
+            for (int j = 0; j < count; j++) {
+                int label = labels[neighborTargets[j]];
+                if (label != NO_COMPONENT && (target == NO_COMPONENT || sizes.get(label) > sizes.get(target))) {
+                    target = label;
+                }
+            }
+            flood(index, target == NO_COMPONENT ? newLabel() : target);
+        }
+    }
+
+    /**
+     * 收集与 start 八方向相连的新墙壁 (cluster) 及其周围的可走网格 (boundary).
+     */
+    private void collectCluster(int start, int removedMark, int clusteredMark) {
+        cluster.clear();
+        cluster.add(start);
+        marks[start] = clusteredMark;
+        for (int head = 0; head < cluster.size; head++) {
+            int index = cluster.get(head);
+            int x = index % width;
+            int y = index / width;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (!graph.isValidTile(x + dx, y + dy)) continue;
+                    int neighbor = (y + dy) * width + x + dx;
+                    if (marks[neighbor] == removedMark) {
+                        marks[neighbor] = clusteredMark;
+                        cluster.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        boundary.clear();
+        int boundaryMark = nextMark();
+        for (int i = 0; i < cluster.size; i++) {
+            int x = cluster.get(i) % width;
+            int y = cluster.get(i) / width;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (!graph.isWalkable(x + dx, y + dy)) continue;
+                    int neighbor = (y + dy) * width + x + dx;
+                    if (marks[neighbor] != boundaryMark) {
+                        marks[neighbor] = boundaryMark;
+                        boundary.add(neighbor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 只在新墙壁包围盒 (外扩 LOCAL_MARGIN) 内搜索，找出周围原本属于同一分量、但局部已不再连通的分量.
+     * 局部连通时原来经过这些墙壁的路径都可以绕行，分量不会断开；否则可能断开，需要重新填充。
+     */
+    private void findSplitLabels() {
+        splitLabels.clear();
+        if (boundary.size <= 1) return;
+        int minX = width, minY = height, maxX = -1, maxY = -1;
+        for (int i = 0; i < cluster.size; i++) {
+            int x = cluster.get(i) % width;
+            int y = cluster.get(i) / width;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        minX -= LOCAL_MARGIN;
+        minY -= LOCAL_MARGIN;
+        maxX += LOCAL_MARGIN;
+        maxY += LOCAL_MARGIN;
+
+        // 每个局部连通区域使用不同的标记，同一分量的周围网格应落在同一区域
+        labelRegions.clear();
+        boundaryRegions.clear();
+        int firstRegionMark = markId + 1;
+        for (int i = 0; i < boundary.size; i++) {
+            int start = boundary.get(i);
+            int label = labels[start];
+            if (label == NO_COMPONENT) {
+                boundaryRegions.add(0);// 新变成地面的网格，稍后合并
+                continue;
+            }
+            if (marks[start] < firstRegionMark) {
+                fillLocalRegion(start, nextMark(), minX, minY, maxX, maxY);
+            }
+            boundaryRegions.add(marks[start]);
+            int region = labelRegions.get(label, 0);
+            if (region == 0) {
+                labelRegions.put(label, marks[start]);
+            } else if (region != marks[start] && !splitLabels.contains(label)) {
+                splitLabels.add(label);
+            }
+        }
+    }
+
+    /**
+     * 分量可能断开：从该分量的每个局部区域同时 (轮流一步) 向外填充.
+     * 先填充完的是断开的小块，改用新编号；两次填充相遇说明属于同一块，停止被追上的一方；
+     * 只剩一个填充时停止，剩下的一块保留原编号，代价只与断开的小块大小有关，不必遍历最大的一块。
+     */
+    private void splitComponent(int label) {
+        // 1. 每个局部区域取一个种子
+        raceSeeds.clear();
+        raceRegions.clear();
+        for (int i = 0; i < boundary.size; i++) {
+            int seed = boundary.get(i);
+            if (labels[seed] != label || raceRegions.contains(boundaryRegions.get(i))) continue;
+            raceSeeds.add(seed);
+            raceRegions.add(boundaryRegions.get(i));
+        }
+        int raceCount = raceSeeds.size;
+        if (raceCount <= 1) return;
+
+        // 2. 初始化各填充 (标记连续分配，可由标记反查是哪个填充)
+        if (markId > Integer.MAX_VALUE - raceCount) {
+            Arrays.fill(marks, 0);
+            markId = 0;
+        }
+        int firstRaceMark = markId + 1;
+        markId += raceCount;
+        while (raceQueues.size < raceCount) {
+            raceQueues.add(new IntArray());
+        }
+        raceHeads.clear();
+        raceStates.clear();
+        for (int i = 0; i < raceCount; i++) {
+            IntArray raceQueue = raceQueues.get(i);
+            raceQueue.clear();
+            raceQueue.add(raceSeeds.get(i));
+            marks[raceSeeds.get(i)] = firstRaceMark + i;
+            raceHeads.add(0);
+            raceStates.add(RACE_ACTIVE);
+        }
+
+        // 3. 轮流推进，直到只剩一个填充
+        int activeCount = raceCount;
+        while (activeCount > 1) {
+            for (int i = 0; i < raceCount && activeCount > 1; i++) {
+                if (raceStates.get(i) != RACE_ACTIVE) continue;
+                IntArray raceQueue = raceQueues.get(i);
+                int head = raceHeads.get(i);
+                if (head == raceQueue.size) {
+                    // 填充完毕：这是断开的一块
+                    raceStates.set(i, RACE_FINISHED);
+                    activeCount--;
+                    int newLabel = newLabel();
+                    for (int j = 0; j < raceQueue.size; j++) {
+                        setLabel(raceQueue.get(j), newLabel);
+                    }
+                    lastRelabeledTiles += raceQueue.size;
+                    continue;
+                }
+                raceHeads.set(i, head + 1);
+                int raceMark = firstRaceMark + i;
+                int count = graph.getNeighbors(raceQueue.get(head), neighborTargets, neighborCosts);
+                for (int j = 0; j < count; j++) {
+                    int neighbor = neighborTargets[j];
+                    int mark = marks[neighbor];
+                    if (mark == raceMark) continue;
+                    int other = mark - firstRaceMark;
+                    if (other >= 0 && other < raceCount && raceStates.get(other) == RACE_ACTIVE) {
+                        // 与另一个填充相遇，属于同一块，由当前填充继续
+                        raceStates.set(other, RACE_MERGED);
+                        activeCount--;
+                    }
+                    marks[neighbor] = raceMark;
+                    raceQueue.add(neighbor);
+                }
+            }
+        }
+    }
+
+    private void fillLocalRegion(int start, int regionMark, int minX, int minY, int maxX, int maxY) {
+        queue.clear();
+        queue.add(start);
+        marks[start] = regionMark;
+        for (int head = 0; head < queue.size; head++) {
+            int count = graph.getNeighbors(queue.get(head), neighborTargets, neighborCosts);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborTargets[i];
+                int x = neighbor % width;
+                int y = neighbor / width;
+                if (x < minX || x > maxX || y < minY || y > maxY || marks[neighbor] == regionMark) continue;
+                marks[neighbor] = regionMark;
+                queue.add(neighbor);
+            }
+        }
+    }
+
+    /**
+     * 从 seed 出发把所有连通的可走网格标记为 label.
+     */
+    private void flood(int seed, int label) {
+        queue.clear();
+        queue.add(seed);
+        setLabel(seed, label);
+        for (int head = 0; head < queue.size; head++) {
+            int count = graph.getNeighbors(queue.get(head), neighborTargets, neighborCosts);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborTargets[i];
+                if (labels[neighbor] == label) continue;
+                setLabel(neighbor, label);
+                queue.add(neighbor);
+            }
+        }
+        lastRelabeledTiles += queue.size;
+    }
+
+    private void setLabel(int index, int label) {
+        int oldLabel = labels[index];
+        if (oldLabel == label) return;
+        if (oldLabel != NO_COMPONENT) {
+            sizes.incr(oldLabel, -1);
+            if (sizes.get(oldLabel) == 0) componentCount--;
+        }
+        if (label != NO_COMPONENT) {
+            sizes.incr(label, 1);
+            if (sizes.get(label) == 1) componentCount++;
+        }
+        labels[index] = label;
+    }
+
+    private int newLabel() {
+        sizes.add(0);
+        return sizes.size - 1;
+    }
+
+    private int nextMark() {
+        if (markId == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            markId = 0;
+        }
+        return ++markId;
+    }
+
+    /**
+     * 两个网格是否连通 (任一为墙时返回 false).
+     */
+    public boolean isReachable(int fromIndex, int toIndex) {
+        int label = labels[fromIndex];
+        return label != NO_COMPONENT && label == labels[toIndex];
+    }
+
+    /**
+     * 查找与 fromIndex 连通、且离 targetIndex 最近 (欧氏距离) 的网格.
+     * 目标不可达时用作替代目标，例如玩家站在敌人进不去的区域。
+     * @param fromIndex 出发网格
+     * @param targetIndex 原目标网格
+     * @return 替代目标网格索引；目标本身可达时返回 targetIndex，出发网格是墙时返回 -1
+     */
+    public int findClosestReachable(int fromIndex, int targetIndex) {
+        int label = labels[fromIndex];
+        if (label == NO_COMPONENT) return -1;
+        if (labels[targetIndex] == label) return targetIndex;
+
+        // 按切比雪夫距离一圈一圈向外查找，第 r 圈上的网格欧氏距离至少为 r
+        int targetX = targetIndex % width;
+        int targetY = targetIndex / width;
+        int best = fromIndex;
+        int bestDistance2 = Integer.MAX_VALUE;
+        int maxRadius = Math.max(width, height);
+        for (int r = 1; r <= maxRadius && r * r < bestDistance2; r++) {
+            for (int dy = -r; dy <= r; dy++) {
+                int y = targetY + dy;
+                if (y < 0 || y >= height) continue;
+                int step = (dy == -r || dy == r) ? 1 : 2 * r;// 上下两行整行检查，中间只检查左右两端
+                for (int dx = -r; dx <= r; dx += step) {
+                    int x = targetX + dx;
+                    if (x < 0 || x >= width) continue;
+                    int index = y * width + x;
+                    int distance2 = dx * dx + dy * dy;
+                    if (labels[index] == label && distance2 < bestDistance2) {
+                        best = index;
+                        bestDistance2 = distance2;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public int getComponent(int index) { return labels[index]; }
+    public int getComponentSize(int label) { return label == NO_COMPONENT ? 0 : sizes.get(label); }
+    public int getComponentCount() { return componentCount; }
+    public int getLastRelabeledTiles() { return lastRelabeledTiles; }
+}
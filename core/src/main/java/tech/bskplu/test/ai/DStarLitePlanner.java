@@ -0,0 +1,283 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: DStarLitePlanner
+ * @Description: D* Lite 增量寻路：在两次规划之间保留搜索状态，只修复发生变化的部分
+ * 搜索以目标 (玩家) 为根，g 值是到目标的代价；敌人移动通过 km 修正键值，无需重建队列。
+ * 目标换格视为虚拟源点到新旧目标的边代价变化，网格在地面/墙壁之间切换时只更新周围 3x3 的节点。
+ * 启发函数固定为八方向距离 (一致性启发，D* Lite 的正确性依赖于此)。
+ * 设置代理半径后净空不足的网格视为墙，净空跨过阈值的网格与类型变化的网格一样按 3x3 修复。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class DStarLitePlanner implements GraphChangeListener {
+    private static final float INFINITY = Float.POSITIVE_INFINITY;
+
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final float[] g;// 当前估计的到目标代价
+    private final float[] rhs;// 由后继节点推出的一步前瞻代价
+    private final NodeHeap openList;// 不一致节点队列 (k1, k2)
+    private final IntArray changedTiles = new IntArray();// 待处理的网格变化
+    private float km;// 起点移动累计的键值修正
+    private int startIndex = -1;// 当前起点 (敌人)
+    private int lastStartIndex = -1;// 上一次修正 km 时的起点
+    private int goalIndex = -1;// 当前目标 (玩家)，-1 表示尚未初始化
+    private int minClearance;// 代理需要的净空，净空不足的网格视为墙 (不大于 1 时只要求网格可走)
+
+    // 临时变量，避免重复创建 (外层遍历前驱，内层重新计算 rhs 时遍历后继)
+    private final int[] outerTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] outerCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+    private final int[] innerTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] innerCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+
+    public final Metrics metrics = new Metrics();// 统计信息
+
+    /**
+     * 规划统计.
+     */
+    public static class Metrics {
+        public int expandedNodes;// 上一次规划展开的节点数
+        public int fullReplans;// 重新初始化的次数
+        public int incrementalReplans;// 增量修复的次数
+
+        void beginPlan() {
+            expandedNodes = 0;
+        }
+    }
+
+    public DStarLitePlanner(GameTiledGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        int nodeCount = graph.getNodeCount();
+        g = new float[nodeCount];
+        rhs = new float[nodeCount];
+        openList = new NodeHeap(nodeCount);
+    }
+
+    /**
+     * 规划 (或修复) 从起点到目标的路径.
+     * @param startNode 起点 (敌人所在网格)
+     * @param goalNode 目标 (玩家所在网格)
+     * @param outPath 输出路径，每个网格一个节点，包含起点和终点
+     * @return 是否找到路径
+     */
+    public boolean plan(GameTiledNode startNode, GameTiledNode goalNode, GraphPath<GameTiledNode> outPath) {
+        int start = startNode.getIndex();
+        int goal = goalNode.getIndex();
+        if (!graph.fitsAgent(start, minClearance) || !graph.fitsAgent(goal, minClearance)) return false;
+
+        metrics.beginPlan();
+        if (goalIndex < 0) {
+            initialize(start, goal);
+        } else {
+            metrics.incrementalReplans++;
+            if (start != startIndex) {
+                // 起点移动：累加启发值的变化，旧键值仍是下界
+                km += heuristic(lastStartIndex, start);
+                lastStartIndex = start;
+                startIndex = start;
+            }
+            if (goal != goalIndex) {
+                int oldGoal = goalIndex;
+                goalIndex = goal;
+                rhs[goal] = 0f;
+                updateVertex(goal);
+                rhs[oldGoal] = computeRhs(oldGoal);
+                updateVertex(oldGoal);
+            }
+            for (int i = 0; i < changedTiles.size; i++) {
+                updateTileBlock(changedTiles.get(i));
+            }
+        }
+        changedTiles.clear();
+
+        computeShortestPath();
+        return generateNodePath(outPath);
+    }
+
+    /**
+     * 通知网格在地面/墙壁之间切换 (需在导航图连接更新之后调用)，下一次规划时修复.
+     * @param index 网格索引
+     */
+    public void notifyTileChanged(int index) {
+        if (goalIndex >= 0) {
+            changedTiles.add(index);
+        }
+    }
+
+    /**
+     * 导航图变化时记录变化的网格 (注册到 GameTiledGraph 后自动调用)
+     */
+    @Override
+    public void onTilesChanged(GameTiledGraph graph, IntArray tiles) {
+        for (int i = 0; i < tiles.size; i++) {
+            notifyTileChanged(tiles.get(i));
+        }
+        if (minClearance > 1 && goalIndex >= 0) {
+            // 墙壁变化也会让附近网格的净空跨过阈值
+            graph.getClearanceMap().collectFitChanges(minClearance, changedTiles);
+        }
+    }
+
+    /**
+     * 设置代理半径，净空不足的网格视为墙 (会丢弃当前搜索状态)
+     * @param agentRadius 代理半径 (米)，0 表示只要求网格可走
+     */
+    public void setAgentRadius(float agentRadius) {
+        int clearance = graph.getRequiredClearance(agentRadius);
+        if (clearance != minClearance) {
+            minClearance = clearance;
+            reset();
+        }
+    }
+
+    /**
+     * 丢弃全部搜索状态，下一次规划时从头开始 (导航图整体重建后调用)
+     */
+    public void reset() {
+        goalIndex = -1;
+        changedTiles.clear();
+    }
+
+    private void initialize(int start, int goal) {
+        metrics.fullReplans++;
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        openList.clear();
+        km = 0f;
+        startIndex = start;
+        lastStartIndex = start;
+        goalIndex = goal;
+        rhs[goal] = 0f;
+        openList.add(goal, heuristic(start, goal), 0f);
+    }
+
+    /**
+     * 网格 (x, y) 变化会影响以它为端点的边，以及经过它判断能否斜穿的对角边，
+     * 这些边的端点都在周围 3x3 范围内。
+     */
+    private void updateTileBlock(int index) {
+        int x = index % width;
+        int y = index / width;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (graph.isValidTile(x + dx, y + dy)) {
+                    int node = (y + dy) * width + x + dx;
+                    if (node != goalIndex) rhs[node] = computeRhs(node);
+                    updateVertex(node);
+                }
+            }
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!openList.isEmpty()
+            && (compareTopKey(startIndex) < 0 || rhs[startIndex] > g[startIndex])) {
+            int u = openList.peek();
+            float oldK1 = openList.peekPrimaryKey();
+            float oldK2 = openList.peekSecondaryKey();
+            float newK2 = Math.min(g[u], rhs[u]);
+            float newK1 = newK2 + heuristic(startIndex, u) + km;
+            metrics.expandedNodes++;
+
+            if (oldK1 < newK1 || (oldK1 == newK1 && oldK2 < newK2)) {
+                // 键值过期 (起点移动过)，重新排序
+                openList.add(u, newK1, newK2);
+            } else if (g[u] > rhs[u]) {
+                // 过一致：确定 g 值并向前驱传播
+                g[u] = rhs[u];
+                openList.remove(u);
+                int count = graph.getNeighbors(u, minClearance, outerTargets, outerCosts);
+                for (int i = 0; i < count; i++) {
+                    int s = outerTargets[i];
+                    if (s != goalIndex) rhs[s] = Math.min(rhs[s], outerCosts[i] + g[u]);
+                    updateVertex(s);
+                }
+            } else {
+                // 欠一致：g 值失效，重新计算依赖它的前驱
+                float oldG = g[u];
+                g[u] = INFINITY;
+                int count = graph.getNeighbors(u, minClearance, outerTargets, outerCosts);
+                for (int i = 0; i < count; i++) {
+                    int s = outerTargets[i];
+                    if (s != goalIndex && rhs[s] == outerCosts[i] + oldG) rhs[s] = computeRhs(s);
+                    updateVertex(s);
+                }
+                if (u != goalIndex) rhs[u] = computeRhs(u);
+                updateVertex(u);
+            }
+        }
+    }
+
+    /**
+     * 比较队首键值与某节点的键值.
+     * @return 队首较小时为负数
+     */
+    private int compareTopKey(int node) {
+        float k2 = Math.min(g[node], rhs[node]);
+        float k1 = k2 + heuristic(startIndex, node) + km;
+        float topK1 = openList.peekPrimaryKey();
+        if (topK1 != k1) return topK1 < k1 ? -1 : 1;
+        float topK2 = openList.peekSecondaryKey();
+        if (topK2 != k2) return topK2 < k2 ? -1 : 1;
+        return 0;
+    }
+
+    private void updateVertex(int node) {
+        if (g[node] != rhs[node]) {
+            float k2 = Math.min(g[node], rhs[node]);
+            openList.add(node, k2 + heuristic(startIndex, node) + km, k2);
+        } else if (openList.contains(node)) {
+            openList.remove(node);
+        }
+    }
+
+    private float computeRhs(int node) {
+        float best = INFINITY;
+        int count = graph.getNeighbors(node, minClearance, innerTargets, innerCosts);
+        for (int i = 0; i < count; i++) {
+            best = Math.min(best, innerCosts[i] + g[innerTargets[i]]);
+        }
+        return best;
+    }
+
+    private float heuristic(int from, int to) {
+        return GameTiledGraph.octileDistance(from % width, from / width, to % width, to / width);
+    }
+
+    /**
+     * 从起点沿 g 值下降的方向走到目标，写入输出路径.
+     */
+    private boolean generateNodePath(GraphPath<GameTiledNode> outPath) {
+        if (rhs[startIndex] == INFINITY) return false;// 起点可能仍是过一致状态，rhs 已是最短代价
+        int current = startIndex;
+        outPath.add(graph.getNode(current));
+        int remainingSteps = graph.getNodeCount();
+        while (current != goalIndex) {
+            if (--remainingSteps < 0) return false;
+            int best = -1;
+            float bestCost = INFINITY;
+            int count = graph.getNeighbors(current, minClearance, outerTargets, outerCosts);
+            for (int i = 0; i < count; i++) {
+                float cost = outerCosts[i] + g[outerTargets[i]];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = outerTargets[i];
+                }
+            }
+            if (best < 0) return false;
+            current = best;
+            outPath.add(graph.getNode(current));
+        }
+        return true;
+    }
+
+    public int getGoalIndex() { return goalIndex; }
+}
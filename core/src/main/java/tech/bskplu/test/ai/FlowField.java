@@ -0,0 +1,127 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: FlowField
+ * @Description: 流场：从目标网格做一次 Dijkstra，为每个网格记录通往目标的下一格
+ * 所有追击者共用同一个流场，每帧只需 O(1) 查表，不再各自搜索路径。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class FlowField implements GraphChangeListener {
+    private final GameTiledGraph graph;// 导航图
+    private final float[] distances;// 各网格到目标的最短代价
+    private final int[] nextIndices;// 各网格通往目标的下一格索引，-1 表示不可达
+    private final NodeHeap openList;
+    private int targetIndex = -1;// 当前目标网格
+    private boolean dirty = true;// 导航图变化后需要重建
+
+    // 临时变量，避免重复创建
+    private final int[] neighborTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] neighborCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+
+    public FlowField(GameTiledGraph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        distances = new float[nodeCount];
+        nextIndices = new int[nodeCount];
+        openList = new NodeHeap(nodeCount);
+    }
+
+    /**
+     * 更新目标网格，只有目标换格或导航图变化时才重建.
+     * @param targetIndex 目标网格索引
+     * @return 是否进行了重建
+     */
+    public boolean update(int targetIndex) {
+        if (!dirty && targetIndex == this.targetIndex) return false;
+        this.targetIndex = targetIndex;
+        dirty = false;
+        rebuild();
+        return true;
+    }
+
+    /**
+     * 标记流场失效，下一次 update 时重建 (导航图变化后调用)
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * 导航图变化后标记失效 (注册到 GameTiledGraph 后自动调用)
+     */
+    @Override
+    public void onTilesChanged(GameTiledGraph graph, IntArray changedTiles) {
+        invalidate();
+    }
+
+    private void rebuild() {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(nextIndices, -1);
+        openList.clear();
+
+        if (graph.isWalkable(targetIndex)) {
+            distances[targetIndex] = 0f;
+            openList.add(targetIndex, 0f);
+        } else {
+            // 目标站在墙格上 (身体与障碍物重叠)，从周围可走的网格开始
+            int targetX = targetIndex % graph.getWidth();
+            int targetY = targetIndex / graph.getWidth();
+            for (int i = 0; i < GameTiledGraph.MAX_NEIGHBORS; i++) {
+                int x = targetX + GameTiledGraph.NEIGHBOR_DX[i];
+                int y = targetY + GameTiledGraph.NEIGHBOR_DY[i];
+                if (!graph.isWalkable(x, y)) continue;
+                int index = y * graph.getWidth() + x;
+                float cost = (GameTiledGraph.NEIGHBOR_DX[i] != 0 && GameTiledGraph.NEIGHBOR_DY[i] != 0)
+                    ? GameTiledGraph.DIAGONAL_COST : GameTiledGraph.STRAIGHT_COST;
+                distances[index] = cost;
+                nextIndices[index] = targetIndex;
+                openList.add(index, cost);
+            }
+        }
+
+        while (!openList.isEmpty()) {
+            int current = openList.pop();
+            float currentDistance = distances[current];
+            int count = graph.getNeighbors(current, neighborTargets, neighborCosts);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborTargets[i];
+                float distance = currentDistance + neighborCosts[i];
+                if (distance < distances[neighbor]) {
+                    distances[neighbor] = distance;
+                    nextIndices[neighbor] = current;// 连接是双向的，反向即通往目标的方向
+                    openList.add(neighbor, distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取通往目标的下一格.
+     * @param index 当前网格索引
+     * @return 下一格索引，已在目标格或不可达时返回 -1
+     */
+    public int getNext(int index) {
+        return nextIndices[index];
+    }
+
+    /**
+     * 获取到目标的最短代价.
+     * @param index 网格索引
+     * @return 代价，不可达时为正无穷
+     */
+    public float getDistance(int index) {
+        return distances[index];
+    }
+
+    public boolean isReachable(int index) {
+        return distances[index] != Float.POSITIVE_INFINITY;
+    }
+
+    public int getTargetIndex() { return targetIndex; }
+}
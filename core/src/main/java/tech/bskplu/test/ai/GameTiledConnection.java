@@ -0,0 +1,37 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+
+/**
+ * @ClassName: GameTiledConnection
+ * @Description: 导航图中的一条连接(边)，在构建 CSR 邻接表时一次性创建并复用
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public final class GameTiledConnection implements Connection<GameTiledNode> {
+    private final GameTiledNode fromNode;// 起始节点
+    private final GameTiledNode toNode;// 目标节点
+    private final float cost;// 移动代价 (直线 1，对角线 1.414)
+
+    GameTiledConnection(GameTiledNode fromNode, GameTiledNode toNode, float cost) {
+        this.fromNode = fromNode;
+        this.toNode = toNode;
+        this.cost = cost;
+    }
+
+    @Override
+    public float getCost() {
+        return cost;
+    }
+
+    @Override
+    public GameTiledNode getFromNode() {
+        return fromNode;
+    }
+
+    @Override
+    public GameTiledNode getToNode() {
+        return toNode;
+    }
+}
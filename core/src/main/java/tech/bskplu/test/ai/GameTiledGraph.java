@@ -1,14 +1,21 @@
 package tech.bskplu.test.ai;
 
 import com.badlogic.gdx.ai.pfa.Connection;
-import com.badlogic.gdx.ai.pfa.DefaultConnection;
+import com.badlogic.gdx.ai.pfa.GraphPath;
 import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.LongBuffer;
 
 /**
  * @ClassName: GameTiledGraph
@@ -23,83 +30,265 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
     public static final int TILE_GROUND = 0;
     public static final int TILE_WALL = 1;
 
+    // 移动代价
+    public static final float STRAIGHT_COST = 1.0f;
+    public static final float DIAGONAL_COST = 1.414f;
+
+    // 8个方向的偏移量 (上下左右和对角线)，下标 0,2,5,7 为对角线
+    static final int[] NEIGHBOR_DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    static final int[] NEIGHBOR_DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+    public static final int MAX_NEIGHBORS = 8;
+
+    /**
+     * 存储方式
+     */
+    public enum StorageMode {
+        NODES,// 每个网格一个节点对象，连接预先打包为 CSR (默认，适合小地图)
+        BITSET,// 可走性只存放在 long[] 位图中，节点按需创建，邻居现场计算 (大地图)
+        OFF_HEAP// 同 BITSET，但位图位于堆外的直接缓冲区 (超大地图)
+    }
+
     private final int width;// 图的宽度 (网格数)
     private final int height;// 图的高度 (网格数)
     private final float tileSize;// 每个网格的大小 (米)
-
-    private final Array<GameTiledNode> nodes;// 所有节点的列表 (用于索引访问)
+    private final int nodeCount;// 网格总数
+    private final StorageMode storageMode;// 存储方式
+
+    private final LongBuffer walkableBits;// 可走性位图 (1 为地面)，所有模式共用，寻路时只读它
+    private final Array<GameTiledNode> nodes;// 所有节点的列表 (仅 NODES 模式，紧凑模式为 null)
+    private static final int NODE_PAGE_SHIFT = 12;// 紧凑模式下每页 4096 个节点
+    private final GameTiledNode[][] nodePages;// 紧凑模式下按页、按需创建的节点 (同一索引始终返回同一对象)
+
+    // 压缩稀疏行 (CSR) 邻接表：节点 i 的连接位于 [connectionOffsets[i], connectionOffsets[i + 1])
+    private int[] connectionOffsets;// 每个节点连接的起始下标 (长度为节点数 + 1)
+    private int[] connectionTargets;// 每条连接的目标节点索引
+    private float[] connectionCosts;// 每条连接的代价
+    private GameTiledConnection[] connections;// 每条连接对应的 Connection 对象 (A* 会保存引用，必须常驻)
+
+    // 动态障碍物
+    private final Array<Body> obstacles;// 参与栅格化的障碍物 (与 WorldManager 共用同一列表)
+    private final IntArray dirtyRegions = new IntArray();// 待重新栅格化的网格矩形 (每 4 个数为 minX, minY, maxX, maxY)
+    private final Array<GraphChangeListener> changeListeners = new Array<>();// 变化监听器
+    private int version;// 网格类型每次变化后递增，供缓存和规划器判断是否失效
+    private ConnectedComponents components;// 连通分量标记 (第一次查询时创建，之后随网格变化增量更新)
+    private ClearanceMap clearanceMap;// 净空图 (第一次查询时创建，之后随网格变化增量更新)
 
     // 临时变量，避免重复创建
-    private final Array<Connection<GameTiledNode>> connectionsTemp = new Array<>();
-    public static final Vector2 tmpVec = new Vector2();// 用于计算AABB
+    private final Array<Connection<GameTiledNode>> connectionsTemp = new Array<>(MAX_NEIGHBORS);
+    private final IntArray changedTiles = new IntArray();
+    private final IntArray oldTypes = new IntArray();
+    private final Rectangle obstacleRect = new Rectangle();
+    private boolean[] affectedNodes;// 局部重建时标记需要重新计算连接的节点
+    private static final Vector2 boundsVec = new Vector2();// 用于计算包围盒
 
     /**
-     * 创建导航图.
+     * 创建导航图 (NODES 模式).
      * @param worldWidth 世界宽度 (米)
      * @param worldHeight 世界高度 (米)
      * @param tileSize 每个网格的大小 (米)
      * @param obstacles 网格物列表 (Box2D Bodies)
      */
     public GameTiledGraph(float worldWidth, float worldHeight, float tileSize, Array<Body> obstacles) {
+        this(worldWidth, worldHeight, tileSize, obstacles, StorageMode.NODES);
+    }
+
+    /**
+     * 创建导航图.
+     * 紧凑模式 (BITSET / OFF_HEAP) 每个网格只占 1 位：节点对象在第一次 getNode 时才创建，
+     * 不保存连接，getConnections 现场创建连接对象；新的寻路算法应只使用 isWalkable / getNeighbors 等索引接口。
+     * @param worldWidth 世界宽度 (米)
+     * @param worldHeight 世界高度 (米)
+     * @param tileSize 每个网格的大小 (米)
+     * @param obstacles 网格物列表 (Box2D Bodies)
+     * @param storageMode 存储方式
+     */
+    public GameTiledGraph(float worldWidth, float worldHeight, float tileSize, Array<Body> obstacles, StorageMode storageMode) {
         this.width = (int) (worldWidth / tileSize);
         this.height = (int) (worldHeight / tileSize);
         this.tileSize = tileSize;
-        this.nodes = new Array<>(width * height);
-
-        // 1. 创建所有节点，初始为地面
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                nodes.add(new GameTiledNode(x, y, TILE_GROUND, width * height));
+        this.nodeCount = width * height;
+        this.storageMode = storageMode;
+
+        // 1. 所有网格初始为地面
+        int wordCount = (nodeCount + 63) >>> 6;
+        walkableBits = storageMode == StorageMode.OFF_HEAP
+            ? BufferUtils.newLongBuffer(wordCount)
+            : LongBuffer.wrap(new long[wordCount]);
+        for (int i = 0; i < wordCount; i++) {
+            walkableBits.put(i, -1L);
+        }
+        if (storageMode == StorageMode.NODES) {
+            nodes = new Array<>(nodeCount);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    nodes.add(new GameTiledNode(x, y, TILE_GROUND, y * width + x));
+                }
             }
+        } else {
+            nodes = null;
         }
+        nodePages = nodes == null ? new GameTiledNode[((nodeCount - 1) >>> NODE_PAGE_SHIFT) + 1][] : null;
 
         // 2. 标记网格物覆盖的节点为墙壁
-        markObstacles(obstacles);
+        this.obstacles = obstacles;
+        rasterize(0, 0, width - 1, height - 1, null);
 
-        // 3. (可选) 建立节点间的连接 (A*会动态查询邻居) 放弃
-        // 如果需要，可以在这里预计算连接，但 IndexedAStarPathFinder 会调用 getConnections
+        // 3. 预计算节点间的连接，getConnections 之后只读取打包好的数组
+        buildConnections();
     }
 
-    private void markObstacles(Array<Body> obstacles) {
-        Rectangle obstacleRect = new Rectangle();// 用于存储网格物的包围盒
+    /**
+     * 复制地面/墙壁布局 (BITSET 模式，不含障碍物).
+     */
+    private GameTiledGraph(GameTiledGraph source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.tileSize = source.tileSize;
+        this.nodeCount = source.nodeCount;
+        this.storageMode = StorageMode.BITSET;
+        long[] words = new long[source.walkableBits.capacity()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = source.walkableBits.get(i);
+        }
+        this.walkableBits = LongBuffer.wrap(words);
+        this.nodes = null;
+        this.nodePages = new GameTiledNode[((nodeCount - 1) >>> NODE_PAGE_SHIFT) + 1][];
+        this.obstacles = new Array<>();
+        this.version = source.version;
+    }
+
+    /**
+     * 复制当前布局为一张独立的紧凑导航图 (版本号相同，之后各自变化互不影响).
+     * 后台线程需要遍历整张地图时 (如预计算地标距离)，先在渲染线程中复制一份再交给它。
+     * @return 布局副本
+     */
+    public GameTiledGraph createSnapshot() {
+        return new GameTiledGraph(this);
+    }
+
+    /**
+     * 计算物体所有 Fixture 在世界坐标系中的包围盒 (支持旋转后的多边形和圆形).
+     * @param body 物体
+     * @param out 输出包围盒
+     * @return 物体是否含有可计算的 Fixture
+     */
+    public static boolean getBodyBounds(Body body, Rectangle out) {
+        Transform transform = body.getTransform();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (Fixture fixture : body.getFixtureList()) {
+            Shape shape = fixture.getShape();
+            if (shape instanceof PolygonShape) {
+                PolygonShape polygon = (PolygonShape) shape;
+                for (int i = 0, count = polygon.getVertexCount(); i < count; i++) {
+                    polygon.getVertex(i, boundsVec);
+                    transform.mul(boundsVec);
+                    minX = Math.min(minX, boundsVec.x);
+                    minY = Math.min(minY, boundsVec.y);
+                    maxX = Math.max(maxX, boundsVec.x);
+                    maxY = Math.max(maxY, boundsVec.y);
+                }
+            } else if (shape instanceof CircleShape) {
+                float radius = shape.getRadius();
+                transform.mul(boundsVec.set(((CircleShape) shape).getPosition()));
+                minX = Math.min(minX, boundsVec.x - radius);
+                minY = Math.min(minY, boundsVec.y - radius);
+                maxX = Math.max(maxX, boundsVec.x + radius);
+                maxY = Math.max(maxY, boundsVec.y + radius);
+            }
+            // 链形/边形不围成实体区域，不标记为墙壁
+        }
+        if (minX > maxX) return false;
+        out.set(minX, minY, maxX - minX, maxY - minY);
+        return true;
+    }
+
+    /**
+     * 标记一个世界区域需要重新栅格化，下一次 {@link #applyDirtyRegions()} 时处理.
+     * 障碍物创建、销毁或移动时，对其新旧包围盒各调用一次。
+     * @param worldBounds 世界坐标区域 (米)
+     */
+    public void markDirty(Rectangle worldBounds) {
+        dirtyRegions.add(worldToTileX(worldBounds.x), worldToTileY(worldBounds.y),
+            worldToTileX(worldBounds.x + worldBounds.width), worldToTileY(worldBounds.y + worldBounds.height));
+    }
+
+    /**
+     * 是否有等待重新栅格化的脏区域.
+     */
+    public boolean hasDirtyRegions() {
+        return dirtyRegions.size > 0;
+    }
+
+    /**
+     * 重新栅格化所有脏区域，只重建受影响节点的连接.
+     * 有网格类型变化时递增版本号并通知监听器。
+     * 网格、连接及其派生数据都是原地修改的，调用期间不能有其他线程在这张图上搜索
+     * (AIManager 先等待工作线程中的搜索结束再调用)。
+     * @return 是否有网格类型发生变化
+     */
+    public boolean applyDirtyRegions() {
+        if (dirtyRegions.size == 0) return false;
+        changedTiles.clear();
+        for (int i = 0; i < dirtyRegions.size; i += 4) {
+            rasterize(dirtyRegions.get(i), dirtyRegions.get(i + 1), dirtyRegions.get(i + 2), dirtyRegions.get(i + 3), changedTiles);
+        }
+        dirtyRegions.clear();
+        if (changedTiles.size == 0) return false;
+
+        if (nodes != null) {
+            rebuildConnections(changedTiles);
+        }
+        if (components != null) {
+            components.update(changedTiles);
+        }
+        if (clearanceMap != null) {
+            clearanceMap.update(changedTiles);
+        }
+        version++;
+        for (GraphChangeListener listener : changeListeners) {
+            listener.onTilesChanged(this, changedTiles);
+        }
+        return true;
+    }
+
+    /**
+     * 按当前障碍物重新计算一个网格矩形内的地面/墙壁.
+     * @param changed 输出：类型发生变化的网格索引 (为 null 时不记录)
+     */
+    private void rasterize(int minTileX, int minTileY, int maxTileX, int maxTileY, IntArray changed) {
+        // 1. 记录旧类型并清空为地面
+        int regionWidth = maxTileX - minTileX + 1;
+        oldTypes.clear();
+        for (int y = minTileY; y <= maxTileY; y++) {
+            for (int x = minTileX; x <= maxTileX; x++) {
+                int index = y * width + x;
+                if (changed != null) oldTypes.add(getTileType(index));
+                setTileType(index, TILE_GROUND);
+            }
+        }
+
+        // 2. 与区域相交的障碍物覆盖的网格标记为墙壁
         for (Body obstacleBody : obstacles) {
-            if (obstacleBody.getFixtureList().isEmpty()) continue;
-
-            Fixture fixture = obstacleBody.getFixtureList().get(0);// 假设只有一个Fixture
-            if (!(fixture.getShape() instanceof PolygonShape)) continue;// 只处理矩形网格物
-
-            PolygonShape shape = (PolygonShape) fixture.getShape();
-            // 获取网格物在世界坐标系中的AABB (近似)
-            // Box2D的setAsBox用的是半宽半高，需要计算实际顶点
-            Vector2 vertex0 = new Vector2();
-            Vector2 vertex1 = new Vector2();
-            shape.getVertex(0, vertex0);// 左下角相对中心
-            shape.getVertex(2, vertex1);// 右上角相对中心
-
-            // 转换到世界坐标
-            Vector2 worldPos = obstacleBody.getPosition();
-            float minX = worldPos.x + vertex0.x;
-            float minY = worldPos.y + vertex0.y;
-            float maxX = worldPos.x + vertex1.x;
-            float maxY = worldPos.y + vertex1.y;
-
-            obstacleRect.set(minX, minY, maxX - minX, maxY - minY);
-
-            // 找出被这个矩形覆盖的网格范围
-            int startX = worldToTileX(minX);
-            int endX = worldToTileX(maxX);
-            int startY = worldToTileY(minY);
-            int endY = worldToTileY(maxY);
-
-            // 将范围内的网格标记为墙壁
+            if (!getBodyBounds(obstacleBody, obstacleRect)) continue;
+            int startX = Math.max(minTileX, worldToTileX(obstacleRect.x));
+            int endX = Math.min(maxTileX, worldToTileX(obstacleRect.x + obstacleRect.width));
+            int startY = Math.max(minTileY, worldToTileY(obstacleRect.y));
+            int endY = Math.min(maxTileY, worldToTileY(obstacleRect.y + obstacleRect.height));
             for (int y = startY; y <= endY; y++) {
                 for (int x = startX; x <= endX; x++) {
-                    if (isValidTile(x, y)) {
-                        GameTiledNode node = getNode(x, y);
-                        if (node != null) {
-                            node.type = TILE_WALL;
-                        }
-                    }
+                    setTileType(y * width + x, TILE_WALL);
+                }
+            }
+        }
+
+        // 3. 收集变化的网格
+        if (changed == null) return;
+        for (int y = minTileY; y <= maxTileY; y++) {
+            for (int x = minTileX; x <= maxTileX; x++) {
+                int index = y * width + x;
+                if (getTileType(index) != oldTypes.get((y - minTileY) * regionWidth + x - minTileX)) {
+                    changed.add(index);
                 }
             }
         }
@@ -115,7 +304,7 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
         if (!isValidTile(x, y)) {
             return null;
         }
-        return nodes.get(y * width + x);
+        return getNode(y * width + x);
     }
 
     /**
@@ -125,9 +314,29 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
      */
 
     public GameTiledNode getNode(int index) {
+        if (nodes == null) {
+            GameTiledNode[] page = nodePages[index >>> NODE_PAGE_SHIFT];
+            GameTiledNode node = page == null ? null : page[index & ((1 << NODE_PAGE_SHIFT) - 1)];
+            return node != null ? node : createNode(index);
+        }
         return nodes.get(index);
     }
 
+    /**
+     * 紧凑模式下创建节点 (A* 按引用比较节点，同一索引只能有一个对象，工作线程可能同时请求)
+     */
+    private synchronized GameTiledNode createNode(int index) {
+        GameTiledNode[] page = nodePages[index >>> NODE_PAGE_SHIFT];
+        if (page == null) {
+            page = nodePages[index >>> NODE_PAGE_SHIFT] = new GameTiledNode[1 << NODE_PAGE_SHIFT];
+        }
+        int slot = index & ((1 << NODE_PAGE_SHIFT) - 1);
+        if (page[slot] == null) {
+            page[slot] = new GameTiledNode(index % width, index / width, getTileType(index), index);
+        }
+        return page[slot];
+    }
+
     @Override
     public int getIndex(GameTiledNode node) {
         return node.getIndex();
@@ -135,47 +344,343 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
 
     @Override
     public int getNodeCount() {
-        return nodes.size;
+        return nodeCount;
     }
 
     /**
      * 获取一个节点的所有可达邻居连接.
+     * 返回的列表在下一次调用时会被覆盖，其中的连接对象在图重建前保持不变。
      * @param fromNode 起始节点
      * @return 连接列表
      */
     @Override
     public Array<Connection<GameTiledNode>> getConnections(GameTiledNode fromNode) {
-        connectionsTemp.clear();
-        int x = fromNode.x;
-        int y = fromNode.y;
-
-        // 定义8个方向的偏移量 (上下左右和对角线)
-        int[] dx = {-1, 0, 1, -1, 1, -1, 0, 1};
-        int[] dy = {-1, -1, -1, 0, 0, 1, 1, 1};
-
-        for (int i = 0; i < 8; i++) {
-            int neighborX = x + dx[i];
-            int neighborY = y + dy[i];
-
-            // 检查邻居是否有效且不是墙壁
-            if (isValidTile(neighborX, neighborY)) {
-                GameTiledNode neighborNode = getNode(neighborX, neighborY);
-                if (neighborNode != null && neighborNode.type == TILE_GROUND) {
-                    // 检查对角线移动是否穿墙 (可选但推荐)
-                    if (i < 3 || i > 4) { // 如果是对角线移动 (i=0,1,2,5,6,7)
-                        GameTiledNode node1 = getNode(x, neighborY);
-                        GameTiledNode node2 = getNode(neighborX, y);
-                        if ((node1 != null && node1.type == TILE_WALL) || (node2 != null && node2.type == TILE_WALL)) {
-                            continue; // 穿墙了，不允许对角线移动
-                        }
-                    }
-                    // 添加连接 (对角线距离为 sqrt(2) ~= 1.414, 直线距离为 1)
-                    float cost = (dx[i] != 0 && dy[i] != 0) ? 1.414f : 1.0f;
-                    connectionsTemp.add(new DefaultConnection<>(fromNode, neighborNode));
+        return getConnections(fromNode.getIndex(), connectionsTemp);
+    }
+
+    /**
+     * 将一个节点的连接填入给定列表 (各线程使用自己的列表即可并发读取).
+     * @param index 节点索引
+     * @param out 输出列表，会先被清空
+     * @return 输出列表
+     */
+    Array<Connection<GameTiledNode>> getConnections(int index, Array<Connection<GameTiledNode>> out) {
+        out.clear();
+        if (nodes == null) {
+            // 紧凑模式：现场计算并创建连接对象 (A* 会保存引用，不能复用)
+            if (!isWalkable(index)) return out;
+            GameTiledNode fromNode = getNode(index);
+            for (int i = 0; i < MAX_NEIGHBORS; i++) {
+                float cost = getMoveCost(index % width, index / width, i);
+                if (cost > 0f) {
+                    int target = index + NEIGHBOR_DY[i] * width + NEIGHBOR_DX[i];
+                    out.add(new GameTiledConnection(fromNode, getNode(target), cost));
+                }
+            }
+            return out;
+        }
+        for (int i = connectionOffsets[index], end = connectionOffsets[index + 1]; i < end; i++) {
+            out.add(connections[i]);
+        }
+        return out;
+    }
+
+    /**
+     * 将所有节点的连接一次性打包为 CSR 数组 (紧凑模式不保存连接)，并重新计算连通分量和净空.
+     * 直接修改 node.type 或调用 setWalkable 后需要重新调用。
+     */
+    public void buildConnections() {
+        if (nodes != null) {
+            packConnections();
+        }
+        if (components != null) {
+            components.rebuild();
+        }
+        if (clearanceMap != null) {
+            clearanceMap.rebuild();
+        }
+    }
+
+    private void packConnections() {
+        // 同步外部直接修改的 node.type
+        for (int index = 0; index < nodeCount; index++) {
+            setTileType(index, nodes.get(index).type);
+        }
+        int[] offsets = new int[nodeCount + 1];
+        int[] targets = new int[nodeCount * MAX_NEIGHBORS];
+        float[] costs = new float[nodeCount * MAX_NEIGHBORS];
+        int edgeCount = 0;
+
+        for (int index = 0; index < nodeCount; index++) {
+            offsets[index] = edgeCount;
+            edgeCount += computeNeighbors(index, targets, costs, edgeCount);
+        }
+        offsets[nodeCount] = edgeCount;
+
+        connectionOffsets = offsets;
+        connectionTargets = new int[edgeCount];
+        connectionCosts = new float[edgeCount];
+        System.arraycopy(targets, 0, connectionTargets, 0, edgeCount);
+        System.arraycopy(costs, 0, connectionCosts, 0, edgeCount);
+
+        connections = new GameTiledConnection[edgeCount];
+        for (int index = 0; index < nodeCount; index++) {
+            GameTiledNode fromNode = nodes.get(index);
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                connections[i] = new GameTiledConnection(fromNode, nodes.get(connectionTargets[i]), connectionCosts[i]);
+            }
+        }
+    }
+
+    /**
+     * 只重新计算类型变化的网格及其 8 邻居的连接，其余节点的连接直接复制.
+     * 对角连接是否可走取决于两侧网格，所以影响范围是变化网格周围的 3x3。
+     * @param changed 类型发生变化的网格索引
+     */
+    private void rebuildConnections(IntArray changed) {
+        if (affectedNodes == null) {
+            affectedNodes = new boolean[nodeCount];
+        }
+        for (int i = 0; i < changed.size; i++) {
+            int x = changed.get(i) % width;
+            int y = changed.get(i) / width;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (isValidTile(x + dx, y + dy)) affectedNodes[(y + dy) * width + x + dx] = true;
+                }
+            }
+        }
+
+        // 1. 计算新的偏移量
+        int[] scratchTargets = new int[MAX_NEIGHBORS];
+        float[] scratchCosts = new float[MAX_NEIGHBORS];
+        int[] offsets = new int[nodeCount + 1];
+        int edgeCount = 0;
+        for (int index = 0; index < nodeCount; index++) {
+            offsets[index] = edgeCount;
+            edgeCount += affectedNodes[index]
+                ? computeNeighbors(index, scratchTargets, scratchCosts, 0)
+                : connectionOffsets[index + 1] - connectionOffsets[index];
+        }
+        offsets[nodeCount] = edgeCount;
+
+        // 2. 填充连接：受影响的节点重新计算，其余复制旧数据 (连接对象保持不变)
+        int[] targets = new int[edgeCount];
+        float[] costs = new float[edgeCount];
+        GameTiledConnection[] newConnections = new GameTiledConnection[edgeCount];
+        for (int index = 0; index < nodeCount; index++) {
+            int offset = offsets[index];
+            if (affectedNodes[index]) {
+                int count = computeNeighbors(index, targets, costs, offset);
+                GameTiledNode fromNode = nodes.get(index);
+                for (int i = offset; i < offset + count; i++) {
+                    newConnections[i] = new GameTiledConnection(fromNode, nodes.get(targets[i]), costs[i]);
                 }
+                affectedNodes[index] = false;
+            } else {
+                int oldOffset = connectionOffsets[index];
+                int count = connectionOffsets[index + 1] - oldOffset;
+                System.arraycopy(connectionTargets, oldOffset, targets, offset, count);
+                System.arraycopy(connectionCosts, oldOffset, costs, offset, count);
+                System.arraycopy(connections, oldOffset, newConnections, offset, count);
             }
         }
-        return connectionsTemp;
+
+        connectionOffsets = offsets;
+        connectionTargets = targets;
+        connectionCosts = costs;
+        connections = newConnections;
+    }
+
+    /**
+     * 计算一个节点的可达邻居，写入给定数组.
+     * @param index 节点索引
+     * @param outTargets 输出：邻居节点索引
+     * @param outCosts 输出：对应的移动代价
+     * @param offset 写入的起始位置
+     * @return 邻居数量
+     */
+    private int computeNeighbors(int index, int[] outTargets, float[] outCosts, int offset) {
+        if (!isWalkable(index)) return 0;
+        int x = index % width;
+        int y = index / width;
+        int count = 0;
+
+        for (int i = 0; i < MAX_NEIGHBORS; i++) {
+            float cost = getMoveCost(x, y, i);
+            if (cost == 0f) continue;
+            outTargets[offset + count] = (y + NEIGHBOR_DY[i]) * width + x + NEIGHBOR_DX[i];
+            outCosts[offset + count] = cost;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 从可走网格 (x, y) 沿第 direction 个方向走一步的代价.
+     * @return 代价，不可走时返回 0
+     */
+    private float getMoveCost(int x, int y, int direction) {
+        int neighborX = x + NEIGHBOR_DX[direction];
+        int neighborY = y + NEIGHBOR_DY[direction];
+
+        // 检查邻居是否有效且不是墙壁
+        if (!isWalkable(neighborX, neighborY)) return 0f;
+
+        boolean diagonal = NEIGHBOR_DX[direction] != 0 && NEIGHBOR_DY[direction] != 0;
+        // 检查对角线移动是否穿墙
+        if (diagonal && (!isWalkable(x, neighborY) || !isWalkable(neighborX, y))) {
+            return 0f;
+        }
+        return diagonal ? DIAGONAL_COST : STRAIGHT_COST;
+    }
+
+    /**
+     * 读取一个节点的邻居 (不创建任何对象，可在多线程中使用各自的输出数组).
+     * @param index 节点索引
+     * @param outTargets 输出：邻居节点索引，长度至少为 {@link #MAX_NEIGHBORS}
+     * @param outCosts 输出：对应的移动代价，长度至少为 {@link #MAX_NEIGHBORS}
+     * @return 邻居数量
+     */
+    public int getNeighbors(int index, int[] outTargets, float[] outCosts) {
+        if (nodes == null) {
+            return computeNeighbors(index, outTargets, outCosts, 0);
+        }
+        int start = connectionOffsets[index];
+        int count = connectionOffsets[index + 1] - start;
+        System.arraycopy(connectionTargets, start, outTargets, 0, count);
+        System.arraycopy(connectionCosts, start, outCosts, 0, count);
+        return count;
+    }
+
+    /**
+     * 查找两个相邻节点之间的连接.
+     * @return 连接，不相邻或不可达时返回 null
+     */
+    public GameTiledConnection getConnection(int fromIndex, int toIndex) {
+        if (nodes == null) {
+            if (!isWalkable(fromIndex)) return null;
+            int x = fromIndex % width;
+            int y = fromIndex / width;
+            for (int i = 0; i < MAX_NEIGHBORS; i++) {
+                if ((y + NEIGHBOR_DY[i]) * width + x + NEIGHBOR_DX[i] != toIndex || !isValidTile(x + NEIGHBOR_DX[i], y + NEIGHBOR_DY[i])) continue;
+                float cost = getMoveCost(x, y, i);
+                return cost > 0f ? new GameTiledConnection(getNode(fromIndex), getNode(toIndex), cost) : null;
+            }
+            return null;
+        }
+        for (int i = connectionOffsets[fromIndex], end = connectionOffsets[fromIndex + 1]; i < end; i++) {
+            if (connectionTargets[i] == toIndex) return connections[i];
+        }
+        return null;
+    }
+
+    /**
+     * 获取连通分量标记 (第一次调用时对整张图标记一次).
+     * @return 连通分量
+     */
+    public ConnectedComponents getComponents() {
+        if (components == null) {
+            components = new ConnectedComponents(this);
+        }
+        return components;
+    }
+
+    /**
+     * 两个网格是否连通，不连通的请求无需搜索即可判定失败.
+     * @param fromIndex 起点网格索引
+     * @param toIndex 终点网格索引
+     * @return 是否可达
+     */
+    public boolean isReachable(int fromIndex, int toIndex) {
+        return getComponents().isReachable(fromIndex, toIndex);
+    }
+
+    /**
+     * 获取净空图 (第一次调用时对整张图计算一次).
+     * @return 净空图
+     */
+    public ClearanceMap getClearanceMap() {
+        if (clearanceMap == null) {
+            clearanceMap = new ClearanceMap(this);
+        }
+        return clearanceMap;
+    }
+
+    /**
+     * 半径为 agentRadius 的圆形代理需要的净空.
+     * 净空为 c 时网格内任意一点离最近的墙至少 (c - 1) 个网格，所以代理沿直线穿过这些网格时也不会碰墙。
+     * @param agentRadius 代理半径 (米)，不大于 0 时只要求网格可走
+     * @return 需要的净空 (网格)
+     */
+    public int getRequiredClearance(float agentRadius) {
+        if (agentRadius <= 0f) return 0;
+        return Math.min(ClearanceMap.MAX_CLEARANCE, (int) Math.ceil(agentRadius / tileSize - 0.001f) + 1);
+    }
+
+    /**
+     * 网格能否容纳需要 minClearance 净空的代理 (minClearance 不大于 1 时等同于 isWalkable，不会创建净空图).
+     */
+    public boolean fitsAgent(int index, int minClearance) {
+        if (minClearance <= 1) return isWalkable(index);
+        return getClearanceMap().fits(index, minClearance);
+    }
+
+    /**
+     * 读取一个节点可供指定体型代理通行的邻居：自身或邻居净空不足时视为不连通，
+     * 斜向移动还要求两侧网格都能容纳代理 (与 JumpPointPathFinder 的规则一致).
+     * @param minClearance 需要的净空，不大于 1 时与 {@link #getNeighbors(int, int[], float[])} 相同
+     * @return 邻居数量
+     */
+    public int getNeighbors(int index, int minClearance, int[] outTargets, float[] outCosts) {
+        if (minClearance <= 1) return getNeighbors(index, outTargets, outCosts);
+        if (!getClearanceMap().fits(index, minClearance)) return 0;
+        int count = getNeighbors(index, outTargets, outCosts);
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (fitsMove(index, outTargets[i], minClearance)) {
+                outTargets[kept] = outTargets[i];
+                outCosts[kept] = outCosts[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * 已能容纳代理的网格 from 能否一步移动到相邻网格 to (斜向时两侧网格也要能容纳).
+     */
+    boolean fitsMove(int from, int to, int minClearance) {
+        ClearanceMap clearance = getClearanceMap();
+        if (!clearance.fits(to, minClearance)) return false;
+        int fromX = from % width;
+        int toX = to % width;
+        if (fromX == toX || from / width == to / width) return true;
+        return clearance.fits(from - fromX + toX, minClearance) && clearance.fits(to - toX + fromX, minClearance);
+    }
+
+    /**
+     * 计算一条节点路径的总代价.
+     * @param path 节点路径 (相邻节点之间必须是一步可达)
+     * @return 总代价
+     */
+    public float getPathCost(GraphPath<GameTiledNode> path) {
+        float cost = 0f;
+        for (int i = 1; i < path.getCount(); i++) {
+            GameTiledNode from = path.get(i - 1);
+            GameTiledNode to = path.get(i);
+            cost += (from.x != to.x && from.y != to.y) ? DIAGONAL_COST : STRAIGHT_COST;
+        }
+        return cost;
+    }
+
+    /**
+     * 八方向网格上两点之间无障碍时的最短距离 (可采纳的启发值).
+     */
+    public static float octileDistance(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        return STRAIGHT_COST * Math.abs(dx - dy) + DIAGONAL_COST * Math.min(dx, dy);
     }
 
     // --- 坐标转换和工具方法 ---
@@ -184,6 +689,41 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
 
+    public boolean isWalkable(int x, int y) {
+        return isValidTile(x, y) && isWalkable(y * width + x);
+    }
+
+    public boolean isWalkable(int index) {
+        return (walkableBits.get(index >>> 6) & (1L << (index & 63))) != 0;
+    }
+
+    public int getTileType(int index) {
+        return isWalkable(index) ? TILE_GROUND : TILE_WALL;
+    }
+
+    /**
+     * 直接设置网格为地面或墙壁 (从关卡数据加载时使用，不经过 Box2D).
+     * 全部设置完成后需调用 {@link #buildConnections()}。
+     */
+    public void setWalkable(int x, int y, boolean walkable) {
+        setTileType(y * width + x, walkable ? TILE_GROUND : TILE_WALL);
+    }
+
+    private void setTileType(int index, int type) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+        long bits = walkableBits.get(word);
+        walkableBits.put(word, type == TILE_GROUND ? bits | mask : bits & ~mask);
+        if (nodes != null) {
+            nodes.get(index).type = type;
+        } else {
+            GameTiledNode[] page = nodePages[index >>> NODE_PAGE_SHIFT];
+            if (page != null && page[index & ((1 << NODE_PAGE_SHIFT) - 1)] != null) {
+                page[index & ((1 << NODE_PAGE_SHIFT) - 1)].type = type;
+            }
+        }
+    }
+
     public int worldToTileX(float worldX) {
         return Math.max(0, Math.min(width - 1, (int) (worldX / tileSize)));
     }
@@ -206,8 +746,23 @@ public class GameTiledGraph implements IndexedGraph<GameTiledNode> {
         return out;
     }
 
+    public void addChangeListener(GraphChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(GraphChangeListener listener) {
+        changeListeners.removeValue(listener, true);
+    }
+
+    public int getVersion() { return version; }
     public int getWidth() { return width; }
     public int getHeight() { return height; }
     public float getTileSize() { return tileSize; }
+    public StorageMode getStorageMode() { return storageMode; }
+
+    /**
+     * 获取所有节点 (仅 NODES 模式).
+     * @return 节点列表，紧凑模式下为 null
+     */
     public Array<GameTiledNode> getNodes() { return nodes; }
 }
@@ -0,0 +1,65 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * @ClassName: GameTiledGraphView
+ * @Description: 导航图的只读视图，拥有独立的连接列表
+ * GameTiledGraph 的 getConnections 复用同一个列表，不能被多个线程同时调用；
+ * 每个工作线程各持有一个视图即可并发寻路 (前提是搜索期间不修改导航图)。
+ * 指定代理半径时，净空不足的网格没有任何连接，gdx-ai 的 A* 会自动绕开窄处。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class GameTiledGraphView implements IndexedGraph<GameTiledNode> {
+    private final GameTiledGraph graph;// 被包装的导航图
+    private final int minClearance;// 代理需要的净空 (不大于 1 时只要求网格可走)
+    private final Array<Connection<GameTiledNode>> connectionsTemp = new Array<>(GameTiledGraph.MAX_NEIGHBORS);
+
+    public GameTiledGraphView(GameTiledGraph graph) {
+        this(graph, 0f);
+    }
+
+    /**
+     * @param graph 导航图
+     * @param agentRadius 代理半径 (米)
+     */
+    public GameTiledGraphView(GameTiledGraph graph, float agentRadius) {
+        this.graph = graph;
+        this.minClearance = graph.getRequiredClearance(agentRadius);
+        if (minClearance > 1) {
+            graph.getClearanceMap();// 在渲染线程中创建，工作线程只读取
+        }
+    }
+
+    @Override
+    public int getIndex(GameTiledNode node) {
+        return node.getIndex();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return graph.getNodeCount();
+    }
+
+    @Override
+    public Array<Connection<GameTiledNode>> getConnections(GameTiledNode fromNode) {
+        graph.getConnections(fromNode.getIndex(), connectionsTemp);
+        if (minClearance > 1) {
+            if (!graph.fitsAgent(fromNode.getIndex(), minClearance)) {
+                connectionsTemp.clear();
+            }
+            for (int i = connectionsTemp.size - 1; i >= 0; i--) {
+                if (!graph.fitsMove(fromNode.getIndex(), connectionsTemp.get(i).getToNode().getIndex(), minClearance)) {
+                    connectionsTemp.removeIndex(i);
+                }
+            }
+        }
+        return connectionsTemp;
+    }
+
+    public GameTiledGraph getGraph() { return graph; }
+}
@@ -13,8 +13,8 @@ public class GameTiledHeuristic implements Heuristic<GameTiledNode> {
 
     @Override
     public float estimate(GameTiledNode node, GameTiledNode endNode) {
-        // 使用曼哈顿距离作为启发式估计
-        return Math.abs(node.x - endNode.x) + Math.abs(node.y - endNode.y);
+        // 八方向距离：曼哈顿距离在允许斜向移动时会高估代价，A* 可能返回非最短路径
+        return GameTiledGraph.octileDistance(node.x, node.y, endNode.x, endNode.y);
 
     }
 }
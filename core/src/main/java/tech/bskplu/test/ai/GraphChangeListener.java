@@ -0,0 +1,19 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * @ClassName: GraphChangeListener
+ * @Description: 导航图变化监听：网格在地面/墙壁之间切换后回调 (此时连接已更新)
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public interface GraphChangeListener {
+    /**
+     * 网格类型发生变化
+     * @param graph 导航图 (graph.getVersion() 已递增)
+     * @param changedTiles 类型发生变化的网格索引，仅在回调期间有效
+     */
+    void onTilesChanged(GameTiledGraph graph, IntArray changedTiles);
+}
@@ -0,0 +1,332 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: HierarchicalGraph
+ * @Description: 分层寻路 (HPA*) 的抽象图：把网格划分为固定大小的簇，
+ * 相邻两簇交界处每段连续的通道设一到两个入口 (抽象节点)，并预先计算同一簇内各入口之间的代价。
+ * 网格变化时只重建受影响簇的边界入口和簇内代价。
+ * 抽象图只在渲染线程中随 {@link GameTiledGraph#applyDirtyRegions()} 修改，AIManager 在写锁下调用，
+ * 此时没有工作线程在搜索；搜索由各自持有临时数组的 {@link HierarchicalPathFinder} 在读锁下完成。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class HierarchicalGraph implements GraphChangeListener {
+    public static final int DEFAULT_CLUSTER_SIZE = 16;// 默认簇边长 (网格)
+    private static final int WIDE_ENTRANCE = 6;// 通道宽度达到该值时在两端各设一个入口，否则只在中点设一个
+
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final int height;
+    private final int clusterSize;// 簇边长 (网格)
+    private final int clustersX;// 横向簇数
+    private final int clustersY;// 纵向簇数
+    private final int minClearance;// 代理需要的净空 (不大于 1 时只要求网格可走)
+
+    // 抽象节点 (编号回收复用)
+    private int[] nodeTiles = new int[64];// 各抽象节点所在的网格索引，-1 表示空闲
+    private int[] nodeRefs = new int[64];// 引用该节点的入口数 (簇角上的网格可能同时属于两条边界)
+    private IntArray[] interTargets = new IntArray[64];// 跨簇相邻的抽象节点 (代价为直线一步)
+    private IntArray[] intraTargets = new IntArray[64];// 同一簇内可达的抽象节点
+    private FloatArray[] intraCosts = new FloatArray[64];// 对应的簇内代价
+    private int nodeCapacity;// 已分配过的最大编号 + 1
+    private final IntArray freeNodes = new IntArray();// 空闲编号
+    private final IntIntMap tileToNode = new IntIntMap();// 网格索引 -> 抽象节点编号
+    private final IntArray[] clusterNodes;// 各簇的抽象节点
+    private final IntArray[] borderEntrances;// 各边界的入口，每 2 个数为两侧的抽象节点 (边界编号 = 簇编号 * 2 + 0 东 / 1 北)
+
+    // 临时变量，避免重复创建
+    private final ClusterSearch clusterSearch;// 计算簇内代价
+    private final boolean[] dirtyBorders;
+    private final boolean[] dirtyClusters;
+    private final IntArray dirtyList = new IntArray();
+    private final IntArray fitChanges = new IntArray();
+
+    public HierarchicalGraph(GameTiledGraph graph) {
+        this(graph, DEFAULT_CLUSTER_SIZE, 0f);
+    }
+
+    /**
+     * @param graph 导航图
+     * @param clusterSize 簇边长 (网格)
+     * @param agentRadius 代理半径 (米)，入口和簇内代价按该体型计算
+     */
+    public HierarchicalGraph(GameTiledGraph graph, int clusterSize, float agentRadius) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.height = graph.getHeight();
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.minClearance = graph.getRequiredClearance(agentRadius);
+        int clusterCount = clustersX * clustersY;
+        clusterNodes = new IntArray[clusterCount];
+        borderEntrances = new IntArray[clusterCount * 2];
+        for (int i = 0; i < clusterCount; i++) {
+            clusterNodes[i] = new IntArray(8);
+            borderEntrances[i * 2] = new IntArray(4);
+            borderEntrances[i * 2 + 1] = new IntArray(4);
+        }
+        Arrays.fill(nodeTiles, -1);
+        dirtyBorders = new boolean[clusterCount * 2];
+        dirtyClusters = new boolean[clusterCount];
+        clusterSearch = new ClusterSearch(graph, clusterSize, minClearance);
+        if (minClearance > 1) {
+            graph.getClearanceMap();
+        }
+        rebuild();
+    }
+
+    /**
+     * 重建整张抽象图.
+     */
+    public void rebuild() {
+        for (int border = 0; border < borderEntrances.length; border++) {
+            clearBorder(border);
+            buildBorder(border);
+        }
+        for (int cluster = 0; cluster < clusterNodes.length; cluster++) {
+            buildIntraEdges(cluster);
+        }
+    }
+
+    /**
+     * 网格变化：变化网格所在簇的簇内代价需要重算；网格在簇边缘时，相邻的边界入口也要重建，
+     * 边界两侧的簇随之重算。
+     */
+    @Override
+    public void onTilesChanged(GameTiledGraph graph, IntArray changedTiles) {
+        IntArray tiles = changedTiles;
+        if (minClearance > 1) {
+            // 净空的变化会波及变化网格周围，按能否容纳代理发生变化的网格计算
+            fitChanges.clear();
+            graph.getClearanceMap().collectFitChanges(minClearance, fitChanges);
+            tiles = fitChanges;
+        }
+        dirtyList.clear();
+        for (int i = 0; i < tiles.size; i++) {
+            int x = tiles.get(i) % width;
+            int y = tiles.get(i) / width;
+            int cx = x / clusterSize;
+            int cy = y / clusterSize;
+            int cluster = cy * clustersX + cx;
+            markCluster(cluster);
+            if (x % clusterSize == 0 && cx > 0) markBorder((cluster - 1) * 2);
+            if (x % clusterSize == clusterSize - 1 && cx + 1 < clustersX) markBorder(cluster * 2);
+            if (y % clusterSize == 0 && cy > 0) markBorder((cluster - clustersX) * 2 + 1);
+            if (y % clusterSize == clusterSize - 1 && cy + 1 < clustersY) markBorder(cluster * 2 + 1);
+        }
+
+        // 先重建全部边界，再重算簇内代价 (簇内代价依赖簇的入口)
+        for (int i = 0; i < dirtyList.size; i++) {
+            int item = dirtyList.get(i);
+            if (item < 0) {
+                int border = -item - 1;
+                clearBorder(border);
+                buildBorder(border);
+                dirtyBorders[border] = false;
+            }
+        }
+        for (int i = 0; i < dirtyList.size; i++) {
+            int item = dirtyList.get(i);
+            if (item >= 0) {
+                buildIntraEdges(item);
+                dirtyClusters[item] = false;
+            }
+        }
+    }
+
+    /**
+     * 标记需要重算的簇 (dirtyList 中以非负数记录)
+     */
+    private void markCluster(int cluster) {
+        if (dirtyClusters[cluster]) return;
+        dirtyClusters[cluster] = true;
+        dirtyList.add(cluster);
+    }
+
+    /**
+     * 标记需要重建的边界 (dirtyList 中以 -border - 1 记录)，边界两侧的簇都要重算
+     */
+    private void markBorder(int border) {
+        if (dirtyBorders[border]) return;
+        dirtyBorders[border] = true;
+        dirtyList.add(-border - 1);
+        int cluster = border >> 1;
+        markCluster(cluster);
+        markCluster((border & 1) == 0 ? cluster + 1 : cluster + clustersX);
+    }
+
+    /**
+     * 扫描边界两侧的网格，为每段连续的通道创建入口
+     */
+    private void buildBorder(int border) {
+        int cluster = border >> 1;
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        boolean east = (border & 1) == 0;
+        if (east ? cx + 1 >= clustersX : cy + 1 >= clustersY) return;
+
+        // 东边界沿 y 扫描 x = 簇右边缘与其右侧；北边界沿 x 扫描 y = 簇上边缘与其上方
+        int fixed = east ? cx * clusterSize + clusterSize - 1 : cy * clusterSize + clusterSize - 1;
+        int from = east ? cy * clusterSize : cx * clusterSize;
+        int to = Math.min(east ? height : width, from + clusterSize) - 1;
+        int runStart = -1;
+        for (int i = from; i <= to + 1; i++) {
+            boolean open = i <= to && isOpen(east ? tileIndex(fixed, i) : tileIndex(i, fixed))
+                && isOpen(east ? tileIndex(fixed + 1, i) : tileIndex(i, fixed + 1));
+            if (open) {
+                if (runStart < 0) runStart = i;
+                continue;
+            }
+            if (runStart < 0) continue;
+            int runEnd = i - 1;
+            if (runEnd - runStart + 1 >= WIDE_ENTRANCE) {
+                addEntrance(border, east, fixed, runStart);
+                addEntrance(border, east, fixed, runEnd);
+            } else {
+                addEntrance(border, east, fixed, (runStart + runEnd) >>> 1);
+            }
+            runStart = -1;
+        }
+    }
+
+    private void addEntrance(int border, boolean east, int fixed, int along) {
+        int a = acquireNode(east ? tileIndex(fixed, along) : tileIndex(along, fixed));
+        int b = acquireNode(east ? tileIndex(fixed + 1, along) : tileIndex(along, fixed + 1));
+        interTargets[a].add(b);
+        interTargets[b].add(a);
+        borderEntrances[border].add(a, b);
+    }
+
+    private void clearBorder(int border) {
+        IntArray entrances = borderEntrances[border];
+        for (int i = 0; i < entrances.size; i += 2) {
+            int a = entrances.get(i);
+            int b = entrances.get(i + 1);
+            interTargets[a].removeValue(b);
+            interTargets[b].removeValue(a);
+            releaseNode(a);
+            releaseNode(b);
+        }
+        entrances.clear();
+    }
+
+    /**
+     * 计算簇内各入口两两之间的代价 (只在簇内行走)
+     */
+    private void buildIntraEdges(int cluster) {
+        IntArray nodes = clusterNodes[cluster];
+        for (int i = 0; i < nodes.size; i++) {
+            intraTargets[nodes.get(i)].clear();
+            intraCosts[nodes.get(i)].clear();
+        }
+        int minX = getClusterMinX(cluster);
+        int minY = getClusterMinY(cluster);
+        int maxX = getClusterMaxX(cluster);
+        int maxY = getClusterMaxY(cluster);
+        for (int i = 0; i < nodes.size - 1; i++) {
+            int a = nodes.get(i);
+            clusterSearch.expandAll(minX, minY, maxX, maxY, nodeTiles[a]);
+            for (int j = i + 1; j < nodes.size; j++) {
+                int b = nodes.get(j);
+                float cost = clusterSearch.getCost(nodeTiles[b]);
+                if (cost < 0f) continue;
+                intraTargets[a].add(b);
+                intraCosts[a].add(cost);
+                intraTargets[b].add(a);
+                intraCosts[b].add(cost);
+            }
+        }
+    }
+
+    private int acquireNode(int tile) {
+        int node = tileToNode.get(tile, -1);
+        if (node < 0) {
+            node = freeNodes.size > 0 ? freeNodes.pop() : allocateNode();
+            nodeTiles[node] = tile;
+            tileToNode.put(tile, node);
+            clusterNodes[getCluster(tile)].add(node);
+        }
+        nodeRefs[node]++;
+        return node;
+    }
+
+    private void releaseNode(int node) {
+        if (--nodeRefs[node] > 0) return;
+        int tile = nodeTiles[node];
+        tileToNode.remove(tile, -1);
+        clusterNodes[getCluster(tile)].removeValue(node);
+        interTargets[node].clear();
+        intraTargets[node].clear();
+        intraCosts[node].clear();
+        nodeTiles[node] = -1;
+        freeNodes.add(node);
+    }
+
+    private int allocateNode() {
+        if (nodeCapacity == nodeTiles.length) {
+            int newLength = nodeTiles.length * 2;
+            nodeTiles = Arrays.copyOf(nodeTiles, newLength);
+            Arrays.fill(nodeTiles, nodeCapacity, newLength, -1);
+            nodeRefs = Arrays.copyOf(nodeRefs, newLength);
+            interTargets = Arrays.copyOf(interTargets, newLength);
+            intraTargets = Arrays.copyOf(intraTargets, newLength);
+            intraCosts = Arrays.copyOf(intraCosts, newLength);
+        }
+        int node = nodeCapacity++;
+        interTargets[node] = new IntArray(4);
+        intraTargets[node] = new IntArray(8);
+        intraCosts[node] = new FloatArray(8);
+        return node;
+    }
+
+    private boolean isOpen(int tile) {
+        return graph.fitsAgent(tile, minClearance);
+    }
+
+    private int tileIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    // --- 供寻路器读取 ---
+
+    /**
+     * 网格所在的簇
+     */
+    public int getCluster(int tile) {
+        return (tile / width / clusterSize) * clustersX + (tile % width) / clusterSize;
+    }
+
+    public int getClusterMinX(int cluster) { return (cluster % clustersX) * clusterSize; }
+    public int getClusterMinY(int cluster) { return (cluster / clustersX) * clusterSize; }
+    public int getClusterMaxX(int cluster) { return Math.min(width, getClusterMinX(cluster) + clusterSize) - 1; }
+    public int getClusterMaxY(int cluster) { return Math.min(height, getClusterMinY(cluster) + clusterSize) - 1; }
+
+    /**
+     * 抽象节点编号的上限 (不含)，寻路器按它分配数组
+     */
+    public int getNodeCapacity() { return nodeCapacity; }
+
+    /**
+     * 当前的抽象节点数
+     */
+    public int getNodeCount() { return nodeCapacity - freeNodes.size; }
+
+    public int getNodeTile(int node) { return nodeTiles[node]; }
+    public IntArray getClusterNodes(int cluster) { return clusterNodes[cluster]; }
+    public IntArray getInterTargets(int node) { return interTargets[node]; }
+    public IntArray getIntraTargets(int node) { return intraTargets[node]; }
+    public FloatArray getIntraCosts(int node) { return intraCosts[node]; }
+
+    public GameTiledGraph getGraph() { return graph; }
+    public int getClusterSize() { return clusterSize; }
+    public int getClusterCount() { return clusterNodes.length; }
+    public int getMinClearance() { return minClearance; }
+}
@@ -0,0 +1,256 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.PathFinder;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: HierarchicalPathFinder
+ * @Description: 分层寻路 (HPA*)：先在 {@link HierarchicalGraph} 的入口之间搜索，
+ * 再只对抽象路径经过的各段在簇内做局部搜索，拼成逐格路径。
+ * 起点和终点在同一簇时先尝试直接在簇内搜索。结果接近最优但不保证最优；
+ * 抽象层使用八方向距离作启发值，传入的启发函数会被忽略。
+ * 临时数组只与抽象节点数和簇大小有关，每个线程需要各自的实例，可共用同一张抽象图。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class HierarchicalPathFinder implements PathFinder<GameTiledNode> {
+    private final HierarchicalGraph hierarchy;// 抽象图
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final ClusterSearch clusterSearch;// 簇内搜索 (连接起终点、细化路径段)
+
+    // 抽象层 A*：编号 0 ~ capacity-1 为入口，capacity 为起点，capacity + 1 为终点
+    private NodeHeap openList;
+    private float[] costSoFar;
+    private int[] parents;
+    private int[] searchIds;
+    private float[] goalCosts;// 终点所在簇的入口到终点的代价
+    private int[] goalIds;// goalCosts 有效时的搜索编号
+    private int capacity;
+    private int searchId;
+
+    // 临时变量，避免重复创建
+    private final IntArray startTargets = new IntArray();// 起点可达的入口
+    private final FloatArray startCosts = new FloatArray();
+    private final IntArray abstractPath = new IntArray();
+    private final DefaultGraphPath<GameTiledNode> nodePathTemp = new DefaultGraphPath<>();
+
+    public final Metrics metrics = new Metrics();// 统计信息
+
+    /**
+     * 搜索统计.
+     */
+    public static class Metrics {
+        public int expandedNodes;// 抽象层展开的节点数
+        public int abstractPathLength;// 抽象路径的节点数 (含起终点)
+        public int refinedSegments;// 细化的簇内路径段数
+        public boolean directSearch;// 是否在同一簇内直接找到
+
+        public void reset() {
+            expandedNodes = 0;
+            abstractPathLength = 0;
+            refinedSegments = 0;
+            directSearch = false;
+        }
+    }
+
+    public HierarchicalPathFinder(HierarchicalGraph hierarchy) {
+        this.hierarchy = hierarchy;
+        this.graph = hierarchy.getGraph();
+        this.width = graph.getWidth();
+        this.clusterSearch = new ClusterSearch(graph, hierarchy.getClusterSize(), hierarchy.getMinClearance());
+        ensureCapacity();
+    }
+
+    @Override
+    public boolean searchNodePath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<GameTiledNode> outPath) {
+        metrics.reset();
+        int start = startNode.getIndex();
+        int goal = endNode.getIndex();
+        int minClearance = hierarchy.getMinClearance();
+        if (!graph.fitsAgent(start, minClearance) || !graph.fitsAgent(goal, minClearance)) return false;
+
+        int startCluster = hierarchy.getCluster(start);
+        if (startCluster == hierarchy.getCluster(goal)) {
+            outPath.add(startNode);
+            if (findInCluster(startCluster, start, goal, outPath)) {
+                metrics.directSearch = true;
+                return true;
+            }
+            outPath.clear();
+        }
+
+        if (!searchAbstractPath(start, goal, abstractPath)) return false;
+        outPath.add(startNode);
+        for (int i = 1; i < abstractPath.size; i++) {
+            int from = abstractPath.get(i - 1);
+            int to = abstractPath.get(i);
+            int cluster = hierarchy.getCluster(from);
+            if (cluster != hierarchy.getCluster(to)) {
+                outPath.add(graph.getNode(to));// 跨簇入口相邻，直接走一步
+                continue;
+            }
+            metrics.refinedSegments++;
+            if (!findInCluster(cluster, from, to, outPath)) {
+                // 抽象图与网格不一致 (不应发生)，放弃本次结果
+                outPath.clear();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 只搜索抽象层，输出依次经过的网格 (起点、各入口、终点)，相邻两项之间的逐格路径由调用方按需细化.
+     * @param start 起点网格索引
+     * @param goal 终点网格索引
+     * @param outTiles 输出：网格索引 (会先被清空)
+     * @return 是否找到路径
+     */
+    public boolean searchAbstractPath(int start, int goal, IntArray outTiles) {
+        outTiles.clear();
+        ensureCapacity();
+        if (++searchId == 0) {
+            Arrays.fill(searchIds, 0);
+            Arrays.fill(goalIds, 0);
+            searchId = 1;
+        }
+        int startNode = capacity;
+        int goalNode = capacity + 1;
+        int goalX = goal % width;
+        int goalY = goal / width;
+
+        // 1. 起点、终点分别在各自簇内连到入口
+        connectToCluster(start, startTargets, startCosts, null);
+        connectToCluster(goal, null, null, goalCosts);
+
+        // 2. 抽象层 A*
+        openList.clear();
+        searchIds[startNode] = searchId;
+        costSoFar[startNode] = 0f;
+        parents[startNode] = -1;
+        openList.add(startNode, GameTiledGraph.octileDistance(start % width, start / width, goalX, goalY));
+        while (!openList.isEmpty()) {
+            int node = openList.pop();
+            if (node == goalNode) {
+                for (int n = goalNode; n >= 0; n = parents[n]) {
+                    outTiles.add(n == startNode ? start : n == goalNode ? goal : hierarchy.getNodeTile(n));
+                }
+                outTiles.reverse();
+                metrics.abstractPathLength = outTiles.size;
+                return true;
+            }
+            metrics.expandedNodes++;
+            float cost = costSoFar[node];
+            if (node == startNode) {
+                for (int i = 0; i < startTargets.size; i++) {
+                    relax(node, startTargets.get(i), cost + startCosts.get(i), goalX, goalY);
+                }
+                continue;
+            }
+            IntArray inter = hierarchy.getInterTargets(node);
+            for (int i = 0; i < inter.size; i++) {
+                relax(node, inter.get(i), cost + GameTiledGraph.STRAIGHT_COST, goalX, goalY);
+            }
+            IntArray intra = hierarchy.getIntraTargets(node);
+            FloatArray intraCosts = hierarchy.getIntraCosts(node);
+            for (int i = 0; i < intra.size; i++) {
+                relax(node, intra.get(i), cost + intraCosts.get(i), goalX, goalY);
+            }
+            if (goalIds[node] == searchId) {
+                relax(node, goalNode, cost + goalCosts[node], goalX, goalY);
+            }
+        }
+        return false;
+    }
+
+    private void relax(int from, int to, float cost, int goalX, int goalY) {
+        if (searchIds[to] == searchId && cost >= costSoFar[to]) return;
+        searchIds[to] = searchId;
+        costSoFar[to] = cost;
+        parents[to] = from;
+        int tile = to == capacity + 1 ? goalY * width + goalX : hierarchy.getNodeTile(to);
+        openList.add(to, cost + GameTiledGraph.octileDistance(tile % width, tile / width, goalX, goalY));
+    }
+
+    /**
+     * 计算网格到所在簇各入口的簇内代价
+     * @param outTargets 输出：可达的入口 (可为 null)
+     * @param outCosts 输出：对应代价
+     * @param outCostsByNode 输出：按入口编号存放的代价 (可为 null)
+     */
+    private void connectToCluster(int tile, IntArray outTargets, FloatArray outCosts, float[] outCostsByNode) {
+        int cluster = hierarchy.getCluster(tile);
+        if (outTargets != null) {
+            outTargets.clear();
+            outCosts.clear();
+        }
+        clusterSearch.expandAll(hierarchy.getClusterMinX(cluster), hierarchy.getClusterMinY(cluster),
+            hierarchy.getClusterMaxX(cluster), hierarchy.getClusterMaxY(cluster), tile);
+        IntArray nodes = hierarchy.getClusterNodes(cluster);
+        for (int i = 0; i < nodes.size; i++) {
+            int node = nodes.get(i);
+            float cost = clusterSearch.getCost(hierarchy.getNodeTile(node));
+            if (cost < 0f) continue;
+            if (outTargets != null) {
+                outTargets.add(node);
+                outCosts.add(cost);
+            }
+            if (outCostsByNode != null) {
+                outCostsByNode[node] = cost;
+                goalIds[node] = searchId;
+            }
+        }
+    }
+
+    private boolean findInCluster(int cluster, int from, int to, GraphPath<GameTiledNode> outPath) {
+        return clusterSearch.findPath(hierarchy.getClusterMinX(cluster), hierarchy.getClusterMinY(cluster),
+            hierarchy.getClusterMaxX(cluster), hierarchy.getClusterMaxY(cluster), from, to, outPath);
+    }
+
+    /**
+     * 抽象图新增入口后扩大数组
+     */
+    private void ensureCapacity() {
+        int required = hierarchy.getNodeCapacity();
+        if (openList != null && required <= capacity) return;
+        capacity = Math.max(required, capacity * 2);
+        int size = capacity + 2;
+        openList = new NodeHeap(size);
+        costSoFar = new float[size];
+        parents = new int[size];
+        searchIds = new int[size];
+        goalCosts = new float[size];
+        goalIds = new int[size];
+        searchId = 0;
+    }
+
+    @Override
+    public boolean searchConnectionPath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<Connection<GameTiledNode>> outPath) {
+        nodePathTemp.clear();
+        if (!searchNodePath(startNode, endNode, heuristic, nodePathTemp)) return false;
+        for (int i = 1; i < nodePathTemp.getCount(); i++) {
+            outPath.add(graph.getConnection(nodePathTemp.get(i - 1).getIndex(), nodePathTemp.get(i).getIndex()));
+        }
+        return true;
+    }
+
+    /**
+     * 分层搜索本身很快，不做中断：供 PathFinderQueue 调用时一次完成.
+     */
+    @Override
+    public boolean search(PathFinderRequest<GameTiledNode> request, long timeToRun) {
+        request.pathFound = searchNodePath(request.startNode, request.endNode, request.heuristic, request.resultPath);
+        request.statusChanged = false;
+        return true;
+    }
+}
@@ -0,0 +1,305 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.PathFinder;
+import com.badlogic.gdx.ai.pfa.PathFinderQueue;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: JumpPointPathFinder
+ * @Description: 跳点搜索 (JPS) 寻路器，直接读取网格的地面/墙壁布局，只展开跳点
+ * 对角线移动规则与 GameTiledGraph 一致：两侧任一为墙时不允许斜穿。
+ * 输出路径与 A* 相同，每个网格一个节点，followPath 无需改动。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class JumpPointPathFinder implements PathFinder<GameTiledNode> {
+    private final GameTiledGraph graph;// 导航图
+    private final int width;
+    private final NodeHeap openList;// 开放列表
+    private final float[] costSoFar;// 起点到各节点的代价
+    private final int[] parents;// 各节点的父跳点
+    private final int[] searchIds;// 节点最后一次被访问时的搜索编号，避免每次清空数组
+    private int searchId;
+    private int minClearance;// 代理需要的净空 (不大于 1 时只要求网格可走)
+
+    // 当前搜索
+    private int startIndex;
+    private int goalIndex;
+    private GameTiledNode goalNode;
+    private Heuristic<GameTiledNode> heuristic;
+
+    // 临时变量，避免重复创建
+    private final int[] directionX = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final int[] directionY = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final DefaultGraphPath<GameTiledNode> nodePathTemp = new DefaultGraphPath<>();
+
+    public final Metrics metrics = new Metrics();// 统计信息
+
+    /**
+     * 搜索统计.
+     */
+    public static class Metrics {
+        public int visitedNodes;// 展开的跳点数
+        public int openListAdditions;// 加入开放列表的次数
+
+        public void reset() {
+            visitedNodes = 0;
+            openListAdditions = 0;
+        }
+    }
+
+    public JumpPointPathFinder(GameTiledGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        int nodeCount = graph.getNodeCount();
+        openList = new NodeHeap(nodeCount);
+        costSoFar = new float[nodeCount];
+        parents = new int[nodeCount];
+        searchIds = new int[nodeCount];
+    }
+
+    @Override
+    public boolean searchNodePath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<GameTiledNode> outPath) {
+        initSearch(startNode, endNode, heuristic);
+        while (!openList.isEmpty()) {
+            if (expandNext()) {
+                generateNodePath(outPath);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean searchConnectionPath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<Connection<GameTiledNode>> outPath) {
+        nodePathTemp.clear();
+        if (!searchNodePath(startNode, endNode, heuristic, nodePathTemp)) return false;
+        for (int i = 1; i < nodePathTemp.getCount(); i++) {
+            outPath.add(graph.getConnection(nodePathTemp.get(i - 1).getIndex(), nodePathTemp.get(i).getIndex()));
+        }
+        return true;
+    }
+
+    /**
+     * 可中断的搜索，供 PathFinderQueue 按时间片调用.
+     */
+    @Override
+    public boolean search(PathFinderRequest<GameTiledNode> request, long timeToRun) {
+        long lastTime = TimeUtils.nanoTime();
+        if (request.statusChanged) {
+            initSearch(request.startNode, request.endNode, request.heuristic);
+            request.statusChanged = false;
+        }
+        while (!openList.isEmpty()) {
+            long currentTime = TimeUtils.nanoTime();
+            timeToRun -= currentTime - lastTime;
+            if (timeToRun <= PathFinderQueue.TIME_TOLERANCE) return false;
+            lastTime = currentTime;
+
+            if (expandNext()) {
+                request.pathFound = true;
+                generateNodePath(request.resultPath);
+                return true;
+            }
+        }
+        request.pathFound = false;
+        return true;
+    }
+
+    private void initSearch(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic) {
+        metrics.reset();
+        openList.clear();
+        if (++searchId == 0) {
+            // 编号溢出，重置所有标记
+            Arrays.fill(searchIds, 0);
+            searchId = 1;
+        }
+        this.startIndex = startNode.getIndex();
+        this.goalIndex = endNode.getIndex();
+        this.goalNode = endNode;
+        this.heuristic = heuristic;
+
+        if (!graph.fitsAgent(startIndex, minClearance) || !graph.fitsAgent(goalIndex, minClearance)) return;
+        searchIds[startIndex] = searchId;
+        costSoFar[startIndex] = 0f;
+        parents[startIndex] = -1;
+        openList.add(startIndex, heuristic.estimate(startNode, endNode));
+        metrics.openListAdditions++;
+    }
+
+    /**
+     * 展开开放列表中代价最小的跳点.
+     * @return 是否已到达终点
+     */
+    private boolean expandNext() {
+        int current = openList.pop();
+        metrics.visitedNodes++;
+        if (current == goalIndex) return true;
+
+        int x = current % width;
+        int y = current / width;
+        int directionCount = collectDirections(x, y, parents[current]);
+        for (int i = 0; i < directionCount; i++) {
+            int dx = directionX[i];
+            int dy = directionY[i];
+            int jumpPoint = jump(x + dx, y + dy, dx, dy);
+            if (jumpPoint < 0) continue;
+
+            int steps = Math.max(Math.abs(jumpPoint % width - x), Math.abs(jumpPoint / width - y));
+            float stepCost = (dx != 0 && dy != 0) ? GameTiledGraph.DIAGONAL_COST : GameTiledGraph.STRAIGHT_COST;
+            float newCost = costSoFar[current] + steps * stepCost;
+            if (searchIds[jumpPoint] == searchId && costSoFar[jumpPoint] <= newCost) continue;
+
+            searchIds[jumpPoint] = searchId;
+            costSoFar[jumpPoint] = newCost;
+            parents[jumpPoint] = current;
+            openList.add(jumpPoint, newCost + heuristic.estimate(graph.getNode(jumpPoint), goalNode));
+            metrics.openListAdditions++;
+        }
+        return false;
+    }
+
+    /**
+     * 按父节点方向裁剪邻居，得到需要继续跳跃的方向.
+     * @return 方向数量，结果写入 directionX/directionY
+     */
+    private int collectDirections(int x, int y, int parent) {
+        int count = 0;
+        if (parent < 0) {
+            // 起点：所有可走的方向
+            for (int i = 0; i < GameTiledGraph.MAX_NEIGHBORS; i++) {
+                int dx = GameTiledGraph.NEIGHBOR_DX[i];
+                int dy = GameTiledGraph.NEIGHBOR_DY[i];
+                if (!walkable(x + dx, y + dy)) continue;
+                if (dx != 0 && dy != 0 && (!walkable(x + dx, y) || !walkable(x, y + dy))) continue;
+                directionX[count] = dx;
+                directionY[count] = dy;
+                count++;
+            }
+            return count;
+        }
+
+        int dx = Integer.signum(x - parent % width);
+        int dy = Integer.signum(y - parent / width);
+        if (dx != 0 && dy != 0) {
+            // 对角线：两个分量方向，以及两侧都可走时继续斜走
+            boolean vertical = walkable(x, y + dy);
+            boolean horizontal = walkable(x + dx, y);
+            if (vertical) count = addDirection(count, 0, dy);
+            if (horizontal) count = addDirection(count, dx, 0);
+            if (vertical && horizontal && walkable(x + dx, y + dy)) count = addDirection(count, dx, dy);
+        } else if (dx != 0) {
+            // 水平方向
+            boolean next = walkable(x + dx, y);
+            boolean top = walkable(x, y + 1);
+            boolean bottom = walkable(x, y - 1);
+            if (next) {
+                count = addDirection(count, dx, 0);
+                if (top && walkable(x + dx, y + 1)) count = addDirection(count, dx, 1);
+                if (bottom && walkable(x + dx, y - 1)) count = addDirection(count, dx, -1);
+            }
+            if (top) count = addDirection(count, 0, 1);
+            if (bottom) count = addDirection(count, 0, -1);
+        } else {
+            // 竖直方向
+            boolean next = walkable(x, y + dy);
+            boolean right = walkable(x + 1, y);
+            boolean left = walkable(x - 1, y);
+            if (next) {
+                count = addDirection(count, 0, dy);
+                if (right && walkable(x + 1, y + dy)) count = addDirection(count, 1, dy);
+                if (left && walkable(x - 1, y + dy)) count = addDirection(count, -1, dy);
+            }
+            if (right) count = addDirection(count, 1, 0);
+            if (left) count = addDirection(count, -1, 0);
+        }
+        return count;
+    }
+
+    private int addDirection(int count, int dx, int dy) {
+        directionX[count] = dx;
+        directionY[count] = dy;
+        return count + 1;
+    }
+
+    /**
+     * 从 (x, y) 沿 (dx, dy) 跳跃，直到遇到墙、终点或跳点.
+     * @return 跳点索引，没有则返回 -1
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        if (dx == 0 || dy == 0) return jumpStraight(x, y, dx, dy);
+        while (true) {
+            if (!walkable(x, y)) return -1;
+            int index = y * width + x;
+            if (index == goalIndex) return index;
+            // 斜向移动时，若水平或竖直方向能跳到跳点，当前格就是跳点
+            if (jumpStraight(x + dx, y, dx, 0) >= 0 || jumpStraight(x, y + dy, 0, dy) >= 0) return index;
+            // 两侧都可走才能继续斜走
+            if (!walkable(x + dx, y) || !walkable(x, y + dy)) return -1;
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private int jumpStraight(int x, int y, int dx, int dy) {
+        while (true) {
+            if (!walkable(x, y)) return -1;
+            int index = y * width + x;
+            if (index == goalIndex) return index;
+            if (dx != 0) {
+                // 强制邻居：侧面可走但身后侧面是墙
+                if ((walkable(x, y - 1) && !walkable(x - dx, y - 1)) || (walkable(x, y + 1) && !walkable(x - dx, y + 1))) {
+                    return index;
+                }
+            } else {
+                if ((walkable(x - 1, y) && !walkable(x - 1, y - dy)) || (walkable(x + 1, y) && !walkable(x + 1, y - dy))) {
+                    return index;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private boolean walkable(int x, int y) {
+        return graph.isValidTile(x, y) && graph.fitsAgent(y * width + x, minClearance);
+    }
+
+    /**
+     * 设置代理半径，之后的搜索跳过净空不足的网格 (净空不足的网格对跳点判断而言等同于墙)
+     * @param agentRadius 代理半径 (米)，0 表示只要求网格可走
+     */
+    public void setAgentRadius(float agentRadius) {
+        this.minClearance = graph.getRequiredClearance(agentRadius);
+    }
+
+    /**
+     * 将跳点之间的线段展开为逐格节点，写入输出路径 (包含起点).
+     */
+    private void generateNodePath(GraphPath<GameTiledNode> outPath) {
+        int current = goalIndex;
+        while (parents[current] >= 0) {
+            int parent = parents[current];
+            int x = current % width;
+            int y = current / width;
+            int dx = Integer.signum(parent % width - x);
+            int dy = Integer.signum(parent / width - y);
+            while (y * width + x != parent) {
+                outPath.add(graph.getNode(x, y));
+                x += dx;
+                y += dy;
+            }
+            current = parent;
+        }
+        outPath.add(graph.getNode(startIndex));
+        outPath.reverse();
+    }
+}
@@ -0,0 +1,256 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @ClassName: LandmarkHeuristic
+ * @Description: ALT 启发函数：预先用 Dijkstra 计算 K 个地标到所有网格的最短距离，
+ * 由三角不等式 |d(L, n) - d(L, goal)| 得到可容许的下界，取各地标与八方向距离中的最大值。
+ * 预计算在后台线程中基于导航图的布局副本进行；导航图变化后旧距离立即停用 (退回八方向距离)，
+ * 在下一次 {@link #update()} 时重新计算。多个敌人、多个线程可以共用同一个实例。
+ * 内存与网格数成正比：距离表每个网格 4 × 地标数 字节 (默认 32 B)，每次预计算另需每个网格约 20 B 的临时数组
+ * 和一份 1 位/网格的布局副本；每次导航图变化都要重做 地标数 次整图 Dijkstra。
+ * 网格数超过上限 (默认 1024 × 1024，距离表 32 MB) 时不做预计算，始终使用八方向距离。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class LandmarkHeuristic implements Heuristic<GameTiledNode>, GraphChangeListener {
+    public static final int DEFAULT_LANDMARK_COUNT = 8;// 默认地标数
+    public static final int DEFAULT_MAX_NODE_COUNT = 1 << 20;// 默认启用地标的最大网格数
+
+    private final GameTiledGraph graph;// 导航图
+    private final int landmarkCount;// 地标数
+    private final boolean enabled;// 网格数未超过上限，使用地标距离
+    private volatile LandmarkData data;// 最近一次完成的预计算结果
+    private boolean computing;// 后台预计算进行中 (仅渲染线程读写)
+    private boolean dirty = true;// 导航图变化后尚未重新计算
+    private volatile boolean finished;// 后台预计算完成，等待渲染线程确认
+    private ExecutorService executor;// 预计算线程 (按需创建)
+
+    /**
+     * 一次预计算的结果，发布后不再修改
+     */
+    private static final class LandmarkData {
+        final int version;// 对应的导航图版本
+        final int[] landmarks;// 地标网格索引
+        final float[] distances;// 网格 i 到第 k 个地标的距离位于 [i * 地标数 + k]，不可达为正无穷
+
+        LandmarkData(int version, int[] landmarks, float[] distances) {
+            this.version = version;
+            this.landmarks = landmarks;
+            this.distances = distances;
+        }
+    }
+
+    public LandmarkHeuristic(GameTiledGraph graph) {
+        this(graph, DEFAULT_LANDMARK_COUNT, DEFAULT_MAX_NODE_COUNT);
+    }
+
+    /**
+     * @param graph 导航图
+     * @param landmarkCount 地标数 (每个网格占 landmarkCount 个 float)
+     */
+    public LandmarkHeuristic(GameTiledGraph graph, int landmarkCount) {
+        this(graph, landmarkCount, DEFAULT_MAX_NODE_COUNT);
+    }
+
+    /**
+     * @param graph 导航图
+     * @param landmarkCount 地标数 (每个网格占 landmarkCount 个 float)
+     * @param maxNodeCount 网格数超过该值时不预计算，估计值始终为八方向距离
+     */
+    public LandmarkHeuristic(GameTiledGraph graph, int landmarkCount, int maxNodeCount) {
+        this.graph = graph;
+        this.landmarkCount = landmarkCount;
+        this.enabled = graph.getNodeCount() <= maxNodeCount;
+    }
+
+    @Override
+    public float estimate(GameTiledNode node, GameTiledNode endNode) {
+        float estimate = GameTiledGraph.octileDistance(node.x, node.y, endNode.x, endNode.y);
+        LandmarkData current = data;
+        if (current == null || current.version != graph.getVersion()) return estimate;
+        float[] distances = current.distances;
+        int from = node.getIndex() * landmarkCount;
+        int to = endNode.getIndex() * landmarkCount;
+        for (int k = 0; k < landmarkCount; k++) {
+            float a = distances[from + k];
+            float b = distances[to + k];
+            if (a == Float.POSITIVE_INFINITY || b == Float.POSITIVE_INFINITY) continue;
+            float bound = Math.abs(a - b);
+            if (bound > estimate) estimate = bound;
+        }
+        return estimate;
+    }
+
+    /**
+     * 导航图变化：旧距离按版本号自动停用，标记为需要重新计算
+     */
+    @Override
+    public void onTilesChanged(GameTiledGraph graph, IntArray changedTiles) {
+        dirty = enabled;
+    }
+
+    /**
+     * 每帧在渲染线程中调用：需要时复制当前布局并在后台重新计算 (同一时间只有一次计算).
+     */
+    public void update() {
+        if (!enabled) return;
+        if (finished) {
+            finished = false;
+            computing = false;
+        }
+        if (!dirty || computing) return;
+        dirty = false;
+        computing = true;
+        GameTiledGraph snapshot = graph.createSnapshot();
+        getExecutor().execute(() -> {
+            try {
+                data = compute(snapshot, landmarkCount);
+            } finally {
+                finished = true;
+            }
+        });
+    }
+
+    /**
+     * 在当前线程中立即完成预计算 (加载关卡或基准测试时使用).
+     */
+    public void computeNow() {
+        if (!enabled) return;
+        data = compute(graph, landmarkCount);
+        dirty = false;
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "LandmarkPrecompute");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * 选取地标并计算距离：第一个地标是离地图中心最远的网格，
+     * 之后每次选离已有地标最近距离最大的网格 (地标尽量分散在地图边缘)。
+     */
+    private static LandmarkData compute(GameTiledGraph layout, int landmarkCount) {
+        int nodeCount = layout.getNodeCount();
+        float[] distances = new float[nodeCount * landmarkCount];
+        int[] landmarks = new int[landmarkCount];
+        float[] single = new float[nodeCount];
+        float[] nearest = new float[nodeCount];// 各网格到已选地标的最近距离
+        NodeHeap openList = new NodeHeap(nodeCount);
+        int[] neighborTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+        float[] neighborCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+
+        int seed = findWalkableNear(layout, layout.getWidth() / 2, layout.getHeight() / 2);
+        if (seed < 0) {
+            Arrays.fill(distances, Float.POSITIVE_INFINITY);
+            Arrays.fill(landmarks, -1);
+            return new LandmarkData(layout.getVersion(), landmarks, distances);
+        }
+        dijkstra(layout, seed, single, openList, neighborTargets, neighborCosts);
+        Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+        int next = farthest(single, seed);
+        for (int k = 0; k < landmarkCount; k++) {
+            landmarks[k] = next;
+            dijkstra(layout, next, single, openList, neighborTargets, neighborCosts);
+            for (int i = 0; i < nodeCount; i++) {
+                distances[i * landmarkCount + k] = single[i];
+                if (single[i] < nearest[i]) nearest[i] = single[i];
+            }
+            next = farthest(nearest, next);
+        }
+        return new LandmarkData(layout.getVersion(), landmarks, distances);
+    }
+
+    private static void dijkstra(GameTiledGraph layout, int source, float[] outDistances, NodeHeap openList, int[] neighborTargets, float[] neighborCosts) {
+        Arrays.fill(outDistances, Float.POSITIVE_INFINITY);
+        outDistances[source] = 0f;
+        openList.clear();
+        openList.add(source, 0f);
+        while (!openList.isEmpty()) {
+            int current = openList.pop();
+            float cost = outDistances[current];
+            int count = layout.getNeighbors(current, neighborTargets, neighborCosts);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborTargets[i];
+                float newCost = cost + neighborCosts[i];
+                if (newCost < outDistances[neighbor]) {
+                    outDistances[neighbor] = newCost;
+                    openList.add(neighbor, newCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * 距离有限且最大的网格，全部不可达时返回 fallback
+     */
+    private static int farthest(float[] distances, int fallback) {
+        int best = fallback;
+        float bestDistance = -1f;
+        for (int i = 0; i < distances.length; i++) {
+            float distance = distances[i];
+            if (distance != Float.POSITIVE_INFINITY && distance > bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int findWalkableNear(GameTiledGraph layout, int centerX, int centerY) {
+        int maxRadius = Math.max(layout.getWidth(), layout.getHeight());
+        for (int r = 0; r <= maxRadius; r++) {
+            for (int dy = -r; dy <= r; dy++) {
+                for (int dx = -r; dx <= r; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != r) continue;
+                    if (layout.isWalkable(centerX + dx, centerY + dy)) return (centerY + dy) * layout.getWidth() + centerX + dx;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 释放预计算线程
+     */
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 地标距离是否与当前导航图一致 (否则估计值退回八方向距离)
+     */
+    public boolean isReady() {
+        LandmarkData current = data;
+        return current != null && current.version == graph.getVersion();
+    }
+
+    /**
+     * 当前地标的网格索引
+     * @return 地标，尚未完成预计算时为 null
+     */
+    public int[] getLandmarks() {
+        LandmarkData current = data;
+        return current == null ? null : current.landmarks;
+    }
+
+    public int getLandmarkCount() { return landmarkCount; }
+    public boolean isEnabled() { return enabled; }
+}
@@ -0,0 +1,128 @@
+package tech.bskplu.test.ai;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: NodeHeap
+ * @Description: 以节点索引为元素的二叉最小堆，支持更新和删除 (供各类网格搜索复用)
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+final class NodeHeap {
+    private int[] heap;// 堆数组，存放节点索引
+    private final int[] positions;// 节点在堆中的位置，-1 表示不在堆中
+    private final float[] primaryKeys;// 主键 (按节点索引存放)
+    private final float[] secondaryKeys;// 次键，主键相等时比较
+    private int size;
+
+    NodeHeap(int nodeCount) {
+        heap = new int[Math.max(16, Math.min(nodeCount, 1024))];
+        positions = new int[nodeCount];
+        primaryKeys = new float[nodeCount];
+        secondaryKeys = new float[nodeCount];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * 清空堆 (只重置堆中现有的节点，代价与堆大小成正比)
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    int size() { return size; }
+    boolean isEmpty() { return size == 0; }
+    boolean contains(int node) { return positions[node] >= 0; }
+
+    void add(int node, float key) {
+        add(node, key, 0f);
+    }
+
+    /**
+     * 插入节点，若已在堆中则更新其键值.
+     */
+    void add(int node, float primaryKey, float secondaryKey) {
+        primaryKeys[node] = primaryKey;
+        secondaryKeys[node] = secondaryKey;
+        int position = positions[node];
+        if (position >= 0) {
+            siftUp(position);
+            siftDown(positions[node]);
+            return;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = node;
+        positions[node] = size;
+        siftUp(size++);
+    }
+
+    int peek() { return heap[0]; }
+    float peekPrimaryKey() { return primaryKeys[heap[0]]; }
+    float peekSecondaryKey() { return secondaryKeys[heap[0]]; }
+
+    int pop() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    void remove(int node) {
+        int position = positions[node];
+        if (position >= 0) removeAt(position);
+    }
+
+    private void removeAt(int position) {
+        int node = heap[position];
+        positions[node] = -1;
+        size--;
+        if (position == size) return;
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        siftUp(position);
+        siftDown(positions[last]);
+    }
+
+    private boolean less(int a, int b) {
+        float ka = primaryKeys[a], kb = primaryKeys[b];
+        if (ka != kb) return ka < kb;
+        return secondaryKeys[a] < secondaryKeys[b];
+    }
+
+    private void siftUp(int position) {
+        int node = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >> 1;
+            int parentNode = heap[parent];
+            if (!less(node, parentNode)) break;
+            heap[position] = parentNode;
+            positions[parentNode] = position;
+            position = parent;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    private void siftDown(int position) {
+        int node = heap[position];
+        int half = size >> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) child = right;
+            int childNode = heap[child];
+            if (!less(childNode, node)) break;
+            heap[position] = childNode;
+            positions[childNode] = position;
+            position = child;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+}
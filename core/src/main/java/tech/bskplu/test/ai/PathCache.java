@@ -0,0 +1,228 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * @ClassName: PathCache
+ * @Description: 容量固定的 LRU 路径缓存，键为 (起点网格, 终点网格, 导航图版本)
+ * 导航图版本变化后所有路径一律作废；起点恰好落在某条已缓存、终点相同的路径上时，直接取该路径的后半段。
+ * 只在渲染线程中使用。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class PathCache {
+    public static final int DEFAULT_CAPACITY = 64;// 默认容量 (条)
+
+    private final GameTiledGraph graph;// 导航图
+    private final int capacity;// 最多缓存的路径数
+    private final LongMap<Entry> entries = new LongMap<>();// 起点和终点 -> 路径
+    private final IntMap<Array<Entry>> entriesByGoal = new IntMap<>();// 终点 -> 通往该终点的所有路径 (用于后缀查找)
+    private Entry head;// 最近使用的路径
+    private Entry tail;// 最久未使用的路径 (容量已满时最先淘汰)
+    private int version;// 缓存内容对应的导航图版本
+
+    // 统计
+    private long hits;// 起点和终点完全相同的命中次数
+    private long suffixHits;// 起点位于已缓存路径上的命中次数
+    private long misses;// 未命中次数
+    private long evictions;// 因容量淘汰的路径数
+    private long invalidations;// 因导航图变化整体作废的次数
+
+    /**
+     * 一条缓存的路径，同时挂在 LRU 双向链表上
+     */
+    private static class Entry {
+        long key;
+        int goal;
+        int[] tiles;// 路径上依次经过的网格索引
+        final IntIntMap positions = new IntIntMap();// 网格索引 -> 在路径中的下标
+        Entry prev;
+        Entry next;
+    }
+
+    public PathCache(GameTiledGraph graph) {
+        this(graph, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param graph 导航图
+     * @param capacity 最多缓存的路径数
+     */
+    public PathCache(GameTiledGraph graph, int capacity) {
+        this.graph = graph;
+        this.capacity = Math.max(1, capacity);
+        this.version = graph.getVersion();
+    }
+
+    /**
+     * 查找从起点到终点的路径.
+     * @param startIndex 起点网格索引
+     * @param goalIndex 终点网格索引
+     * @param outPath 输出路径 (命中时先清空再写入)
+     * @return 是否命中
+     */
+    public boolean get(int startIndex, int goalIndex, GraphPath<GameTiledNode> outPath) {
+        validate();
+        Entry entry = entries.get(key(startIndex, goalIndex));
+        int from = 0;
+        if (entry != null) {
+            hits++;
+        } else {
+            entry = findSuffix(startIndex, goalIndex);
+            if (entry == null) {
+                misses++;
+                return false;
+            }
+            from = entry.positions.get(startIndex, 0);
+            suffixHits++;
+        }
+        touch(entry);
+        outPath.clear();
+        for (int i = from; i < entry.tiles.length; i++) {
+            outPath.add(graph.getNode(entry.tiles[i]));
+        }
+        return true;
+    }
+
+    /**
+     * 在通往同一终点的路径中查找经过起点的一条
+     */
+    private Entry findSuffix(int startIndex, int goalIndex) {
+        Array<Entry> sameGoal = entriesByGoal.get(goalIndex);
+        if (sameGoal == null) return null;
+        for (int i = 0; i < sameGoal.size; i++) {
+            if (sameGoal.get(i).positions.containsKey(startIndex)) return sameGoal.get(i);
+        }
+        return null;
+    }
+
+    /**
+     * 缓存一条搜索得到的路径 (起点和终点取路径的首尾节点).
+     * 搜索开始后导航图已经变化的结果不会被缓存。
+     * @param searchVersion 开始搜索时的导航图版本
+     * @param path 路径 (内容会被复制)
+     */
+    public void put(int searchVersion, GraphPath<GameTiledNode> path) {
+        validate();
+        if (searchVersion != version || path.getCount() == 0) return;
+        int startIndex = path.get(0).getIndex();
+        int goalIndex = path.get(path.getCount() - 1).getIndex();
+        long key = key(startIndex, goalIndex);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size >= capacity) {
+                evict(tail);
+                evictions++;
+            }
+            entry = new Entry();
+            entry.key = key;
+            entry.goal = goalIndex;
+            entries.put(key, entry);
+            Array<Entry> sameGoal = entriesByGoal.get(goalIndex);
+            if (sameGoal == null) {
+                sameGoal = new Array<>(false, 4);
+                entriesByGoal.put(goalIndex, sameGoal);
+            }
+            sameGoal.add(entry);
+        } else {
+            unlink(entry);
+        }
+        entry.tiles = new int[path.getCount()];
+        entry.positions.clear();
+        for (int i = 0; i < entry.tiles.length; i++) {
+            entry.tiles[i] = path.get(i).getIndex();
+            entry.positions.put(entry.tiles[i], i);
+        }
+        linkFirst(entry);
+    }
+
+    /**
+     * 导航图版本变化时清空缓存
+     */
+    private void validate() {
+        if (version == graph.getVersion()) return;
+        if (entries.size > 0) {
+            invalidations++;
+        }
+        clear();
+        version = graph.getVersion();
+    }
+
+    /**
+     * 清空缓存 (切换寻路算法或代理半径后调用，统计保留)
+     */
+    public void clear() {
+        entries.clear();
+        entriesByGoal.clear();
+        head = null;
+        tail = null;
+    }
+
+    private void evict(Entry entry) {
+        unlink(entry);
+        entries.remove(entry.key);
+        Array<Entry> sameGoal = entriesByGoal.get(entry.goal);
+        sameGoal.removeValue(entry, true);
+        if (sameGoal.size == 0) {
+            entriesByGoal.remove(entry.goal);
+        }
+    }
+
+    private void touch(Entry entry) {
+        if (entry == head) return;
+        unlink(entry);
+        linkFirst(entry);
+    }
+
+    private void linkFirst(Entry entry) {
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) head.prev = entry;
+        head = entry;
+        if (tail == null) tail = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) entry.prev.next = entry.next; else head = entry.next;
+        if (entry.next != null) entry.next.prev = entry.prev; else tail = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static long key(int startIndex, int goalIndex) {
+        return ((long) startIndex << 32) | (goalIndex & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 命中率 (含后缀命中)
+     * @return 0 ~ 1，尚未查询时为 0
+     */
+    public float getHitRatio() {
+        long lookups = hits + suffixHits + misses;
+        return lookups == 0 ? 0f : (float) (hits + suffixHits) / lookups;
+    }
+
+    /**
+     * 清零统计
+     */
+    public void resetMetrics() {
+        hits = 0;
+        suffixHits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+
+    public int getSize() { return entries.size; }
+    public int getCapacity() { return capacity; }
+    public long getHits() { return hits; }
+    public long getSuffixHits() { return suffixHits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getInvalidations() { return invalidations; }
+}
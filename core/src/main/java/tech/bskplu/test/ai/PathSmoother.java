@@ -0,0 +1,110 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * @ClassName: PathSmoother
+ * @Description: 路径平滑 (拉绳算法)：去掉可以直接看见的中间路点，只保留拐点
+ * 视线检测沿网格中心连线做超覆盖 (supercover) 遍历，线段恰好穿过格角时要求两侧都可走，与不允许斜穿墙角的移动规则一致。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class PathSmoother {
+    private final GameTiledGraph graph;// 导航图
+    private final Array<GameTiledNode> nodesTemp = new Array<>();// 临时变量，避免重复创建
+
+    public PathSmoother(GameTiledGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * 原地平滑路径：从当前锚点出发，只要能看见下一个路点就跳过当前路点.
+     * @param path 逐格路径 (平滑后首尾节点不变)
+     * @return 移除的路点数
+     */
+    public int smooth(GraphPath<GameTiledNode> path) {
+        return smooth(path, 0);
+    }
+
+    /**
+     * 按代理体型原地平滑路径：直线经过的网格净空都足够时才跳过中间路点.
+     * @param path 逐格路径 (平滑后首尾节点不变)
+     * @param minClearance 需要的净空 (见 {@link GameTiledGraph#getRequiredClearance(float)})
+     * @return 移除的路点数
+     */
+    public int smooth(GraphPath<GameTiledNode> path, int minClearance) {
+        int count = path.getCount();
+        if (count <= 2) return 0;
+
+        nodesTemp.clear();
+        GameTiledNode anchor = path.get(0);
+        nodesTemp.add(anchor);
+        for (int i = 1; i < count - 1; i++) {
+            GameTiledNode next = path.get(i + 1);
+            if (!hasLineOfSight(anchor.x, anchor.y, next.x, next.y, minClearance)) {
+                anchor = path.get(i);
+                nodesTemp.add(anchor);
+            }
+        }
+        nodesTemp.add(path.get(count - 1));
+
+        path.clear();
+        for (GameTiledNode node : nodesTemp) {
+            path.add(node);
+        }
+        nodesTemp.clear();
+        return count - path.getCount();
+    }
+
+    /**
+     * 两个网格中心之间是否无遮挡 (连线经过的所有网格都可走).
+     * @param x0 起点网格X
+     * @param y0 起点网格Y
+     * @param x1 终点网格X
+     * @param y1 终点网格Y
+     * @return 是否可见
+     */
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        return hasLineOfSight(x0, y0, x1, y1, 0);
+    }
+
+    /**
+     * 两个网格中心之间能否让需要 minClearance 净空的代理直线通过 (连线经过的所有网格净空都足够).
+     * 起点和终点本身不检查净空，由调用方保证。
+     * @return 是否可通过
+     */
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1, int minClearance) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int stepX = x1 > x0 ? 1 : -1;
+        int stepY = y1 > y0 ? 1 : -1;
+        int x = x0;
+        int y = y0;
+        int error = dx - dy;// 与下一条竖直/水平网格线的距离差 (已乘 2 的单位)
+        dx *= 2;
+        dy *= 2;
+
+        for (int n = 1 + (dx + dy) / 2; n > 0; n--) {
+            if (!graph.isWalkable(x, y)) return false;
+            if (minClearance > 1 && (x != x0 || y != y0) && (x != x1 || y != y1)
+                && !graph.fitsAgent(y * graph.getWidth() + x, minClearance)) return false;
+            if (error > 0) {
+                x += stepX;
+                error -= dy;
+            } else if (error < 0) {
+                y += stepY;
+                error += dx;
+            } else {
+                // 恰好穿过格角：两侧都可走才能斜穿
+                if (n > 1 && (!graph.isWalkable(x + stepX, y) || !graph.isWalkable(x, y + stepY))) return false;
+                x += stepX;
+                y += stepY;
+                error += dx - dy;
+                n--;
+            }
+        }
+        return true;
+    }
+}
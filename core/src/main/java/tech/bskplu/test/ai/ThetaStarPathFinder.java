@@ -0,0 +1,199 @@
+package tech.bskplu.test.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.PathFinder;
+import com.badlogic.gdx.ai.pfa.PathFinderQueue;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName: ThetaStarPathFinder
+ * @Description: Theta* 任意角度寻路：松弛邻居时若父节点能直接看见邻居，就让邻居直接连到父节点
+ * 输出的路径只包含拐点 (相邻路点之间可直线行走)，不再是逐格路径。
+ * 代价与启发值都使用网格中心之间的欧氏距离，传入的启发函数会被忽略。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class ThetaStarPathFinder implements PathFinder<GameTiledNode> {
+    private final GameTiledGraph graph;// 导航图
+    private final PathSmoother lineOfSight;// 视线检测
+    private final int width;
+    private final NodeHeap openList;// 开放列表
+    private final float[] costSoFar;// 起点到各节点的代价
+    private final int[] parents;// 各节点的父节点 (不一定相邻)
+    private final int[] searchIds;// 节点最后一次被访问时的搜索编号
+    private final int[] closedIds;// 节点最后一次被关闭时的搜索编号
+    private int searchId;
+    private int minClearance;// 代理需要的净空 (不大于 1 时只要求网格可走)
+
+    // 当前搜索
+    private int startIndex;
+    private int goalIndex;
+
+    // 临时变量，避免重复创建
+    private final int[] neighborTargets = new int[GameTiledGraph.MAX_NEIGHBORS];
+    private final float[] neighborCosts = new float[GameTiledGraph.MAX_NEIGHBORS];
+    private final DefaultGraphPath<GameTiledNode> nodePathTemp = new DefaultGraphPath<>();
+
+    public final JumpPointPathFinder.Metrics metrics = new JumpPointPathFinder.Metrics();// 统计信息
+
+    public ThetaStarPathFinder(GameTiledGraph graph) {
+        this.graph = graph;
+        this.lineOfSight = new PathSmoother(graph);
+        this.width = graph.getWidth();
+        int nodeCount = graph.getNodeCount();
+        openList = new NodeHeap(nodeCount);
+        costSoFar = new float[nodeCount];
+        parents = new int[nodeCount];
+        searchIds = new int[nodeCount];
+        closedIds = new int[nodeCount];
+    }
+
+    @Override
+    public boolean searchNodePath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<GameTiledNode> outPath) {
+        initSearch(startNode, endNode);
+        while (!openList.isEmpty()) {
+            if (expandNext()) {
+                generateNodePath(outPath);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean searchConnectionPath(GameTiledNode startNode, GameTiledNode endNode, Heuristic<GameTiledNode> heuristic, GraphPath<Connection<GameTiledNode>> outPath) {
+        nodePathTemp.clear();
+        if (!searchNodePath(startNode, endNode, heuristic, nodePathTemp)) return false;
+        for (int i = 1; i < nodePathTemp.getCount(); i++) {
+            GameTiledNode from = nodePathTemp.get(i - 1);
+            GameTiledNode to = nodePathTemp.get(i);
+            outPath.add(new GameTiledConnection(from, to, distance(from.getIndex(), to.getIndex())));
+        }
+        return true;
+    }
+
+    /**
+     * 可中断的搜索，供 PathFinderQueue 按时间片调用.
+     */
+    @Override
+    public boolean search(PathFinderRequest<GameTiledNode> request, long timeToRun) {
+        long lastTime = TimeUtils.nanoTime();
+        if (request.statusChanged) {
+            initSearch(request.startNode, request.endNode);
+            request.statusChanged = false;
+        }
+        while (!openList.isEmpty()) {
+            long currentTime = TimeUtils.nanoTime();
+            timeToRun -= currentTime - lastTime;
+            if (timeToRun <= PathFinderQueue.TIME_TOLERANCE) return false;
+            lastTime = currentTime;
+
+            if (expandNext()) {
+                request.pathFound = true;
+                generateNodePath(request.resultPath);
+                return true;
+            }
+        }
+        request.pathFound = false;
+        return true;
+    }
+
+    private void initSearch(GameTiledNode startNode, GameTiledNode endNode) {
+        metrics.reset();
+        openList.clear();
+        if (++searchId == 0) {
+            // 编号溢出，重置所有标记
+            Arrays.fill(searchIds, 0);
+            Arrays.fill(closedIds, 0);
+            searchId = 1;
+        }
+        startIndex = startNode.getIndex();
+        goalIndex = endNode.getIndex();
+
+        if (!graph.fitsAgent(startIndex, minClearance) || !graph.fitsAgent(goalIndex, minClearance)) return;
+        searchIds[startIndex] = searchId;
+        costSoFar[startIndex] = 0f;
+        parents[startIndex] = startIndex;
+        openList.add(startIndex, distance(startIndex, goalIndex));
+        metrics.openListAdditions++;
+    }
+
+    /**
+     * 展开开放列表中代价最小的节点.
+     * @return 是否已到达终点
+     */
+    private boolean expandNext() {
+        int current = openList.pop();
+        metrics.visitedNodes++;
+        if (current == goalIndex) return true;
+        closedIds[current] = searchId;
+
+        int parent = parents[current];
+        int parentX = parent % width;
+        int parentY = parent / width;
+        int count = graph.getNeighbors(current, minClearance, neighborTargets, neighborCosts);
+        for (int i = 0; i < count; i++) {
+            int neighbor = neighborTargets[i];
+            if (closedIds[neighbor] == searchId) continue;
+            if (searchIds[neighbor] != searchId) {
+                searchIds[neighbor] = searchId;
+                costSoFar[neighbor] = Float.POSITIVE_INFINITY;
+            }
+
+            // 父节点能直接看见邻居时跳过当前节点 (路径 2)，否则按普通 A* 松弛 (路径 1)
+            int newParent;
+            float newCost;
+            if (lineOfSight.hasLineOfSight(parentX, parentY, neighbor % width, neighbor / width, minClearance)) {
+                newParent = parent;
+                newCost = costSoFar[parent] + distance(parent, neighbor);
+            } else {
+                newParent = current;
+                newCost = costSoFar[current] + distance(current, neighbor);
+            }
+            if (newCost < costSoFar[neighbor]) {
+                costSoFar[neighbor] = newCost;
+                parents[neighbor] = newParent;
+                openList.add(neighbor, newCost + distance(neighbor, goalIndex));
+                metrics.openListAdditions++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 设置代理半径，之后的搜索跳过净空不足的网格，视线检测也要求经过的网格净空足够
+     * @param agentRadius 代理半径 (米)，0 表示只要求网格可走
+     */
+    public void setAgentRadius(float agentRadius) {
+        this.minClearance = graph.getRequiredClearance(agentRadius);
+    }
+
+    /**
+     * 两个网格中心之间的欧氏距离 (以网格为单位)
+     */
+    private float distance(int from, int to) {
+        int dx = from % width - to % width;
+        int dy = from / width - to / width;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * 从终点沿父节点回溯，写入拐点路径 (包含起点和终点).
+     */
+    private void generateNodePath(GraphPath<GameTiledNode> outPath) {
+        int current = goalIndex;
+        while (current != startIndex) {
+            outPath.add(graph.getNode(current));
+            current = parents[current];
+        }
+        outPath.add(graph.getNode(startIndex));
+        outPath.reverse();
+    }
+}
@@ -0,0 +1,165 @@
+package tech.bskplu.test.characters;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import tech.bskplu.test.manager.AssetService;
+
+/**
+ * @ClassName: AnimationSet
+ * @Description: 一个角色的全部动画，按 (动画状态, 朝向) 存放在一维数组中，取动画只是一次数组下标访问。
+ * 同一种角色的动画集全局只创建一份，由所有实例共享 (享元)：第一次 acquire 时从世界图集创建，
+ * 最后一次 release 时丢弃并释放图集引用。动画本身不带播放进度，各实例用自己的状态时间取帧。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public final class AnimationSet {
+    /**
+     * 角色种类
+     */
+    public enum Kind {
+        CAT,// 猫猫
+        SAMURAI,// 武士
+        GUAN_PIN// 敌方将领 GuanPin
+    }
+
+    private static final AnimationState[] STATES = AnimationState.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final AnimationSet[] sets = new AnimationSet[Kind.values().length];// 已创建的动画集，按种类索引
+    private static final int[] referenceCounts = new int[Kind.values().length];// 各动画集的引用计数
+
+    private final Animation<TextureRegion>[] animations;// 下标为 state * 朝向数 + direction
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private AnimationSet() {
+        animations = new Animation[STATES.length * DIRECTIONS.length];
+    }
+
+    /**
+     * 获取共享的动画集并增加一次引用，之后需调用 {@link #release(Kind)}
+     * @param kind 角色种类
+     * @return 动画集
+     */
+    public static AnimationSet acquire(Kind kind) {
+        int index = kind.ordinal();
+        if (sets[index] == null) {
+            sets[index] = create(kind, AssetService.getInstance().acquireAtlas(AssetService.WORLD_ATLAS));
+        }
+        referenceCounts[index]++;
+        return sets[index];
+    }
+
+    /**
+     * 释放一次引用，引用计数归零时丢弃动画集并释放图集引用
+     * @param kind 角色种类
+     */
+    public static void release(Kind kind) {
+        int index = kind.ordinal();
+        if (referenceCounts[index] == 0) return;
+        if (--referenceCounts[index] == 0) {
+            sets[index] = null;
+            AssetService.getInstance().release(AssetService.WORLD_ATLAS);
+        }
+    }
+
+    /**
+     * 动画集当前的引用计数 (未创建时为 0)
+     * @param kind 角色种类
+     */
+    public static int getReferenceCount(Kind kind) {
+        return referenceCounts[kind.ordinal()];
+    }
+
+    /**
+     * 获取动画
+     * @param state 动画状态
+     * @param direction 朝向
+     * @return 动画 (该角色没有的状态返回同一朝向的站立动画)
+     */
+    public Animation<TextureRegion> get(AnimationState state, Direction direction) {
+        return animations[state.ordinal() * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    private static AnimationSet create(Kind kind, TextureAtlas atlas) {
+        AnimationSet set = new AnimationSet();
+        switch (kind) {
+            case CAT -> {
+                // 猫猫的动画不区分朝向
+                set.putUndirected(AnimationState.IDLE, atlas, "cat_idle", 0.2f, Animation.PlayMode.LOOP);
+                set.putUndirected(AnimationState.WALK, atlas, "cat_walk", 0.1f, Animation.PlayMode.LOOP);
+                set.putUndirected(AnimationState.RUN, atlas, "cat_run", 0.05f, Animation.PlayMode.LOOP);
+            }
+            case SAMURAI -> {
+                set.putDirected(AnimationState.IDLE, atlas, "samurai_idle", 0.2f, Animation.PlayMode.LOOP);
+                set.putDirected(AnimationState.WALK, atlas, "samurai_walk", 0.2f, Animation.PlayMode.LOOP);
+                set.putDirected(AnimationState.ATTACK, atlas, "samurai_attack", Player.ATTACK_FRAME_DURATION, Animation.PlayMode.NORMAL);
+            }
+            case GUAN_PIN -> {
+                set.putDirected(AnimationState.IDLE, atlas, "guanpin_idle", 0.2f, Animation.PlayMode.NORMAL);
+                set.putDirected(AnimationState.WALK, atlas, "guanpin_walk", 0.2f, Animation.PlayMode.LOOP);
+                set.putDirected(AnimationState.ATTACK, atlas, "guanpin_attack", 0.1f, Animation.PlayMode.NORMAL);
+            }
+        }
+        set.fillMissing();
+        return set;
+    }
+
+    /**
+     * 放入四个朝向的动画，区域名为 "前缀_down/up/left"，朝右的由朝左的帧翻转得到
+     */
+    private void putDirected(AnimationState state, TextureAtlas atlas, String prefix, float frameDuration, Animation.PlayMode playMode) {
+        int base = state.ordinal() * DIRECTIONS.length;
+        animations[base + Direction.DOWN.ordinal()] = createAnimation(atlas, prefix + "_down", frameDuration, playMode, false);
+        animations[base + Direction.UP.ordinal()] = createAnimation(atlas, prefix + "_up", frameDuration, playMode, false);
+        animations[base + Direction.LEFT.ordinal()] = createAnimation(atlas, prefix + "_left", frameDuration, playMode, false);
+        animations[base + Direction.RIGHT.ordinal()] = createAnimation(atlas, prefix + "_left", frameDuration, playMode, true);
+    }
+
+    /**
+     * 放入不区分朝向的动画，四个朝向共用同一个
+     */
+    private void putUndirected(AnimationState state, TextureAtlas atlas, String name, float frameDuration, Animation.PlayMode playMode) {
+        Animation<TextureRegion> animation = createAnimation(atlas, name, frameDuration, playMode, false);
+        int base = state.ordinal() * DIRECTIONS.length;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            animations[base + i] = animation;
+        }
+    }
+
+    /**
+     * 角色没有的状态用同一朝向的站立动画代替，取动画时不需要判空
+     */
+    private void fillMissing() {
+        for (int i = 0; i < animations.length; i++) {
+            if (animations[i] == null) {
+                animations[i] = animations[AnimationState.IDLE.ordinal() * DIRECTIONS.length + i % DIRECTIONS.length];
+            }
+        }
+    }
+
+    /**
+     * 用图集中同名的一组区域 (按构建时的帧序号排列) 创建动画
+     * @param atlas 图集
+     * @param name 区域名 (见 build.gradle 中的 atlasSheets)
+     * @param frameDuration 每帧时长 (秒)
+     * @param playMode 播放模式
+     * @param flipX 是否水平翻转 (朝右的动画由朝左的帧翻转得到)
+     * @return 动画
+     */
+    private static Animation<TextureRegion> createAnimation(TextureAtlas atlas, String name, float frameDuration,
+                                                            Animation.PlayMode playMode, boolean flipX) {
+        Array<TextureAtlas.AtlasRegion> regions = atlas.findRegions(name);
+        if (regions.isEmpty()) throw new GdxRuntimeException("Atlas region not found: " + name);
+        TextureRegion[] frames = new TextureRegion[regions.size];
+        for (int i = 0; i < regions.size; i++) {
+            frames[i] = flipX ? new TextureRegion(regions.get(i)) : regions.get(i);
+            if (flipX) frames[i].flip(true, false);
+        }
+        Animation<TextureRegion> animation = new Animation<>(frameDuration, frames);
+        animation.setPlayMode(playMode);
+        return animation;
+    }
+}
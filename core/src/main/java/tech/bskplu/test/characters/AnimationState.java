@@ -0,0 +1,15 @@
+package tech.bskplu.test.characters;
+
+/**
+ * @ClassName: AnimationState
+ * @Description: 角色动画状态，与 {@link Direction} 一起作为 {@link AnimationSet} 的索引
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public enum AnimationState {
+    IDLE,// 站立
+    WALK,// 行走
+    RUN,// 奔跑
+    ATTACK// 攻击
+}
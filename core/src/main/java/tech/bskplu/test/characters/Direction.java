@@ -0,0 +1,28 @@
+package tech.bskplu.test.characters;
+
+/**
+ * @ClassName: Direction
+ * @Description: 角色朝向，与 {@link AnimationState} 一起作为 {@link AnimationSet} 的索引
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public enum Direction {
+    DOWN,// 向下
+    UP,// 向上
+    LEFT,// 向左
+    RIGHT;// 向右 (由向左的帧水平翻转得到)
+
+    /**
+     * 按速度的主方向取朝向
+     * @param x X 速度
+     * @param y Y 速度
+     * @return 朝向
+     */
+    public static Direction of(float x, float y) {
+        if (Math.abs(x) > Math.abs(y)) {
+            return x > 0 ? RIGHT : LEFT;
+        }
+        return y > 0 ? UP : DOWN;
+    }
+}
@@ -3,16 +3,23 @@ package tech.bskplu.test.characters;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
 import com.badlogic.gdx.ai.pfa.GraphPath;
-import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import tech.bskplu.test.ai.DStarLitePlanner;
+import tech.bskplu.test.ai.FlowField;
 import tech.bskplu.test.ai.GameTiledGraph;
-import tech.bskplu.test.ai.GameTiledHeuristic;
 import tech.bskplu.test.ai.GameTiledNode;
+import tech.bskplu.test.manager.AIManager;
+import tech.bskplu.test.manager.PathCallback;
+import tech.bskplu.test.manager.PathRequest;
+import tech.bskplu.test.manager.WorldManager;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
 /**
  * @ClassName: Enemy
  * @Description: 管理敌人逻辑，包括 AI 行为、移动和动画
@@ -21,141 +28,106 @@ import tech.bskplu.test.ai.GameTiledNode;
  * @Version 1.1
  */
 public class Enemy extends Character{
+    /**
+     * 追击方式
+     */
+    public enum PathMode {
+        SEARCH,// 每个敌人定期搜索自己的路径
+        INCREMENTAL,// 定期用 D* Lite 修复上一次的路径，代价随变化大小而非地图大小增长
+        ASYNC_SEARCH,// 定期向 AIManager 提交异步寻路请求，结果在之后的帧返回
+        TIME_SLICED,// 定期提交分时寻路请求，在渲染线程中按每帧预算推进
+        FLOW_FIELD// 读取 AIManager 中所有敌人共享的流场
+    }
+
     private Body enemyBody;// 敌人的物理身体
-    private Texture guanPinMovTexture;// 敌人移动纹理
-    private Texture guanPinAtkTexture;// 敌人攻击纹理
-    private Animation<TextureRegion> guanPinWalkDownAnimation;
-    private Animation<TextureRegion> guanPinWalkUpAnimation;
-    private Animation<TextureRegion> guanPinWalkLeftAnimation;
-    private Animation<TextureRegion> guanPinWalkRightAnimation;
-    private Animation<TextureRegion> guanPinIdleDownAnimation;
-    private Animation<TextureRegion> guanPinIdleUpAnimation;
-    private Animation<TextureRegion> guanPinIdleLeftAnimation;
-    private Animation<TextureRegion> guanPinIdleRightAnimation;
-    private Animation<TextureRegion> guanPinAttackDownAnimation;
-    private Animation<TextureRegion> guanPinAttackUpAnimation;
-    private Animation<TextureRegion> guanPinAttackLeftAnimation;
-    private Animation<TextureRegion> guanPinAttackRightAnimation;
+    private AnimationSet guanPinAnimations;// 敌人的动画集 (所有敌人共享)
     private float enemyStateTime = 0f;// 动画状态时间
-    private String enemyCurrentAnimation = "idle_down";// 当前动画状态
-    private String enemyLastDirection = "down";// 最后移动方向
+    private AnimationState enemyAnimationState = AnimationState.IDLE;// 当前动画状态
+    private Direction enemyLastDirection = Direction.DOWN;// 最后移动方向
+    private AIManager aiManager;// AI 管理器
     private GameTiledGraph tiledGraph;// 导航图
-    private IndexedAStarPathFinder<GameTiledNode> pathFinder;// A* 寻路器
+    private DStarLitePlanner pathPlanner;// 增量寻路器 (按需创建，每个敌人保留自己的搜索状态)
     private GraphPath<GameTiledNode> enemyPath;// 敌人路径
     private float pathUpdateTimer = 0f;// 路径更新计决定了敌人路径更新间隔
     private static final float PATH_UPDATE_INTERVAL = 0.5f;// 路径更新间隔 (秒)
     private int currentPathIndex = 0;// 当前路径索引
     private Vector2 enemyTargetWorldPos = new Vector2();// 目标世界坐标
+    private final Vector2 tmpVec = new Vector2();// 临时向量
+    private PathMode pathMode = PathMode.INCREMENTAL;// 追击方式
+    private boolean hasFlowTarget = false;// 流场模式下是否已有目标格
+    private boolean smoothPaths = true;// 是否对路径做拉绳平滑 (沿直线走向可见的拐点)
+    private final PathCallback pathCallback = this::onPathReady;// 异步寻路回调
+    public static final float ENEMY_RADIUS = 16f / 32f;// 敌人碰撞半径 (米)
+    private static final int NODE_SNAP_DISTANCE = 2;// 起点/终点净空不足时，向外查找够宽网格的最大距离 (网格)
+    private final int agentClearance;// 敌人体型需要的净空 (网格)
     private static final float ENEMY_FOLLOW_SPEED = 1.5f;// 敌人跟随速度 (米/秒)
     private static final float ENEMY_ARRIVAL_TOLERANCE = 0.2f;// 到达容忍距离 (米)
     private static final float PLAYER_CATCH_DISTANCE = 1.1f;// 抓住玩家的距离 (米)
     private boolean playerCaught = false;// 是否抓住玩家
+    private boolean graphicsLoaded = false;// 是否已获取动画集
+    private int pathRequestCount = 0;// 累计发起的寻路次数 (同步、增量、异步和分时；流场模式不计)
     private float gameOverTimer = 0f;// 游戏结束计时器
     private static final float GAME_OVER_DELAY = 3.0f;// 游戏结束延迟 (秒)
 
     /**
      * 构造函数：初始化敌人并创建物理身体和动画
      * @param world Box2D 物理世界
-     * @param tiledGraph 导航图
-     * @param pathFinder A* 寻路器
+     * @param aiManager AI 管理器 (提供导航图、寻路器和共享流场)
+     */
+    public Enemy(World world, AIManager aiManager) {
+        this(world, aiManager, true);
+    }
+
+    /**
+     * 构造函数：初始化敌人并创建物理身体
+     * @param world Box2D 物理世界
+     * @param aiManager AI 管理器 (提供导航图、寻路器和共享流场)
+     * @param loadGraphics 是否加载纹理和动画 (无窗口模拟时为 false，此时 {@link #getEnemyCurrentFrame} 返回 null)
+     */
+    public Enemy(World world, AIManager aiManager, boolean loadGraphics) {
+        this(world, aiManager, loadGraphics, MathUtils.random);
+    }
+
+    /**
+     * 构造函数：初始化敌人并在随机位置创建物理身体
+     * @param world Box2D 物理世界
+     * @param aiManager AI 管理器 (提供导航图、寻路器和共享流场)
+     * @param loadGraphics 是否加载纹理和动画
+     * @param random 出生点的随机数 (传入 WorldManager 的随机数时，同一种子得到同样的出生点)
      */
-    public Enemy(World world, GameTiledGraph tiledGraph, IndexedAStarPathFinder<GameTiledNode> pathFinder) {
+    public Enemy(World world, AIManager aiManager, boolean loadGraphics, Random random) {
         super(world);
-        this.tiledGraph = tiledGraph;
-        this.pathFinder = pathFinder;
+        this.aiManager = aiManager;
+        this.tiledGraph = aiManager.getTiledGraph();
+        this.agentClearance = tiledGraph.getRequiredClearance(ENEMY_RADIUS);
         enemyPath = new DefaultGraphPath<>();
         float margin = 2.0f;
-        float randomX = MathUtils.random(margin, 800 / 32f - margin);
-        float randomY = MathUtils.random(margin, 600 / 32f - margin);
+        float randomX = margin + random.nextFloat() * (800 / 32f - 2 * margin);
+        float randomY = margin + random.nextFloat() * (600 / 32f - 2 * margin);
         body.setTransform(randomX, randomY, 0);
         body.getFixtureList().get(0).setUserData("enemy");
-        createGuanPin(world);
+        if (loadGraphics) {
+            guanPinAnimations = AnimationSet.acquire(AnimationSet.Kind.GUAN_PIN);
+            graphicsLoaded = true;
+        }
+        createEnemyBody(world, random);
     }
 
     /**
-     * 创建敌人角色及其动画和物理身体
+     * 创建物理身体
      * @param world Box2D 物理世界
+     * @param random 出生点的随机数
      */
-    private void createGuanPin(World world) {
-        guanPinMovTexture = new Texture(Gdx.files.internal("Mov_GuanPin.png"));
-        int movFrameHeight = guanPinMovTexture.getHeight() / 11;
-        int movFrameWidth = guanPinMovTexture.getWidth();
-        TextureRegion[][] movTmp = TextureRegion.split(guanPinMovTexture, movFrameWidth, movFrameHeight);
-
-        // 行走动画
-        TextureRegion[] walkDownFrames = {movTmp[0][0], movTmp[1][0]};
-        guanPinWalkDownAnimation = new Animation<>(0.2f, walkDownFrames);
-        guanPinWalkDownAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkUpFrames = {movTmp[2][0], movTmp[3][0]};
-        guanPinWalkUpAnimation = new Animation<>(0.2f, walkUpFrames);
-        guanPinWalkUpAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkLeftFrames = {movTmp[4][0], movTmp[5][0]};
-        guanPinWalkLeftAnimation = new Animation<>(0.2f, walkLeftFrames);
-        guanPinWalkLeftAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        TextureRegion[] walkRightFrames = new TextureRegion[2];
-        for (int i = 0; i < 2; i++) {
-            walkRightFrames[i] = new TextureRegion(movTmp[4 + i][0]);
-            walkRightFrames[i].flip(true, false);
-        }
-        guanPinWalkRightAnimation = new Animation<>(0.2f, walkRightFrames);
-        guanPinWalkRightAnimation.setPlayMode(Animation.PlayMode.LOOP);
-
-        // Idle 动画
-        TextureRegion[] idleDownFrames = {movTmp[6][0]};
-        guanPinIdleDownAnimation = new Animation<>(0.2f, idleDownFrames);
-
-        TextureRegion[] idleUpFrames = {movTmp[7][0]};
-        guanPinIdleUpAnimation = new Animation<>(0.2f, idleUpFrames);
-
-        TextureRegion[] idleLeftFrames = {movTmp[8][0]};
-        guanPinIdleLeftAnimation = new Animation<>(0.2f, idleLeftFrames);
-
-        TextureRegion[] idleRightFrames = {new TextureRegion(movTmp[8][0])};
-        idleRightFrames[0].flip(true, false);
-        guanPinIdleRightAnimation = new Animation<>(0.2f, idleRightFrames);
-
-        // 攻击动画
-        guanPinAtkTexture = new Texture(Gdx.files.internal("Atk_GuanPin.png"));
-        int atkFrameHeight = guanPinAtkTexture.getHeight() / 12;
-        int atkFrameWidth = guanPinAtkTexture.getWidth();
-        TextureRegion[][] atkTmp = TextureRegion.split(guanPinAtkTexture, atkFrameWidth, atkFrameHeight);
-
-        TextureRegion[] attackDownFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackDownFrames[i] = atkTmp[i][0];
-        guanPinAttackDownAnimation = new Animation<>(0.1f, attackDownFrames);
-        guanPinAttackDownAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackUpFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackUpFrames[i] = atkTmp[4 + i][0];
-        guanPinAttackUpAnimation = new Animation<>(0.1f, attackUpFrames);
-        guanPinAttackUpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackLeftFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackLeftFrames[i] = atkTmp[8 + i][0];
-        guanPinAttackLeftAnimation = new Animation<>(0.1f, attackLeftFrames);
-        guanPinAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackRightFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackRightFrames[i] = new TextureRegion(atkTmp[8 + i][0]);
-            attackRightFrames[i].flip(true, false);
-        }
-        guanPinAttackRightAnimation = new Animation<>(0.1f, attackRightFrames);
-        guanPinAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        // 创建物理身体
+    private void createEnemyBody(World world, Random random) {
         BodyDef enemyBodyDef = new BodyDef();
         enemyBodyDef.type = BodyDef.BodyType.DynamicBody;
         float margin = 2.0f;
-        float randomX = MathUtils.random(margin, 800 / 32f - margin);
-        float randomY = MathUtils.random(margin, 600 / 32f - margin);
+        float randomX = margin + random.nextFloat() * (800 / 32f - 2 * margin);
+        float randomY = margin + random.nextFloat() * (600 / 32f - 2 * margin);
         enemyBodyDef.position.set(randomX, randomY);
         enemyBody = world.createBody(enemyBodyDef);
         CircleShape enemyShape = new CircleShape();
-        enemyShape.setRadius(16f / 32f);
+        enemyShape.setRadius(ENEMY_RADIUS);
         FixtureDef enemyFixtureDef = new FixtureDef();
         enemyFixtureDef.shape = enemyShape;
         enemyFixtureDef.density = 1f;
@@ -185,12 +157,20 @@ public class Enemy extends Character{
             return;
         }
 
-        pathUpdateTimer -= delta;
-        if (pathUpdateTimer <= 0f) {
-            pathUpdateTimer = PATH_UPDATE_INTERVAL;
-            updateEnemyPath(playerBody);
+        if (pathMode == PathMode.FLOW_FIELD) {
+            followFlowField(playerBody);
+        } else {
+            pathUpdateTimer -= delta;
+            if (pathUpdateTimer <= 0f) {
+                pathUpdateTimer = PATH_UPDATE_INTERVAL;
+                if (pathMode == PathMode.ASYNC_SEARCH || pathMode == PathMode.TIME_SLICED) {
+                    requestEnemyPath(playerBody);
+                } else {
+                    updateEnemyPath(playerBody);
+                }
+            }
+            followPath(delta);
         }
-        followPath(delta);
         updateEnemyAnimation();
     }
 
@@ -199,29 +179,23 @@ public class Enemy extends Character{
      * @param playerBody 玩家物理身体
      */
     private void updateEnemyPath(Body playerBody) {
-        Vector2 enemyPos = enemyBody.getPosition();
-        Vector2 playerPos = playerBody.getPosition();
-        int startX = tiledGraph.worldToTileX(enemyPos.x);
-        int startY = tiledGraph.worldToTileY(enemyPos.y);
-        int endX = tiledGraph.worldToTileX(playerPos.x);
-        int endY = tiledGraph.worldToTileY(playerPos.y);
+        GameTiledNode startNode = snapToFittingNode(getTileNode(enemyBody.getPosition()));
+        GameTiledNode endNode = snapToFittingNode(getReachableTarget(startNode, getTileNode(playerBody.getPosition())));
 
-        GameTiledNode startNode = tiledGraph.getNode(startX, startY);
-        GameTiledNode endNode = tiledGraph.getNode(endX, endY);
-
-        if (startNode != null && startNode.type != GameTiledGraph.TILE_WALL &&
-            endNode != null && endNode.type != GameTiledGraph.TILE_WALL) {
+        if (isOpenNode(startNode) && isOpenNode(endNode)) {
+            pathRequestCount++;
             enemyPath.clear();
-            pathFinder.searchNodePath(startNode, endNode, new GameTiledHeuristic(), enemyPath);
-            currentPathIndex = 0;
-            if (enemyPath.getCount() > 1) {
-                currentPathIndex = 1;
-                GameTiledNode nextNode = enemyPath.get(currentPathIndex);
-                tiledGraph.tileToWorldCenter(nextNode.x, nextNode.y, enemyTargetWorldPos);
+            if (pathMode == PathMode.INCREMENTAL) {
+                if (pathPlanner == null) {
+                    pathPlanner = new DStarLitePlanner(tiledGraph);
+                    pathPlanner.setAgentRadius(ENEMY_RADIUS);
+                    tiledGraph.addChangeListener(pathPlanner);
+                }
+                pathPlanner.plan(startNode, endNode, enemyPath);
             } else {
-                currentPathIndex = 0;
-                enemyPath.clear();
+                aiManager.findPath(startNode, endNode, enemyPath);
             }
+            startFollowingPath();
         } else {
             enemyPath.clear();
             currentPathIndex = 0;
@@ -229,6 +203,87 @@ public class Enemy extends Character{
         }
     }
 
+    /**
+     * 向 AIManager 提交异步或分时寻路请求，结果到达前继续沿旧路径移动
+     * @param playerBody 玩家物理身体
+     */
+    private void requestEnemyPath(Body playerBody) {
+        GameTiledNode startNode = snapToFittingNode(getTileNode(enemyBody.getPosition()));
+        GameTiledNode endNode = snapToFittingNode(getReachableTarget(startNode, getTileNode(playerBody.getPosition())));
+
+        if (isOpenNode(startNode) && isOpenNode(endNode)) {
+            if (pathMode == PathMode.TIME_SLICED) {
+                aiManager.schedulePath(this, startNode, endNode, pathCallback);
+                pathRequestCount++;
+            } else if (aiManager.requestPath(this, startNode, endNode, pathCallback)) {
+                pathRequestCount++;
+            } else {
+                pathUpdateTimer = 0f;// 在途请求已满，下一帧重试
+            }
+        } else {
+            Gdx.app.log("AI", "Path request skipped: Invalid start/end node or wall.");
+        }
+    }
+
+    /**
+     * 异步或分时寻路结果到达 (渲染线程)
+     * @param request 已完成的请求
+     */
+    private void onPathReady(PathRequest request) {
+        enemyPath.clear();
+        if (request.isPathFound()) {
+            GraphPath<GameTiledNode> path = request.getPath();
+            for (int i = 0; i < path.getCount(); i++) {
+                enemyPath.add(path.get(i));
+            }
+        }
+        startFollowingPath();
+    }
+
+    /**
+     * 从新路径的第二个节点开始跟随 (第一个节点是敌人所在的网格)
+     */
+    private void startFollowingPath() {
+        if (smoothPaths) {
+            aiManager.getPathSmoother().smooth(enemyPath, agentClearance);
+        }
+        if (enemyPath.getCount() > 1) {
+            currentPathIndex = 1;
+            GameTiledNode nextNode = enemyPath.get(currentPathIndex);
+            tiledGraph.tileToWorldCenter(nextNode.x, nextNode.y, enemyTargetWorldPos);
+        } else {
+            currentPathIndex = 0;
+            enemyPath.clear();
+        }
+    }
+
+    /**
+     * 玩家所在网格与敌人不连通时 (例如被障碍物围住)，改为追向离玩家最近的可达网格，
+     * 不可达的判断只需 O(1)，不会让搜索遍历整个区域后才失败
+     */
+    private GameTiledNode getReachableTarget(GameTiledNode startNode, GameTiledNode endNode) {
+        if (!isOpenNode(startNode) || endNode == null) return endNode;
+        int targetIndex = tiledGraph.getComponents().findClosestReachable(startNode.getIndex(), endNode.getIndex());
+        return targetIndex < 0 ? endNode : tiledGraph.getNode(targetIndex);
+    }
+
+    /**
+     * 敌人贴墙站立或玩家在窄处时，网格本身净空不足，换成附近能容纳敌人体型的网格
+     */
+    private GameTiledNode snapToFittingNode(GameTiledNode node) {
+        if (node == null || agentClearance <= 1) return node;
+        int index = tiledGraph.getClearanceMap().findNearestFitting(node.getIndex(), agentClearance, NODE_SNAP_DISTANCE);
+        return index < 0 ? node : tiledGraph.getNode(index);
+    }
+
+    private GameTiledNode getTileNode(Vector2 worldPos) {
+        return tiledGraph.getNode(tiledGraph.worldToTileX(worldPos.x), tiledGraph.worldToTileY(worldPos.y));
+    }
+
+    private boolean isOpenNode(GameTiledNode node) {
+        return node != null && node.type != GameTiledGraph.TILE_WALL;
+    }
+
     /**
      * 跟随计算出的路径移动
      * @param delta 时间增量
@@ -252,7 +307,38 @@ public class Enemy extends Character{
             }
         }
 
-        Vector2 direction = GameTiledGraph.tmpVec.set(enemyTargetWorldPos).sub(enemyPos).nor();
+        Vector2 direction = tmpVec.set(enemyTargetWorldPos).sub(enemyPos).nor();
+        enemyBody.setLinearVelocity(direction.scl(ENEMY_FOLLOW_SPEED));
+    }
+
+    /**
+     * 沿共享流场移动：查表得到下一格，不进行路径搜索
+     * @param playerBody 玩家物理身体
+     */
+    private void followFlowField(Body playerBody) {
+        FlowField flowField = aiManager.updateFlowField(playerBody.getPosition());
+        Vector2 enemyPos = enemyBody.getPosition();
+        int width = tiledGraph.getWidth();
+        int currentIndex = tiledGraph.worldToTileY(enemyPos.y) * width + tiledGraph.worldToTileX(enemyPos.x);
+
+        if (currentIndex == flowField.getTargetIndex()) {
+            // 已在玩家所在网格，直接靠近玩家
+            enemyTargetWorldPos.set(playerBody.getPosition());
+            hasFlowTarget = true;
+        } else {
+            int nextIndex = flowField.getNext(currentIndex);
+            if (nextIndex >= 0) {
+                tiledGraph.tileToWorldCenter(nextIndex % width, nextIndex / width, enemyTargetWorldPos);
+                hasFlowTarget = true;
+            }
+            // 站在墙格上或暂时不可达时沿用上一次的目标格
+        }
+
+        if (!hasFlowTarget) {
+            enemyBody.setLinearVelocity(0, 0);
+            return;
+        }
+        Vector2 direction = tmpVec.set(enemyTargetWorldPos).sub(enemyPos).nor();
         enemyBody.setLinearVelocity(direction.scl(ENEMY_FOLLOW_SPEED));
     }
 
@@ -265,14 +351,10 @@ public class Enemy extends Character{
         boolean isMoving = !velocity.isZero(0.1f);
 
         if (isMoving) {
-            if (Math.abs(velocity.x) > Math.abs(velocity.y)) {
-                enemyLastDirection = (velocity.x > 0) ? "right" : "left";
-            } else {
-                enemyLastDirection = (velocity.y > 0) ? "up" : "down";
-            }
-            enemyCurrentAnimation = "walk_" + enemyLastDirection;
+            enemyLastDirection = Direction.of(velocity.x, velocity.y);
+            enemyAnimationState = AnimationState.WALK;
         } else {
-            enemyCurrentAnimation = "idle_" + enemyLastDirection;
+            enemyAnimationState = AnimationState.IDLE;
         }
     }
 
@@ -282,18 +364,9 @@ public class Enemy extends Character{
      * @return 当前帧
      */
     public TextureRegion getEnemyCurrentFrame(float stateTime) {
-        Animation<TextureRegion> anim = switch (enemyCurrentAnimation) {
-            case "walk_down" -> guanPinWalkDownAnimation;
-            case "walk_up" -> guanPinWalkUpAnimation;
-            case "walk_left" -> guanPinWalkLeftAnimation;
-            case "walk_right" -> guanPinWalkRightAnimation;
-            case "idle_down" -> guanPinIdleDownAnimation;
-            case "idle_up" -> guanPinIdleUpAnimation;
-            case "idle_left" -> guanPinIdleLeftAnimation;
-            case "idle_right" -> guanPinIdleRightAnimation;
-            default -> guanPinIdleDownAnimation;
-        };
-        return anim.getKeyFrame(stateTime, true);
+        Animation<TextureRegion> anim = getCurrentAnimation();
+        if (anim == null) return null;
+        return anim.getKeyFrame(stateTime, enemyAnimationState != AnimationState.ATTACK);
     }
 
     public Body getEnemyBody() { return enemyBody; }
@@ -303,40 +376,79 @@ public class Enemy extends Character{
     public float getEnemyStateTime() { return enemyStateTime; }
     public void setEnemyStateTime(float enemyStateTime) { this.enemyStateTime = enemyStateTime; }
     public boolean isPlayerCaught() { return playerCaught; }
+
+    /**
+     * 放开被抓住的玩家，恢复追击 (连续模拟时使用)
+     */
+    public void releasePlayer() {
+        playerCaught = false;
+        gameOverTimer = 0f;
+    }
+
+    public int getPathRequestCount() { return pathRequestCount; }
+
+    /**
+     * 写入影响模拟的 AI 状态：物理身体、计时器、当前路径和追击状态。
+     * 游戏结束计时器由场景按帧时间递减，不属于模拟状态，不写入
+     * @param out 输出
+     */
+    public void writeState(DataOutput out) throws IOException {
+        WorldManager.writeBodyState(body, out);
+        WorldManager.writeBodyState(enemyBody, out);
+        out.writeByte(pathMode.ordinal());
+        out.writeBoolean(playerCaught);
+        out.writeBoolean(hasFlowTarget);
+        out.writeFloat(pathUpdateTimer);
+        out.writeFloat(enemyTargetWorldPos.x);
+        out.writeFloat(enemyTargetWorldPos.y);
+        out.writeInt(pathRequestCount);
+        out.writeInt(currentPathIndex);
+        out.writeInt(enemyPath.getCount());
+        for (GameTiledNode node : enemyPath) {
+            out.writeInt(node.getIndex());
+        }
+        out.writeByte(enemyAnimationState.ordinal());
+        out.writeByte(enemyLastDirection.ordinal());
+    }
+    public PathMode getPathMode() { return pathMode; }
+    public void setPathMode(PathMode pathMode) { this.pathMode = pathMode; }
+    public boolean isSmoothPaths() { return smoothPaths; }
+    public void setSmoothPaths(boolean smoothPaths) { this.smoothPaths = smoothPaths; }
     public float getGameOverTimer() { return gameOverTimer; }
     public void setGameOverTimer(float gameOverTimer) { this.gameOverTimer = gameOverTimer; }
 
-    public void startAttackAnimation(String direction) {
-        enemyCurrentAnimation = "attack_" + direction;
+    public void startAttackAnimation(Direction direction) {
+        enemyLastDirection = direction;
+        enemyAnimationState = AnimationState.ATTACK;
         enemyStateTime = 0f;
     }
 
     public void updateAnimation(float delta) {
         Animation<TextureRegion> currentAnim = getCurrentAnimation();
         if (currentAnim != null && currentAnim.isAnimationFinished(enemyStateTime)) {
-            enemyCurrentAnimation = "idle_" + enemyLastDirection;
+            enemyAnimationState = AnimationState.IDLE;
+        }
+    }
+
+    /**
+     * 从导航图上注销增量寻路器，释放对动画集的引用 (其他仍在使用的敌人持有各自的引用)
+     */
+    public void dispose() {
+        if (pathPlanner != null) {
+            tiledGraph.removeChangeListener(pathPlanner);
+            pathPlanner = null;
         }
+        if (!graphicsLoaded) return;
+        graphicsLoaded = false;
+        guanPinAnimations = null;
+        AnimationSet.release(AnimationSet.Kind.GUAN_PIN);
     }
 
-    public String getEnemyLastDirection() {
+    public Direction getEnemyLastDirection() {
         return enemyLastDirection;
     }
 
     private Animation<TextureRegion> getCurrentAnimation() {
-        return switch (enemyCurrentAnimation) {
-            case "walk_down" -> guanPinWalkDownAnimation;
-            case "walk_up" -> guanPinWalkUpAnimation;
-            case "walk_left" -> guanPinWalkLeftAnimation;
-            case "walk_right" -> guanPinWalkRightAnimation;
-            case "idle_down" -> guanPinIdleDownAnimation;
-            case "idle_up" -> guanPinIdleUpAnimation;
-            case "idle_left" -> guanPinIdleLeftAnimation;
-            case "idle_right" -> guanPinIdleRightAnimation;
-            case "attack_down" -> guanPinAttackDownAnimation;
-            case "attack_up" -> guanPinAttackUpAnimation;
-            case "attack_left" -> guanPinAttackLeftAnimation;
-            case "attack_right" -> guanPinAttackRightAnimation;
-            default -> guanPinIdleDownAnimation;
-        };
+        return guanPinAnimations == null ? null : guanPinAnimations.get(enemyAnimationState, enemyLastDirection);
     }
 }
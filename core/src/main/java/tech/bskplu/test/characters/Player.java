@@ -2,14 +2,15 @@ package tech.bskplu.test.characters;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import tech.bskplu.test.manager.WorldManager;
 import tech.bskplu.test.skills.DoubleStrikeSkill;
 
-import java.util.Arrays;
+import java.io.DataOutput;
+import java.io.IOException;
 /**
  * @ClassName: Player
  * @Description: 管理玩家逻辑，包括移动、动画和攻击
@@ -18,77 +19,62 @@ import java.util.Arrays;
  * @Version 1.1
  */
 public class Player extends Character{
+    // 输入位掩码：键盘输入、脚本输入和回放都转换成同一种表示
+    public static final int INPUT_UP = 1;// 向上移动
+    public static final int INPUT_DOWN = 1 << 1;// 向下移动
+    public static final int INPUT_LEFT = 1 << 2;// 向左移动
+    public static final int INPUT_RIGHT = 1 << 3;// 向右移动
+    public static final int INPUT_RUN = 1 << 4;// 奔跑 (仅猫猫)
+    public static final int INPUT_ATTACK = 1 << 5;// 攻击 (本帧按下)
+    public static final int INPUT_SWITCH = 1 << 6;// 切换角色 (本帧按下)
+    private static final int ATTACK_FRAME_COUNT = 4;// 武士攻击动画帧数 (与 build.gradle 中 samurai_attack_* 的帧数一致)
+    static final float ATTACK_FRAME_DURATION = 0.1f;// 武士攻击动画每帧时长 (秒)
+    private static final float ATTACK_DURATION = ATTACK_FRAME_COUNT * ATTACK_FRAME_DURATION;// 攻击持续时间 (秒)，不依赖是否加载了动画，回放时与游戏中一致
+
     private Body playerBody;// 玩家的物理身体
-    private Texture playerTexture;// 猫猫角色纹理
-    private Animation<TextureRegion> playerIdleAnimation;
-    private Animation<TextureRegion> playerWalkAnimation;
-    private Animation<TextureRegion> playerRunAnimation;
-    private Texture samuraiTexture;// 武士角色纹理
-    private Animation<TextureRegion> samuraiWalkDownAnimation;
-    private Animation<TextureRegion> samuraiWalkUpAnimation;
-    private Animation<TextureRegion> samuraiWalkLeftAnimation;
-    private Animation<TextureRegion> samuraiWalkRightAnimation;
-    private Animation<TextureRegion> samuraiIdleDownAnimation;
-    private Animation<TextureRegion> samuraiIdleUpAnimation;
-    private Animation<TextureRegion> samuraiIdleLeftAnimation;
-    private Animation<TextureRegion> samuraiIdleRightAnimation;
-    private Texture attackTexture;// 武士攻击纹理
-    private Animation<TextureRegion> samuraiAttackDownAnimation;
-    private Animation<TextureRegion> samuraiAttackUpAnimation;
-    private Animation<TextureRegion> samuraiAttackLeftAnimation;
-    private Animation<TextureRegion> samuraiAttackRightAnimation;
+    private AnimationSet catAnimations;// 猫猫的动画集 (共享)
+    private AnimationSet samuraiAnimations;// 武士的动画集 (共享)
     private float playerStateTime = 0f;// 动画状态时间
-    private String currentAnimation = "idle_down";// 当前动画状态
-    private String lastDirection = "down";// 最后移动方向
+    private AnimationState animationState = AnimationState.IDLE;// 当前动画状态
+    private Direction lastDirection = Direction.DOWN;// 最后移动方向
     private float playerSpeed = 2f;// 普通移动速度 (米/秒)
     private float playerRunSpeed = 5f;// 奔跑速度 (米/秒)
     private boolean isPlayer1Active = false;// 是否激活猫猫角色 (否则为武士)
     private boolean isAttacking = false;// 是否正在攻击
+    private boolean graphicsLoaded = false;// 是否已获取动画集
 
     /**
      * 构造函数：初始化玩家并创建物理身体和动画
      * @param world Box2D 物理世界
      */
     public Player(World world) {
+        this(world, true);
+    }
+
+    /**
+     * 构造函数：初始化玩家并创建物理身体
+     * @param world Box2D 物理世界
+     * @param loadGraphics 是否加载纹理和动画 (无窗口模拟时为 false，此时 {@link #getCurrentFrame} 返回 null)
+     */
+    public Player(World world, boolean loadGraphics) {
         super(world);
         body.setTransform(800 / 32f / 2f, 600 / 32f / 2f, 0);
         body.getFixtureList().get(0).setUserData("player");
-        createPlayer(world);
-        createSamurai();
+        createPlayerBody(world);
+        if (loadGraphics) {
+            catAnimations = AnimationSet.acquire(AnimationSet.Kind.CAT);
+            samuraiAnimations = AnimationSet.acquire(AnimationSet.Kind.SAMURAI);
+            graphicsLoaded = true;
+        }
+        createSamuraiFixture();
         addSkill(new DoubleStrikeSkill());
     }
 
     /**
-     * 创建猫猫角色及其动画和初始物理身体
+     * 创建初始物理身体 (猫猫，将被武士覆盖)
      * @param world Box2D 物理世界
      */
-    private void createPlayer(World world) {
-        playerTexture = new Texture(Gdx.files.internal("cat_SpriteSheet.png"));
-        int frameWidth = playerTexture.getWidth() / 6;
-        int frameHeight = playerTexture.getHeight() / 3;
-        TextureRegion[][] tmp = TextureRegion.split(playerTexture, frameWidth, frameHeight);
-
-        // Idle 动画
-        TextureRegion[] idleFrames = new TextureRegion[5];
-        System.arraycopy(tmp[0], 0, idleFrames, 0, 5);
-        playerIdleAnimation = new Animation<>(0.2f, idleFrames);
-
-        // Walk 动画
-        TextureRegion[] walkFrames = new TextureRegion[6];
-        System.arraycopy(tmp[1], 0, walkFrames, 0, 6);
-        playerWalkAnimation = new Animation<>(0.1f, walkFrames);
-
-        // Run 动画
-        TextureRegion[] runFrames = new TextureRegion[6];
-        System.arraycopy(tmp[2], 0, runFrames, 0, 6);
-        playerRunAnimation = new Animation<>(0.05f, runFrames);
-
-        // 设置动画循环播放
-        for (Animation<TextureRegion> anim : Arrays.asList(playerIdleAnimation, playerWalkAnimation, playerRunAnimation)) {
-            anim.setPlayMode(Animation.PlayMode.LOOP);
-        }
-
-        // 创建物理身体 (初始为猫猫，将被武士覆盖)
+    private void createPlayerBody(World world) {
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.DynamicBody;
         bodyDef.position.set(800 / 2 / 32f, 600 / 2 / 32f); // 屏幕中心 (米)
@@ -105,74 +91,9 @@ public class Player extends Character{
     }
 
     /**
-     * 创建武士角色及其动画，并更新物理身体
+     * 更新物理身体为武士
      */
-    private void createSamurai() {
-        samuraiTexture = new Texture(Gdx.files.internal("Samurai_SpriteSheet.png"));
-        int frameWidth = samuraiTexture.getWidth();
-        int frameHeight = samuraiTexture.getHeight() / 11;
-        TextureRegion[][] tmp = TextureRegion.split(samuraiTexture, frameWidth, frameHeight);
-
-        // 行走动画
-        TextureRegion[] walkDownFrames = {tmp[0][0], tmp[1][0]};
-        TextureRegion[] walkUpFrames = {tmp[2][0], tmp[3][0]};
-        TextureRegion[] walkLeftFrames = {tmp[4][0], tmp[5][0]};
-        TextureRegion[] walkRightFrames = {new TextureRegion(tmp[4][0]), new TextureRegion(tmp[5][0])};
-        walkRightFrames[0].flip(true, false);
-        walkRightFrames[1].flip(true, false);
-
-        // Idle 动画
-        TextureRegion[] idleDownFrames = {tmp[6][0]};
-        TextureRegion[] idleUpFrames = {tmp[7][0]};
-        TextureRegion[] idleLeftFrames = {tmp[8][0]};
-        TextureRegion[] idleRightFrames = {new TextureRegion(tmp[8][0])};
-        idleRightFrames[0].flip(true, false);
-
-        samuraiWalkDownAnimation = new Animation<>(0.2f, walkDownFrames);
-        samuraiWalkUpAnimation = new Animation<>(0.2f, walkUpFrames);
-        samuraiWalkLeftAnimation = new Animation<>(0.2f, walkLeftFrames);
-        samuraiWalkRightAnimation = new Animation<>(0.2f, walkRightFrames);
-        samuraiIdleDownAnimation = new Animation<>(0.2f, idleDownFrames);
-        samuraiIdleUpAnimation = new Animation<>(0.2f, idleUpFrames);
-        samuraiIdleLeftAnimation = new Animation<>(0.2f, idleLeftFrames);
-        samuraiIdleRightAnimation = new Animation<>(0.2f, idleRightFrames);
-
-        // 设置循环播放
-        for (Animation<TextureRegion> anim : Arrays.asList(samuraiWalkDownAnimation, samuraiWalkUpAnimation,
-            samuraiWalkLeftAnimation, samuraiWalkRightAnimation, samuraiIdleDownAnimation,
-            samuraiIdleUpAnimation, samuraiIdleLeftAnimation, samuraiIdleRightAnimation)) {
-            anim.setPlayMode(Animation.PlayMode.LOOP);
-        }
-
-        // 攻击动画
-        attackTexture = new Texture(Gdx.files.internal("SanGuoZhi2.png"));
-        int attackFrameWidth = attackTexture.getWidth();
-        int attackFrameHeight = attackTexture.getHeight() / 12;
-        TextureRegion[][] attackTmp = TextureRegion.split(attackTexture, attackFrameWidth, attackFrameHeight);
-        TextureRegion[] attackDownFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) attackDownFrames[i] = attackTmp[i][0];
-        samuraiAttackDownAnimation = new Animation<>(0.1f, attackDownFrames);
-        samuraiAttackDownAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackUpFrames = new TextureRegion[4];
-        for (int i = 4; i < 8; i++) attackUpFrames[i - 4] = attackTmp[i][0];
-        samuraiAttackUpAnimation = new Animation<>(0.1f, attackUpFrames);
-        samuraiAttackUpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackLeftFrames = new TextureRegion[4];
-        for (int i = 8; i < 12; i++) attackLeftFrames[i - 8] = attackTmp[i][0];
-        samuraiAttackLeftAnimation = new Animation<>(0.1f, attackLeftFrames);
-        samuraiAttackLeftAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        TextureRegion[] attackRightFrames = new TextureRegion[4];
-        for (int i = 0; i < 4; i++) {
-            attackRightFrames[i] = new TextureRegion(attackLeftFrames[i]);
-            attackRightFrames[i].flip(true, false);
-        }
-        samuraiAttackRightAnimation = new Animation<>(0.1f, attackRightFrames);
-        samuraiAttackRightAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-
-        // 更新物理身体为武士
+    private void createSamuraiFixture() {
         if (playerBody != null) {
             if (!playerBody.getFixtureList().isEmpty()) {
                 playerBody.destroyFixture(playerBody.getFixtureList().get(0));
@@ -194,27 +115,51 @@ public class Player extends Character{
      * 处理玩家输入，控制移动和攻击
      */
     public void handleInput() {
+        applyInput(pollInput());
+    }
+
+    /**
+     * 读取键盘状态并转换为输入位掩码
+     * @return 输入位掩码 (INPUT_* 的组合)
+     */
+    public static int pollInput() {
+        int input = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.W)) input |= INPUT_UP;
+        if (Gdx.input.isKeyPressed(Input.Keys.S)) input |= INPUT_DOWN;
+        if (Gdx.input.isKeyPressed(Input.Keys.A)) input |= INPUT_LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.D)) input |= INPUT_RIGHT;
+        if (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT)) input |= INPUT_RUN;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.J)) input |= INPUT_ATTACK;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.CONTROL_LEFT)) input |= INPUT_SWITCH;
+        return input;
+    }
+
+    /**
+     * 按输入位掩码控制移动和攻击 (键盘、脚本和回放共用)
+     * @param input 输入位掩码 (INPUT_* 的组合)
+     */
+    public void applyInput(int input) {
         Vector2 velocity = playerBody.getLinearVelocity();
         velocity.set(0, 0);
         float speed = playerSpeed;
 
-        if (Gdx.input.isKeyJustPressed(Input.Keys.CONTROL_LEFT)) {
+        if ((input & INPUT_SWITCH) != 0) {
             isPlayer1Active = !isPlayer1Active;
         }
 
         if (isPlayer1Active) { // 猫猫控制
-            if (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT)) speed = playerRunSpeed;
-            if (Gdx.input.isKeyPressed(Input.Keys.W)) velocity.y = speed;
-            if (Gdx.input.isKeyPressed(Input.Keys.S)) velocity.y = -speed;
-            if (Gdx.input.isKeyPressed(Input.Keys.A)) velocity.x = -speed;
-            if (Gdx.input.isKeyPressed(Input.Keys.D)) velocity.x = speed;
+            if ((input & INPUT_RUN) != 0) speed = playerRunSpeed;
+            if ((input & INPUT_UP) != 0) velocity.y = speed;
+            if ((input & INPUT_DOWN) != 0) velocity.y = -speed;
+            if ((input & INPUT_LEFT) != 0) velocity.x = -speed;
+            if ((input & INPUT_RIGHT) != 0) velocity.x = speed;
 
             if (velocity.isZero(0.1f)) {
-                currentAnimation = "idle";
+                animationState = AnimationState.IDLE;
             } else if (speed == playerSpeed) {
-                currentAnimation = "walk";
+                animationState = AnimationState.WALK;
             } else {
-                currentAnimation = "run";
+                animationState = AnimationState.RUN;
             }
             if (!velocity.isZero()) {
                 velocity.nor().scl(speed);
@@ -222,46 +167,45 @@ public class Player extends Character{
         } else { // 武士控制
             if (!isAttacking) {
                 boolean isMoving = false;
-                if (Gdx.input.isKeyPressed(Input.Keys.W)) {
+                if ((input & INPUT_UP) != 0) {
                     velocity.y = speed;
-                    lastDirection = "up";
+                    lastDirection = Direction.UP;
                     isMoving = true;
                 }
-                if (Gdx.input.isKeyPressed(Input.Keys.S)) {
+                if ((input & INPUT_DOWN) != 0) {
                     velocity.y = (velocity.y > 0) ? 0 : -speed;
-                    if (!isMoving) lastDirection = "down";
+                    if (!isMoving) lastDirection = Direction.DOWN;
                     isMoving = true;
                 }
-                if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+                if ((input & INPUT_LEFT) != 0) {
                     velocity.x = -speed;
-                    lastDirection = "left";
+                    lastDirection = Direction.LEFT;
                     isMoving = true;
                 }
-                if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+                if ((input & INPUT_RIGHT) != 0) {
                     velocity.x = (velocity.x < 0) ? 0 : speed;
-                    if (!isMoving) lastDirection = "right";
+                    if (!isMoving) lastDirection = Direction.RIGHT;
                     isMoving = true;
                 }
 
                 if (isMoving) {
-                    currentAnimation = "walk_" + lastDirection;
+                    animationState = AnimationState.WALK;
                     velocity.nor().scl(speed);
                 } else {
-                    currentAnimation = "idle_" + lastDirection;
+                    animationState = AnimationState.IDLE;
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.J)) {
-                    currentAnimation = "attack_" + lastDirection;
+                if ((input & INPUT_ATTACK) != 0) {
+                    animationState = AnimationState.ATTACK;
                     isAttacking = true;
                     playerStateTime = 0f;
                     velocity.set(0, 0);
                 }
             } else {
                 velocity.set(0, 0);
-                Animation<TextureRegion> currentAnim = getCurrentAnimation();
-                if (currentAnim != null && currentAnim.isAnimationFinished(playerStateTime)) {
+                if (playerStateTime >= ATTACK_DURATION) {
                     isAttacking = false;
-                    currentAnimation = "idle_" + lastDirection;
+                    animationState = AnimationState.IDLE;
                 }
             }
         }
@@ -273,29 +217,8 @@ public class Player extends Character{
      * @return 当前播放的动画
      */
     public Animation<TextureRegion> getCurrentAnimation() {
-        if (isPlayer1Active) {
-            return switch (currentAnimation) {
-                case "walk" -> playerWalkAnimation;
-                case "run" -> playerRunAnimation;
-                default -> playerIdleAnimation;
-            };
-        } else {
-            return switch (currentAnimation) {
-                case "walk_down" -> samuraiWalkDownAnimation;
-                case "walk_up" -> samuraiWalkUpAnimation;
-                case "walk_left" -> samuraiWalkLeftAnimation;
-                case "walk_right" -> samuraiWalkRightAnimation;
-                case "idle_down" -> samuraiIdleDownAnimation;
-                case "idle_up" -> samuraiIdleUpAnimation;
-                case "idle_left" -> samuraiIdleLeftAnimation;
-                case "idle_right" -> samuraiIdleRightAnimation;
-                case "attack_down" -> samuraiAttackDownAnimation;
-                case "attack_up" -> samuraiAttackUpAnimation;
-                case "attack_left" -> samuraiAttackLeftAnimation;
-                case "attack_right" -> samuraiAttackRightAnimation;
-                default -> samuraiIdleDownAnimation;
-            };
-        }
+        AnimationSet animations = isPlayer1Active ? catAnimations : samuraiAnimations;
+        return animations == null ? null : animations.get(animationState, lastDirection);
     }
 
     /**
@@ -305,6 +228,7 @@ public class Player extends Character{
      */
     public TextureRegion getCurrentFrame(float stateTime) {
         Animation<TextureRegion> anim = getCurrentAnimation();
+        if (anim == null) return null;
         return isAttacking ? anim.getKeyFrame(stateTime, false) : anim.getKeyFrame(stateTime, true);
     }
 
@@ -315,8 +239,9 @@ public class Player extends Character{
     public float getPlayerStateTime() { return playerStateTime; }
     public void setPlayerStateTime(float playerStateTime) { this.playerStateTime = playerStateTime; }
 
-    public void startAttackAnimation(String direction) {
-        currentAnimation = "attack_" + direction;
+    public void startAttackAnimation(Direction direction) {
+        lastDirection = direction;
+        animationState = AnimationState.ATTACK;
         isAttacking = true;
         playerStateTime = 0f;
     }
@@ -326,12 +251,38 @@ public class Player extends Character{
             Animation<TextureRegion> currentAnim = getCurrentAnimation();
             if (currentAnim != null && currentAnim.isAnimationFinished(playerStateTime)) {
                 isAttacking = false;
-                currentAnimation = "idle_" + lastDirection;
+                animationState = AnimationState.IDLE;
             }
         }
     }
 
-    public String getLastDirection() {
+    public Direction getLastDirection() {
         return lastDirection;
     }
+
+    /**
+     * 释放对动画集的引用 (其他仍在使用的角色持有各自的引用)
+     */
+    public void dispose() {
+        if (!graphicsLoaded) return;
+        graphicsLoaded = false;
+        catAnimations = null;
+        samuraiAnimations = null;
+        AnimationSet.release(AnimationSet.Kind.CAT);
+        AnimationSet.release(AnimationSet.Kind.SAMURAI);
+    }
+
+    /**
+     * 写入影响模拟的玩家状态和物理身体的状态
+     * @param out 输出
+     */
+    public void writeState(DataOutput out) throws IOException {
+        WorldManager.writeBodyState(body, out);
+        WorldManager.writeBodyState(playerBody, out);
+        out.writeBoolean(isPlayer1Active);
+        out.writeBoolean(isAttacking);
+        out.writeFloat(playerStateTime);
+        out.writeByte(animationState.ordinal());
+        out.writeByte(lastDirection.ordinal());
+    }
 }
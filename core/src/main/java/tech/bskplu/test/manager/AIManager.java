@@ -1,8 +1,32 @@
 package tech.bskplu.test.manager;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.PathFinder;
 import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import tech.bskplu.test.ai.ComparingPathFinder;
+import tech.bskplu.test.ai.FlowField;
 import tech.bskplu.test.ai.GameTiledGraph;
-import tech.bskplu.test.ai.GameTiledHeuristic;
+import tech.bskplu.test.ai.GameTiledGraphView;
 import tech.bskplu.test.ai.GameTiledNode;
+import tech.bskplu.test.ai.HierarchicalGraph;
+import tech.bskplu.test.ai.HierarchicalPathFinder;
+import tech.bskplu.test.ai.JumpPointPathFinder;
+import tech.bskplu.test.ai.LandmarkHeuristic;
+import tech.bskplu.test.ai.PathCache;
+import tech.bskplu.test.ai.PathSmoother;
+import tech.bskplu.test.ai.ThetaStarPathFinder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 /**
  * @ClassName: AIManager
  * @Description: 管理 AI 相关的路径查找和导航逻辑
@@ -10,10 +34,49 @@ import tech.bskplu.test.ai.GameTiledNode;
  * @Date 2025/4/3
  * @Version 1.1
  */
-public class AIManager {
+public class AIManager implements ObstacleListener {
+    /**
+     * 寻路算法
+     */
+    public enum PathFinderMode {
+        A_STAR,// gdx-ai 的 IndexedAStarPathFinder
+        JUMP_POINT,// 跳点搜索
+        THETA_STAR,// Theta* 任意角度寻路 (输出拐点路径)
+        HIERARCHICAL,// 分层寻路 (HPA*)，适合大地图，结果接近最优
+        COMPARE// 同时运行两者并校验路径代价
+    }
+
     private GameTiledGraph tiledGraph;// 导航图
-    private IndexedAStarPathFinder<GameTiledNode> pathFinder;// A* 寻路器
-    private GameTiledHeuristic heuristic;// 启发式函数
+    private IndexedAStarPathFinder<GameTiledNode> aStarPathFinder;// A* 寻路器
+    private JumpPointPathFinder jumpPointPathFinder;// JPS 寻路器
+    private ThetaStarPathFinder thetaStarPathFinder;// Theta* 寻路器 (按需创建)
+    private HierarchicalGraph hierarchicalGraph;// 分层寻路的抽象图 (按需创建，随网格变化局部重建)
+    private HierarchicalPathFinder hierarchicalPathFinder;// 分层寻路器 (按需创建)
+    private ComparingPathFinder comparingPathFinder;// 对比模式寻路器 (按需创建)
+    private PathSmoother pathSmoother;// 路径平滑 (按需创建)
+    private PathFinderMode pathFinderMode = PathFinderMode.JUMP_POINT;// 当前寻路算法
+    private final LandmarkHeuristic heuristic;// 启发式函数 (ALT 地标，后台预计算，所有寻路器共用；大地图上退回八方向距离)
+    private float agentRadius;// 共享寻路器使用的代理半径 (米)，0 表示只要求网格可走
+    private FlowField flowField;// 追击玩家的共享流场 (按需创建)
+    private final PathCache pathCache;// 同步、异步和分时寻路共用的路径缓存
+
+    // --- 异步寻路 ---
+    private static final int DEFAULT_MAX_IN_FLIGHT = 64;// 默认最大在途请求数
+    private ExecutorService pathWorkers;// 寻路工作线程池 (按需创建)
+    private ThreadLocal<PathFinder<GameTiledNode>> workerPathFinders;// 每个工作线程独立的寻路器 (异步与批量寻路共用)
+    private final ObjectMap<Object, PathRequest> latestRequests = new ObjectMap<>();// 每个代理最新的请求 (仅渲染线程访问)
+    private final ConcurrentLinkedQueue<PathRequest> completedRequests = new ConcurrentLinkedQueue<>();// 已完成、等待回调的请求
+    private final AtomicInteger inFlightRequests = new AtomicInteger();// 在途请求数
+    private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT;
+    private final ReentrantReadWriteLock graphLock = new ReentrantReadWriteLock();// 工作线程搜索时持读锁，渲染线程修改导航图时持写锁
+
+    // --- 批量寻路 ---
+    private static final int BATCH_SPLIT_THRESHOLD = 8;// 批量任务拆分到不超过该数量的请求后直接求解
+    private ForkJoinPool batchWorkers;// 批量寻路线程池 (按需创建)
+
+    // --- 分时寻路 ---
+    private PathScheduler pathScheduler;// 每帧固定预算的寻路调度器 (按需创建)
+    private long pathFrameBudget = PathScheduler.DEFAULT_FRAME_BUDGET;// 每帧寻路预算 (纳秒)
 
     /**
      * 构造函数：初始化 AI 管理器
@@ -21,11 +84,474 @@ public class AIManager {
      */
     public AIManager(GameTiledGraph tiledGraph) {
         this.tiledGraph = tiledGraph;
-        heuristic = new GameTiledHeuristic();
-        pathFinder = new IndexedAStarPathFinder<>(tiledGraph, true);
+        heuristic = new LandmarkHeuristic(tiledGraph);
+        tiledGraph.addChangeListener(heuristic);
+        aStarPathFinder = new IndexedAStarPathFinder<>(tiledGraph, true);
+        jumpPointPathFinder = new JumpPointPathFinder(tiledGraph);
+        pathCache = new PathCache(tiledGraph);
+    }
+
+    /**
+     * 获取当前模式对应的寻路器
+     * @return 寻路器
+     */
+    public PathFinder<GameTiledNode> getPathFinder() {
+        return switch (pathFinderMode) {
+            case A_STAR -> aStarPathFinder;
+            case JUMP_POINT -> jumpPointPathFinder;
+            case THETA_STAR -> {
+                if (thetaStarPathFinder == null) {
+                    thetaStarPathFinder = createThetaStarPathFinder(agentRadius);
+                }
+                yield thetaStarPathFinder;
+            }
+            case HIERARCHICAL -> {
+                if (hierarchicalPathFinder == null) {
+                    hierarchicalPathFinder = createHierarchicalPathFinder();
+                }
+                yield hierarchicalPathFinder;
+            }
+            case COMPARE -> {
+                if (comparingPathFinder == null) {
+                    comparingPathFinder = new ComparingPathFinder(tiledGraph, aStarPathFinder, jumpPointPathFinder);
+                }
+                yield comparingPathFinder;
+            }
+        };
+    }
+
+    /**
+     * 设置共享寻路器 (同步、异步和分时寻路) 使用的代理半径，净空不足的窄处会被绕开 (需在创建敌人之前设置).
+     * 各自持有规划器的代理 (如 D* Lite) 可以使用不同的半径，它们共用导航图的同一张净空图。
+     * @param agentRadius 代理半径 (米)
+     */
+    public void setAgentRadius(float agentRadius) {
+        this.agentRadius = agentRadius;
+        aStarPathFinder = new IndexedAStarPathFinder<>(new GameTiledGraphView(tiledGraph, agentRadius), true);
+        jumpPointPathFinder.setAgentRadius(agentRadius);
+        if (thetaStarPathFinder != null) {
+            thetaStarPathFinder.setAgentRadius(agentRadius);
+        }
+        if (hierarchicalGraph != null) {
+            // 入口和簇内代价与体型有关，按新半径重新创建
+            tiledGraph.removeChangeListener(hierarchicalGraph);
+            hierarchicalGraph = null;
+            hierarchicalPathFinder = null;
+        }
+        comparingPathFinder = null;
+        resetDedicatedPathFinders();
+        pathCache.clear();
+    }
+
+    public float getAgentRadius() { return agentRadius; }
+
+    /**
+     * 获取共享的路径平滑器 (只在渲染线程中使用)
+     * @return 路径平滑器
+     */
+    public PathSmoother getPathSmoother() {
+        if (pathSmoother == null) {
+            pathSmoother = new PathSmoother(tiledGraph);
+        }
+        return pathSmoother;
+    }
+
+    /**
+     * 切换寻路算法 (需在创建敌人之前设置)
+     * @param pathFinderMode 寻路算法
+     */
+    public void setPathFinderMode(PathFinderMode pathFinderMode) {
+        this.pathFinderMode = pathFinderMode;
+        resetDedicatedPathFinders();
+        pathCache.clear();
+    }
+
+    /**
+     * 丢弃按旧模式和旧半径创建的工作线程寻路器与分时调度器，下一次请求时按当前设置重新创建。
+     * 排队中的分时请求作废 (不会回调)，代理会在下一次重新规划时再次提交；
+     * 已提交给工作线程的请求仍用旧寻路器完成。
+     */
+    private void resetDedicatedPathFinders() {
+        workerPathFinders = null;
+        if (pathScheduler != null) {
+            pathScheduler.clear();
+            pathScheduler = null;
+        }
+    }
+
+    /**
+     * 同步寻路：先查路径缓存，未命中时用当前模式的寻路器搜索并缓存结果
+     * @param startNode 起点
+     * @param endNode 终点
+     * @param outPath 输出路径
+     * @return 是否找到路径
+     */
+    public boolean findPath(GameTiledNode startNode, GameTiledNode endNode, GraphPath<GameTiledNode> outPath) {
+        if (!tiledGraph.isReachable(startNode.getIndex(), endNode.getIndex())) return false;
+        if (pathCache.get(startNode.getIndex(), endNode.getIndex(), outPath)) return true;
+        boolean found = getPathFinder().searchNodePath(startNode, endNode, heuristic, outPath);
+        if (found) {
+            pathCache.put(tiledGraph.getVersion(), outPath);
+        }
+        return found;
+    }
+
+    public PathCache getPathCache() { return pathCache; }
+
+    /**
+     * 以目标位置更新共享流场，目标所在网格不变时不做任何计算
+     * @param targetWorldPos 目标世界坐标 (米)
+     * @return 流场
+     */
+    public FlowField updateFlowField(Vector2 targetWorldPos) {
+        if (flowField == null) {
+            flowField = new FlowField(tiledGraph);
+            tiledGraph.addChangeListener(flowField);
+        }
+        int targetX = tiledGraph.worldToTileX(targetWorldPos.x);
+        int targetY = tiledGraph.worldToTileY(targetWorldPos.y);
+        flowField.update(targetY * tiledGraph.getWidth() + targetX);
+        return flowField;
+    }
+
+    public FlowField getFlowField() { return flowField; }
+
+    /**
+     * 提交异步寻路请求，结果在之后某一帧的 {@link #update()} 中通过回调返回。
+     * 同一代理的新请求会使旧请求作废 (旧结果直接丢弃，不会回调)。
+     * @param agent 发起请求的代理
+     * @param startNode 起点
+     * @param endNode 终点
+     * @param callback 结果回调
+     * @return 是否已受理；在途请求达到上限时返回 false，调用方稍后重试
+     */
+    public boolean requestPath(Object agent, GameTiledNode startNode, GameTiledNode endNode, PathCallback callback) {
+        if (completeWithoutSearch(agent, startNode, endNode, callback)) {
+            return true;
+        }
+        PathRequest previous = latestRequests.get(agent);
+        if (previous == null && inFlightRequests.get() >= maxInFlightRequests) {
+            return false;
+        }
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        int searchVersion = tiledGraph.getVersion();
+        PathRequest request = new PathRequest(agent, startNode, endNode, result -> cachePath(searchVersion, result, callback));
+        latestRequests.put(agent, request);
+        inFlightRequests.incrementAndGet();
+        ExecutorService workers = getPathWorkers();
+        ThreadLocal<PathFinder<GameTiledNode>> pathFinders = getWorkerPathFinders();
+        workers.execute(() -> solve(request, pathFinders));
+        return true;
+    }
+
+    /**
+     * 在工作线程中求解请求 (寻路器在提交时取定，之后切换模式或半径不影响在途请求)
+     */
+    private void solve(PathRequest request, ThreadLocal<PathFinder<GameTiledNode>> pathFinders) {
+        try {
+            if (!request.cancelled) {
+                graphLock.readLock().lock();
+                try {
+                    request.pathFound = pathFinders.get().searchNodePath(request.startNode, request.endNode, heuristic, request.path);
+                } finally {
+                    graphLock.readLock().unlock();
+                }
+                completedRequests.add(request);
+            }
+        } finally {
+            inFlightRequests.decrementAndGet();
+        }
+    }
+
+    private ThreadLocal<PathFinder<GameTiledNode>> getWorkerPathFinders() {
+        if (workerPathFinders == null) {
+            // A* 的节点记录和导航图的 connectionsTemp 都不能共享，每个线程一个寻路器，A* 另配只读视图
+            PathFinderMode workerMode = pathFinderMode;
+            float workerRadius = agentRadius;
+            // 连通分量、净空图和抽象图是按需创建的，先在渲染线程中建好 (抽象图同时注册为监听器)，
+            // 工作线程只在读锁下读取，之后随导航图在写锁下修改
+            tiledGraph.getComponents();
+            if (tiledGraph.getRequiredClearance(workerRadius) > 1) {
+                tiledGraph.getClearanceMap();
+            }
+            HierarchicalGraph hierarchy = workerMode == PathFinderMode.HIERARCHICAL ? getHierarchicalGraph() : null;
+            workerPathFinders = ThreadLocal.withInitial(() -> switch (workerMode) {
+                case A_STAR -> new IndexedAStarPathFinder<>(new GameTiledGraphView(tiledGraph, workerRadius));
+                case THETA_STAR -> createThetaStarPathFinder(workerRadius);
+                case HIERARCHICAL -> new HierarchicalPathFinder(hierarchy);
+                default -> createJumpPointPathFinder(workerRadius);
+            });
+        }
+        return workerPathFinders;
+    }
+
+    private ExecutorService getPathWorkers() {
+        if (pathWorkers == null) {
+            getWorkerPathFinders();
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            pathWorkers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "PathWorker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pathWorkers;
+    }
+
+    /**
+     * 同步求解一批寻路请求：请求按区间拆分到 ForkJoin 线程池，每个线程使用自己的寻路器，
+     * 全部完成后返回，结果写入各请求 (不触发回调)。
+     * 搜索读取的是共享导航图而不是快照，每段请求在读锁下求解，与 PathWorker 一样不会与
+     * {@link #update()} 中的原地修改交错；不连通的请求不搜索，直接记为失败。
+     * @param requests 请求列表
+     */
+    public void solveAll(Array<PathRequest> requests) {
+        if (requests.size == 0) return;
+        ThreadLocal<PathFinder<GameTiledNode>> pathFinders = getWorkerPathFinders();
+        getBatchWorkers().invoke(new BatchSolveTask(requests, 0, requests.size, pathFinders));
+    }
+
+    private ForkJoinPool getBatchWorkers() {
+        if (batchWorkers == null) {
+            batchWorkers = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return batchWorkers;
+    }
+
+    /**
+     * 批量寻路任务：请求数超过阈值时对半拆分，否则在当前线程中逐个求解
+     */
+    private class BatchSolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;// ForkJoinTask 实现了 Serializable，任务本身从不序列化
+        private final Array<PathRequest> requests;
+        private final int from;// 起始下标 (包含)
+        private final int to;// 结束下标 (不包含)
+        private final ThreadLocal<PathFinder<GameTiledNode>> pathFinders;
+
+        BatchSolveTask(Array<PathRequest> requests, int from, int to, ThreadLocal<PathFinder<GameTiledNode>> pathFinders) {
+            this.requests = requests;
+            this.from = from;
+            this.to = to;
+            this.pathFinders = pathFinders;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchSolveTask(requests, from, middle, pathFinders),
+                    new BatchSolveTask(requests, middle, to, pathFinders));
+                return;
+            }
+            graphLock.readLock().lock();
+            try {
+                PathFinder<GameTiledNode> pathFinder = pathFinders.get();
+                for (int i = from; i < to; i++) {
+                    PathRequest request = requests.get(i);
+                    request.path.clear();
+                    request.pathFound = tiledGraph.isReachable(request.startNode.getIndex(), request.endNode.getIndex())
+                        && pathFinder.searchNodePath(request.startNode, request.endNode, heuristic, request.path);
+                }
+            } finally {
+                graphLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 提交分时寻路请求：搜索在渲染线程中进行，每帧最多占用 pathFrameBudget，
+     * 超出预算的请求顺延到之后的帧，结果在 {@link #update()} 中通过回调返回
+     * @param agent 发起请求的代理
+     * @param startNode 起点
+     * @param endNode 终点
+     * @param callback 结果回调
+     */
+    public void schedulePath(Object agent, GameTiledNode startNode, GameTiledNode endNode, PathCallback callback) {
+        if (completeWithoutSearch(agent, startNode, endNode, callback)) {
+            getPathScheduler().cancel(agent);
+            return;
+        }
+        int searchVersion = tiledGraph.getVersion();
+        getPathScheduler().schedulePath(agent, startNode, endNode, result -> cachePath(searchVersion, result, callback));
+    }
+
+    /**
+     * 不需要搜索的请求：起点和终点不连通 (失败) 或命中路径缓存 (成功)，结果在下一次 {@link #update()} 中回调
+     * @return 是否已处理；返回 false 时需要搜索
+     */
+    private boolean completeWithoutSearch(Object agent, GameTiledNode startNode, GameTiledNode endNode, PathCallback callback) {
+        boolean reachable = tiledGraph.isReachable(startNode.getIndex(), endNode.getIndex());
+        PathRequest request = new PathRequest(agent, startNode, endNode, callback);
+        if (reachable && !pathCache.get(startNode.getIndex(), endNode.getIndex(), request.path)) return false;
+        request.pathFound = reachable;
+        PathRequest previous = latestRequests.get(agent);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        latestRequests.put(agent, request);
+        completedRequests.add(request);
+        return true;
+    }
+
+    /**
+     * 搜索完成 (渲染线程)：搜索期间导航图未变化时缓存路径，再交给代理的回调
+     */
+    private void cachePath(int searchVersion, PathRequest request, PathCallback callback) {
+        if (request.pathFound) {
+            pathCache.put(searchVersion, request.path);
+        }
+        callback.onPathReady(request);
+    }
+
+    private PathScheduler getPathScheduler() {
+        if (pathScheduler == null) {
+            // 搜索状态跨帧保留，调度器需要专用的寻路器
+            PathFinder<GameTiledNode> slicedPathFinder = switch (pathFinderMode) {
+                case A_STAR -> new IndexedAStarPathFinder<>(new GameTiledGraphView(tiledGraph, agentRadius));
+                case THETA_STAR -> createThetaStarPathFinder(agentRadius);
+                case HIERARCHICAL -> createHierarchicalPathFinder();
+                default -> createJumpPointPathFinder(agentRadius);
+            };
+            pathScheduler = new PathScheduler(slicedPathFinder, heuristic);
+            pathScheduler.setFrameBudget(pathFrameBudget);
+        }
+        return pathScheduler;
+    }
+
+    private JumpPointPathFinder createJumpPointPathFinder(float agentRadius) {
+        JumpPointPathFinder pathFinder = new JumpPointPathFinder(tiledGraph);
+        pathFinder.setAgentRadius(agentRadius);
+        return pathFinder;
+    }
+
+    private HierarchicalPathFinder createHierarchicalPathFinder() {
+        return new HierarchicalPathFinder(getHierarchicalGraph());
+    }
+
+    /**
+     * 获取分层寻路的抽象图 (第一次调用时按当前代理半径创建，之后随网格变化局部重建)
+     * @return 抽象图
+     */
+    public HierarchicalGraph getHierarchicalGraph() {
+        if (hierarchicalGraph == null) {
+            hierarchicalGraph = new HierarchicalGraph(tiledGraph, HierarchicalGraph.DEFAULT_CLUSTER_SIZE, agentRadius);
+            tiledGraph.addChangeListener(hierarchicalGraph);
+        }
+        return hierarchicalGraph;
+    }
+
+    private ThetaStarPathFinder createThetaStarPathFinder(float agentRadius) {
+        ThetaStarPathFinder pathFinder = new ThetaStarPathFinder(tiledGraph);
+        pathFinder.setAgentRadius(agentRadius);
+        return pathFinder;
+    }
+
+    /**
+     * 障碍物变化时标记导航图的新旧区域，在下一次 {@link #update()} 中统一重新栅格化
+     */
+    @Override
+    public void onObstacleChanged(Body body, Rectangle oldBounds, Rectangle newBounds) {
+        if (oldBounds != null) tiledGraph.markDirty(oldBounds);
+        if (newBounds != null) tiledGraph.markDirty(newBounds);
+    }
+
+    /**
+     * 每帧调用：应用障碍物变化，推进分时寻路，并把已完成的异步寻路结果交给各自的回调 (在渲染线程中执行).
+     * 有障碍物变化时会等待工作线程中正在进行的搜索结束，被中断的分时搜索从头开始，
+     * 每条路径都只在一版导航图上搜索得到
+     */
+    public void update() {
+        if (tiledGraph.hasDirtyRegions()) {
+            // 导航图原地修改：等待工作线程中正在进行的搜索结束，修改期间新的搜索不会开始
+            boolean changed;
+            graphLock.writeLock().lock();
+            try {
+                changed = tiledGraph.applyDirtyRegions();
+            } finally {
+                graphLock.writeLock().unlock();
+            }
+            if (changed && pathScheduler != null) {
+                pathScheduler.restartSearches();
+            }
+        }
+        heuristic.update();
+
+        if (pathScheduler != null) {
+            pathScheduler.run();
+        }
+
+        PathRequest request;
+        while ((request = completedRequests.poll()) != null) {
+            if (request.cancelled) continue;// 已被更新的请求取代
+            latestRequests.remove(request.agent);
+            request.callback.onPathReady(request);
+        }
+    }
+
+    /**
+     * 设置在途异步请求的上限
+     * @param maxInFlightRequests 上限
+     */
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    public int getInFlightRequests() { return inFlightRequests.get(); }
+
+    /**
+     * 设置分时寻路的每帧预算
+     * @param pathFrameBudget 预算 (纳秒)
+     */
+    public void setPathFrameBudget(long pathFrameBudget) {
+        this.pathFrameBudget = pathFrameBudget;
+        if (pathScheduler != null) {
+            pathScheduler.setFrameBudget(pathFrameBudget);
+        }
+    }
+
+    public long getPathFrameBudget() { return pathFrameBudget; }
+
+    /**
+     * 上一帧预算用完后被顺延的分时寻路请求数
+     * @return 请求数
+     */
+    public int getDeferredPathRequests() {
+        return pathScheduler == null ? 0 : pathScheduler.getDeferredRequests();
+    }
+
+    /**
+     * 上一帧分时寻路实际耗时
+     * @return 耗时 (纳秒)
+     */
+    public long getLastPathRunNanos() {
+        return pathScheduler == null ? 0 : pathScheduler.getLastRunNanos();
+    }
+
+    /**
+     * 释放资源 (停止寻路线程)
+     */
+    public void dispose() {
+        if (pathWorkers != null) {
+            pathWorkers.shutdownNow();
+            pathWorkers = null;
+        }
+        if (batchWorkers != null) {
+            batchWorkers.shutdownNow();
+            batchWorkers = null;
+        }
+        if (pathScheduler != null) {
+            pathScheduler.clear();
+        }
+        heuristic.dispose();
+        completedRequests.clear();
+        latestRequests.clear();
     }
 
-    public IndexedAStarPathFinder<GameTiledNode> getPathFinder() { return pathFinder; }
+    public PathFinderMode getPathFinderMode() { return pathFinderMode; }
+    public LandmarkHeuristic getHeuristic() { return heuristic; }
+    public ComparingPathFinder getComparingPathFinder() { return comparingPathFinder; }
 
     public GameTiledGraph getTiledGraph() {
         return tiledGraph;
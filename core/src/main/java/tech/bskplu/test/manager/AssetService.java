@@ -0,0 +1,134 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * @ClassName: AssetService
+ * @Description: 全局共享的资源服务，基于 libGDX AssetManager：同一文件只解码、上传一次，按引用计数释放。
+ * 每次 acquire 对应一次 release，引用计数归零时资源才真正释放；
+ * queue 只排队不等待，过渡场景每帧调用 update 在后台解码下一场景的资源，切换场景时不再卡顿。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class AssetService implements Disposable {
+    // 资源路径
+    public static final String GROUND = "ground.png";// 地面纹理
+    public static final String START_BUTTON = "StartCircleButton2.png";// 开始按钮
+    public static final String EXIT_BUTTON = "ExitCircleButton2.png";// 退出按钮
+    public static final String TRANSITION_IMAGE = "WhiteFoxSex1.png";// 过渡场景图片
+    public static final String SPLASH_IMAGE = "WhiteFoxSex.png";// Main 的背景图片
+    public static final String MUSIC = "LanTingXu.mp3";// 背景音乐
+    public static final String WORLD_ATLAS = "atlas/world.atlas";// 角色动画帧与地面的图集 (构建时由 packTextures 生成)
+    public static final String WORLD_GROUND_REGION = "ground";// 图集中的地面区域
+    public static final String WORLD_WHITE_REGION = "white";// 图集中的纯白区域 (着色后绘制 HUD 色块)
+
+    private static AssetService instance;// 全局实例
+    private final AssetManager assetManager = new AssetManager();// 底层资源管理器 (内部文件)
+
+    /**
+     * 获取全局实例 (首次调用时创建，需要在 GL 线程上)
+     */
+    public static AssetService getInstance() {
+        if (instance == null) {
+            instance = new AssetService();
+        }
+        return instance;
+    }
+
+    /**
+     * 排队异步加载并增加一次引用，之后需调用 {@link #release(String)}
+     * @param path 资源路径
+     * @param type 资源类型
+     */
+    public <T> void queue(String path, Class<T> type) {
+        assetManager.load(path, type);
+    }
+
+    /**
+     * 获取资源并增加一次引用，之后需调用 {@link #release(String)}。
+     * 已加载时直接返回；尚未加载 (或仍在队列中) 时同步加载该资源
+     * @param path 资源路径
+     * @param type 资源类型
+     * @return 资源
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        if (assetManager.isLoaded(path, type)) {
+            // AssetManager.load 对已加载的资源要等下一次 update 才增加引用，这里直接计数
+            assetManager.setReferenceCount(path, assetManager.getReferenceCount(path) + 1);
+        } else {
+            assetManager.load(path, type);
+            assetManager.finishLoadingAsset(path);
+        }
+        return assetManager.get(path, type);
+    }
+
+    public Texture acquireTexture(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    public TextureAtlas acquireAtlas(String path) {
+        return acquire(path, TextureAtlas.class);
+    }
+
+    public Music acquireMusic(String path) {
+        return acquire(path, Music.class);
+    }
+
+    /**
+     * 释放一次引用，引用计数归零时释放资源 (仍在队列中的取消加载)
+     * @param path 资源路径
+     */
+    public void release(String path) {
+        assetManager.unload(path);
+    }
+
+    /**
+     * 释放一组资源，每个释放一次引用
+     * @param paths 资源路径
+     */
+    public void releaseAll(String... paths) {
+        for (String path : paths) {
+            release(path);
+        }
+    }
+
+    /**
+     * 在给定时间内推进异步加载 (每帧调用)
+     * @param millis 本帧最多用于加载的时间 (毫秒)
+     * @return 队列中的资源是否已全部加载
+     */
+    public boolean update(int millis) {
+        return assetManager.update(millis);
+    }
+
+    /**
+     * 队列的加载进度 (0 到 1)
+     */
+    public float getProgress() {
+        return assetManager.getProgress();
+    }
+
+    /**
+     * 资源当前的引用计数 (未加载时为 0)
+     * @param path 资源路径
+     */
+    public int getReferenceCount(String path) {
+        return assetManager.isLoaded(path) ? assetManager.getReferenceCount(path) : 0;
+    }
+
+    /**
+     * 释放所有资源 (游戏退出时调用)
+     */
+    @Override
+    public void dispose() {
+        assetManager.dispose();
+        if (instance == this) {
+            instance = null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import tech.bskplu.test.ai.GameTiledGraph;
+
+/**
+ * @ClassName: GroundCache
+ * @Description: 静态地面层：把地面图块一次性烘焙进 SpriteCache，之后每帧只需一次缓存绘制。
+ * 两种用法：按障碍物的包围盒绘制地面 (障碍物变化时收到通知，下次绘制前重建)，或把地面图块平铺满整个场景。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class GroundCache implements ObstacleListener, Disposable {
+    private final SpriteCache spriteCache;// 顶点缓存
+    private final TextureRegion region;// 地面图块
+    private final float pixelsPerMeter;// 像素/米
+    private Array<Body> obstacleBodies;// 按包围盒绘制的障碍物 (为 null 时为平铺模式)
+    private float tileAreaWidth;// 平铺区域宽度 (像素)
+    private float tileAreaHeight;// 平铺区域高度 (像素)
+    private int cacheId = -1;// 当前缓存编号 (-1 表示没有内容)
+    private boolean dirty = true;// 是否需要在下次绘制前重建
+    private int rebuildCount;// 重建次数
+    private final Rectangle boundsTemp = new Rectangle();
+
+    /**
+     * @param region 地面图块
+     * @param pixelsPerMeter 像素/米
+     * @param capacity 最多缓存的图块数
+     */
+    public GroundCache(TextureRegion region, float pixelsPerMeter, int capacity) {
+        this.region = region;
+        this.pixelsPerMeter = pixelsPerMeter;
+        spriteCache = new SpriteCache(capacity, false);
+    }
+
+    /**
+     * 按障碍物的包围盒绘制地面，列表内容变化时需通过 {@link #onObstacleChanged} 或 {@link #invalidate()} 通知
+     * @param obstacleBodies 障碍物列表 (保存引用，重建时读取)
+     */
+    public void trackObstacles(Array<Body> obstacleBodies) {
+        this.obstacleBodies = obstacleBodies;
+        dirty = true;
+    }
+
+    /**
+     * 从原点开始把图块按原始尺寸平铺满给定区域
+     * @param width 区域宽度 (米)
+     * @param height 区域高度 (米)
+     */
+    public void tile(float width, float height) {
+        obstacleBodies = null;
+        tileAreaWidth = width * pixelsPerMeter;
+        tileAreaHeight = height * pixelsPerMeter;
+        dirty = true;
+    }
+
+    /**
+     * 标记为需要重建
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    @Override
+    public void onObstacleChanged(Body body, Rectangle oldBounds, Rectangle newBounds) {
+        dirty = true;
+    }
+
+    /**
+     * 绘制地面层 (需在 SpriteBatch 的 begin/end 之外调用)
+     * @param projection 投影矩阵 (像素坐标)
+     */
+    public void render(Matrix4 projection) {
+        if (dirty) rebuild();
+        if (cacheId < 0) return;
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        spriteCache.setProjectionMatrix(projection);
+        spriteCache.begin();
+        spriteCache.draw(cacheId);
+        spriteCache.end();
+    }
+
+    private void rebuild() {
+        dirty = false;
+        rebuildCount++;
+        spriteCache.clear();
+        spriteCache.beginCache();
+        if (obstacleBodies != null) {
+            for (Body body : obstacleBodies) {
+                if (!GameTiledGraph.getBodyBounds(body, boundsTemp)) continue;
+                spriteCache.add(region, boundsTemp.x * pixelsPerMeter, boundsTemp.y * pixelsPerMeter,
+                    boundsTemp.width * pixelsPerMeter, boundsTemp.height * pixelsPerMeter);
+            }
+        } else {
+            int tileWidth = region.getRegionWidth();
+            int tileHeight = region.getRegionHeight();
+            for (float x = 0; x < tileAreaWidth; x += tileWidth) {
+                for (float y = 0; y < tileAreaHeight; y += tileHeight) {
+                    spriteCache.add(region, x, y);
+                }
+            }
+        }
+        cacheId = spriteCache.endCache();
+    }
+
+    public int getRebuildCount() { return rebuildCount; }
+
+    @Override
+    public void dispose() {
+        spriteCache.dispose();
+    }
+}
@@ -0,0 +1,21 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * @ClassName: ObstacleListener
+ * @Description: 障碍物变化监听：WorldManager 中的障碍物被创建、销毁或移动时回调
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public interface ObstacleListener {
+    /**
+     * 障碍物发生变化
+     * @param body 障碍物 (销毁时回调之后即被销毁，不要保存引用)
+     * @param oldBounds 变化前的世界包围盒，新建时为 null
+     * @param newBounds 变化后的世界包围盒，销毁时为 null
+     */
+    void onObstacleChanged(Body body, Rectangle oldBounds, Rectangle newBounds);
+}
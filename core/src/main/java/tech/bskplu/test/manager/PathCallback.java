@@ -0,0 +1,16 @@
+package tech.bskplu.test.manager;
+
+/**
+ * @ClassName: PathCallback
+ * @Description: 异步寻路结果回调，总是在渲染线程 (AIManager.update) 中调用
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public interface PathCallback {
+    /**
+     * 寻路完成
+     * @param request 已完成的请求，可读取路径和是否找到
+     */
+    void onPathReady(PathRequest request);
+}
@@ -0,0 +1,47 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.utils.Array;
+import tech.bskplu.test.ai.GameTiledNode;
+
+/**
+ * @ClassName: PathRequest
+ * @Description: 一次寻路请求 (起点、终点、回调) 及其结果
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class PathRequest {
+    final Object agent;// 发起请求的代理 (同一代理只保留最新的请求)
+    final GameTiledNode startNode;// 起点
+    final GameTiledNode endNode;// 终点
+    final PathCallback callback;// 结果回调
+    final DefaultGraphPath<GameTiledNode> path = new DefaultGraphPath<>();// 结果路径
+    volatile boolean cancelled;// 已被同一代理更新的请求取代
+    boolean pathFound;// 是否找到路径
+
+    /**
+     * 创建批量寻路请求 (交给 {@link AIManager#solveAll(Array)}，不需要回调)
+     * @param agent 发起请求的代理，可为 null
+     * @param startNode 起点
+     * @param endNode 终点
+     */
+    public PathRequest(Object agent, GameTiledNode startNode, GameTiledNode endNode) {
+        this(agent, startNode, endNode, null);
+    }
+
+    PathRequest(Object agent, GameTiledNode startNode, GameTiledNode endNode, PathCallback callback) {
+        this.agent = agent;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        this.callback = callback;
+    }
+
+    public Object getAgent() { return agent; }
+    public GameTiledNode getStartNode() { return startNode; }
+    public GameTiledNode getEndNode() { return endNode; }
+    public GraphPath<GameTiledNode> getPath() { return path; }
+    public boolean isPathFound() { return pathFound; }
+    public boolean isCancelled() { return cancelled; }
+}
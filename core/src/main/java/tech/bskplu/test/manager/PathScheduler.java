@@ -0,0 +1,171 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.ai.msg.MessageDispatcher;
+import com.badlogic.gdx.ai.msg.Telegram;
+import com.badlogic.gdx.ai.msg.Telegraph;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.PathFinder;
+import com.badlogic.gdx.ai.pfa.PathFinderQueue;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import tech.bskplu.test.ai.GameTiledNode;
+
+/**
+ * @ClassName: PathScheduler
+ * @Description: 分时寻路调度器：基于 gdx-ai 的 PathFinderQueue，每帧只在固定预算内推进搜索
+ * 预算用完时当前搜索被中断，下一帧从中断处继续，剩余请求顺延到之后的帧。
+ * 与异步寻路一样，结果通过 PathCallback 在渲染线程返回；同一代理的新请求会使旧请求作废。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class PathScheduler implements Telegraph {
+    public static final long DEFAULT_FRAME_BUDGET = 1_000_000L;// 默认每帧预算 (纳秒，即 1 毫秒)
+    private static final int MSG_PATH_REQUEST = 1;// 提交寻路请求
+    private static final int MSG_PATH_RESPONSE = 2;// 寻路完成
+
+    private final PathFinderQueue<GameTiledNode> pathQueue;// 可中断的寻路队列
+    private final MessageDispatcher dispatcher = new MessageDispatcher();// 私有分发器，不占用全局 MessageManager
+    private final Heuristic<GameTiledNode> heuristic;// 启发式函数
+    private final ObjectMap<Object, SlicedRequest> latestRequests = new ObjectMap<>();// 每个代理最新的请求
+    private long frameBudget = DEFAULT_FRAME_BUDGET;// 每帧预算 (纳秒)
+
+    // 统计
+    private int pendingRequests;// 排队中或搜索中的请求
+    private int deferredRequests;// 上一帧预算用完后仍未完成的请求
+    private long totalDeferredRequests;// 累计顺延的请求帧数
+    private long lastRunNanos;// 上一帧实际耗时 (纳秒)
+
+    /**
+     * 携带原始请求的 gdx-ai 寻路请求
+     */
+    private static class SlicedRequest extends PathFinderRequest<GameTiledNode> {
+        final PathRequest pathRequest;
+        boolean restart;// 导航图变化后需要从头搜索
+
+        SlicedRequest(PathRequest pathRequest, Heuristic<GameTiledNode> heuristic, MessageDispatcher dispatcher) {
+            super(pathRequest.startNode, pathRequest.endNode, heuristic, pathRequest.path, dispatcher);
+            this.pathRequest = pathRequest;
+            this.responseMessageCode = MSG_PATH_RESPONSE;
+        }
+
+        @Override
+        public boolean search(PathFinder<GameTiledNode> pathFinder, long timeToRun) {
+            if (pathRequest.cancelled) {
+                // 已被同一代理的新请求取代，不再消耗预算
+                pathFound = false;
+                return true;
+            }
+            if (restart) {
+                // 寻路器在 statusChanged 时重新初始化，丢弃按旧布局展开和关闭的节点
+                restart = false;
+                statusChanged = true;
+            }
+            return super.search(pathFinder, timeToRun);
+        }
+    }
+
+    /**
+     * 构造函数
+     * @param pathFinder 支持中断的寻路器 (需专用，不能与同步搜索共用)
+     * @param heuristic 启发式函数
+     */
+    public PathScheduler(PathFinder<GameTiledNode> pathFinder, Heuristic<GameTiledNode> heuristic) {
+        this.pathQueue = new PathFinderQueue<>(pathFinder);
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * 提交寻路请求，结果在之后某一帧的 {@link #run()} 中通过回调返回
+     * @param agent 发起请求的代理
+     * @param startNode 起点
+     * @param endNode 终点
+     * @param callback 结果回调
+     */
+    public void schedulePath(Object agent, GameTiledNode startNode, GameTiledNode endNode, PathCallback callback) {
+        SlicedRequest previous = latestRequests.get(agent);
+        if (previous != null) {
+            previous.pathRequest.cancelled = true;
+        }
+        SlicedRequest request = new SlicedRequest(new PathRequest(agent, startNode, endNode, callback), heuristic, dispatcher);
+        latestRequests.put(agent, request);
+        pendingRequests++;
+        dispatcher.dispatchMessage(this, pathQueue, MSG_PATH_REQUEST, request);
+    }
+
+    /**
+     * 每帧调用：在预算内推进排队的搜索
+     */
+    public void run() {
+        if (pendingRequests == 0) {
+            deferredRequests = 0;
+            lastRunNanos = 0;
+            return;
+        }
+        long startTime = TimeUtils.nanoTime();
+        pathQueue.run(frameBudget);
+        lastRunNanos = TimeUtils.nanoTime() - startTime;
+        deferredRequests = pendingRequests;
+        totalDeferredRequests += deferredRequests;
+    }
+
+    /**
+     * 搜索完成 (由 PathFinderQueue 在 run 中回发)
+     */
+    @Override
+    public boolean handleMessage(Telegram msg) {
+        SlicedRequest request = (SlicedRequest) msg.extraInfo;
+        pendingRequests--;
+        PathRequest pathRequest = request.pathRequest;
+        if (pathRequest.cancelled) return true;
+        latestRequests.remove(pathRequest.agent);
+        pathRequest.pathFound = request.pathFound;
+        pathRequest.callback.onPathReady(pathRequest);
+        return true;
+    }
+
+    /**
+     * 作废代理排队中的请求 (不会回调)
+     * @param agent 代理
+     */
+    public void cancel(Object agent) {
+        SlicedRequest previous = latestRequests.remove(agent);
+        if (previous != null) {
+            previous.pathRequest.cancelled = true;
+        }
+    }
+
+    /**
+     * 导航图已变化：被中断的搜索在下一次推进时从头开始，结果不会混用新旧两版布局
+     */
+    public void restartSearches() {
+        for (SlicedRequest request : latestRequests.values()) {
+            request.restart = true;
+        }
+    }
+
+    /**
+     * 作废所有请求 (排队中的请求会在之后的 run 中被快速跳过)
+     */
+    public void clear() {
+        for (SlicedRequest request : latestRequests.values()) {
+            request.pathRequest.cancelled = true;
+        }
+        latestRequests.clear();
+    }
+
+    /**
+     * 设置每帧预算
+     * @param frameBudget 预算 (纳秒)
+     */
+    public void setFrameBudget(long frameBudget) {
+        this.frameBudget = frameBudget;
+    }
+
+    public long getFrameBudget() { return frameBudget; }
+    public int getPendingRequests() { return pendingRequests; }
+    public int getDeferredRequests() { return deferredRequests; }
+    public long getTotalDeferredRequests() { return totalDeferredRequests; }
+    public long getLastRunNanos() { return lastRunNanos; }
+}
@@ -0,0 +1,129 @@
+package tech.bskplu.test.manager;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * @ClassName: SimulationClock
+ * @Description: 固定步长的模拟时钟：渲染帧的时间累加到累加器中，每满一个步长推进一次物理世界，
+ * 单帧的步数有上限 (卡顿时丢弃多余的时间，而不是越追越慢)。
+ * 绘制时用 {@link #getInterpolatedPosition} 在上一步与当前步之间插值，画面在任何刷新率下都是平滑的。
+ * 用法：每帧先 {@link #advance(float)} 得到步数，再逐步调用 {@link #step}，最后按插值位置绘制。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class SimulationClock {
+    public static final float DEFAULT_STEP = 1 / 60f;// 默认步长 (秒)
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 5;// 默认单帧最多步数
+    private static final float MAX_FRAME_TIME = 0.25f;// 单帧最多计入的时间 (秒)，防止断点、切后台后一次追赶过多
+
+    private final float step;// 步长 (秒)
+    private final int maxStepsPerFrame;// 单帧最多步数
+    private float accumulator;// 尚未模拟的时间 (秒)
+    private float alpha;// 插值系数：累加器剩余时间 / 步长
+    private long stepCount;// 累计步数
+    private long droppedSteps;// 因超过单帧上限而丢弃的步数
+
+    private final Array<Body> trackedBodies = new Array<>();// 需要插值绘制的物体
+    private final FloatArray previousPositions = new FloatArray();// 各物体上一步的位置，按 x, y 交错存放
+
+    public SimulationClock() {
+        this(DEFAULT_STEP, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    /**
+     * @param step 步长 (秒)
+     * @param maxStepsPerFrame 单帧最多步数
+     */
+    public SimulationClock(float step, int maxStepsPerFrame) {
+        this.step = step;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * 计入一帧的时间，返回本帧需要推进的步数 (0 ~ maxStepsPerFrame).
+     * @param delta 帧时间 (秒)
+     * @return 步数
+     */
+    public int advance(float delta) {
+        accumulator += Math.min(Math.max(delta, 0f), MAX_FRAME_TIME);
+        int steps = (int) (accumulator / step);
+        if (steps > maxStepsPerFrame) {
+            droppedSteps += steps - maxStepsPerFrame;
+            accumulator -= (steps - maxStepsPerFrame) * step;// 丢弃追不上的部分，只保留不足一步的余量
+            steps = maxStepsPerFrame;
+        }
+        accumulator -= steps * step;
+        if (accumulator < 0f) accumulator = 0f;
+        alpha = accumulator / step;
+        return steps;
+    }
+
+    /**
+     * 记录被跟踪物体的当前位置，然后把物理世界推进一个步长.
+     * @param world 物理世界
+     * @param velocityIterations 速度迭代次数
+     * @param positionIterations 位置迭代次数
+     */
+    public void step(World world, int velocityIterations, int positionIterations) {
+        for (int i = 0; i < trackedBodies.size; i++) {
+            Vector2 position = trackedBodies.get(i).getPosition();
+            previousPositions.set(i * 2, position.x);
+            previousPositions.set(i * 2 + 1, position.y);
+        }
+        world.step(step, velocityIterations, positionIterations);
+        stepCount++;
+    }
+
+    /**
+     * 跟踪物体，之后可以取它的插值位置 (重复跟踪时只重置上一步位置)
+     * @param body 物体
+     */
+    public void track(Body body) {
+        int index = trackedBodies.indexOf(body, true);
+        if (index < 0) {
+            index = trackedBodies.size;
+            trackedBodies.add(body);
+            previousPositions.add(0f, 0f);
+        }
+        Vector2 position = body.getPosition();
+        previousPositions.set(index * 2, position.x);
+        previousPositions.set(index * 2 + 1, position.y);
+    }
+
+    /**
+     * 停止跟踪物体 (物体销毁前调用)
+     * @param body 物体
+     */
+    public void untrack(Body body) {
+        int index = trackedBodies.indexOf(body, true);
+        if (index < 0) return;
+        trackedBodies.removeIndex(index);
+        previousPositions.removeRange(index * 2, index * 2 + 1);
+    }
+
+    /**
+     * 物体在上一步与当前步之间按 alpha 插值的位置 (米)，未跟踪的物体返回当前位置.
+     * @param body 物体
+     * @param out 输出
+     * @return out
+     */
+    public Vector2 getInterpolatedPosition(Body body, Vector2 out) {
+        Vector2 position = body.getPosition();
+        int index = trackedBodies.indexOf(body, true);
+        if (index < 0) return out.set(position);
+        float previousX = previousPositions.get(index * 2);
+        float previousY = previousPositions.get(index * 2 + 1);
+        return out.set(previousX + (position.x - previousX) * alpha, previousY + (position.y - previousY) * alpha);
+    }
+
+    public float getStep() { return step; }
+    public float getAlpha() { return alpha; }
+    public long getStepCount() { return stepCount; }
+    public long getDroppedSteps() { return droppedSteps; }
+    public int getMaxStepsPerFrame() { return maxStepsPerFrame; }
+}
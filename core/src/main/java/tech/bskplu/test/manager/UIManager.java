@@ -1,11 +1,13 @@
 package tech.bskplu.test.manager;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 
 import static tech.bskplu.test.BattleScreen.PPM;
 import static tech.bskplu.test.BattleScreen.SCENE_HEIGHT;
@@ -13,21 +15,34 @@ import static tech.bskplu.test.TGameScreen.PIXELS_PER_METER;
 
 /**
  * @ClassName: UIManager
- * @Description: 管理 UI 元素，如血条和消息
+ * @Description: 管理 UI 元素，如血条和消息。
+ * 所有绘制都在调用方已经 begin 的 SpriteBatch 中进行：血条用世界图集里的白色区域着色绘制，与角色同一张纹理，不打断批次；
+ * 血条的百分比文字先排队，由 {@link #drawLabels(SpriteBatch)} 一次画完，每帧只切换一次字体纹理，与实体数量无关。
+ * 数值文字按值缓存，只在数值变化时重新生成字符串。
  * @Author BsKPLu
  * @Date 2025/4/3
  * @Version 1.1
  */
 public class UIManager {
-    private ShapeRenderer shapeRenderer;// 用于绘制血条
+    private static final float BAR_WIDTH = 40f;// 血条宽度 (像素)
+    private static final float BAR_HEIGHT = 5f;// 血条高度 (像素)
+    private static final float BAR_BACKGROUND_COLOR = Color.DARK_GRAY.toFloatBits();// 血条底色 (打包颜色)
+    private static final float BAR_FILL_COLOR = Color.RED.toFloatBits();// 血量颜色 (打包颜色)
+
+    private final TextureRegion whiteRegion;// 世界图集中的白色区域，着色后绘制血条
     private BitmapFont font;// 用于绘制文字
     private BitmapFont messageFont;// 用于绘制消息
+    private final String[] percentLabels = new String[101];// "0%" 到 "100%"，首次用到时生成
+    private final FloatArray labelPositions = new FloatArray();// 排队的血条文字位置 (x, y 成对存放)
+    private final Array<String> labelTexts = new Array<>();// 排队的血条文字
+    private final ValueLabel playerHealthLabel = new ValueLabel("Player Health: ", "%");// 对战场景玩家血量
+    private final ValueLabel enemyHealthLabel = new ValueLabel("Enemy Health: ", "%");// 对战场景敌人血量
 
     /**
-     * 构造函数：初始化渲染器和字体
+     * 构造函数：初始化字体，持有世界图集的一次引用 (dispose 时释放)
      */
     public UIManager() {
-        shapeRenderer = new ShapeRenderer();
+        whiteRegion = AssetService.getInstance().acquireAtlas(AssetService.WORLD_ATLAS).findRegion(AssetService.WORLD_WHITE_REGION);
         font = new BitmapFont();
         messageFont = new BitmapFont();
         messageFont.setColor(Color.YELLOW);
@@ -35,9 +50,8 @@ public class UIManager {
     }
 
     /**
-     * 绘制血条
-     * @param batch SpriteBatch 用于绘制文字
-     * @param camera 摄像机
+     * 绘制血条 (需在 batch.begin/end 之间调用)，百分比文字排队到 {@link #drawLabels(SpriteBatch)} 时绘制
+     * @param batch 已 begin 的 SpriteBatch
      * @param position 实体位置
      * @param health 当前血量
      * @param maxHealth 最大血量
@@ -47,7 +61,6 @@ public class UIManager {
      * @param offsetY Y 偏移
      */
     public void drawHealthBar(SpriteBatch batch,
-                              OrthographicCamera camera,
                               Vector2 position,
                               float health,
                               float maxHealth,
@@ -55,69 +68,102 @@ public class UIManager {
                               float height,
                               float offsetX,
                               float offsetY) {
-        // ShapeRenderer 和 SpriteBatch 需要使用相同的投影矩阵
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        float barWidth = 40;
-        float barHeight = 5;
         float barX = (position.x * PIXELS_PER_METER) - width / 2f + offsetX;
         float barY = (position.y * PIXELS_PER_METER) - height / 2f + offsetY;
+        float healthPercentage = MathUtils.clamp(health / maxHealth, 0f, 1f);
 
-        shapeRenderer.setColor(Color.DARK_GRAY);
-        shapeRenderer.rect(barX, barY, barWidth, barHeight);
+        float oldColor = batch.getPackedColor();
+        batch.setPackedColor(BAR_BACKGROUND_COLOR);
+        batch.draw(whiteRegion, barX, barY, BAR_WIDTH, BAR_HEIGHT);
+        batch.setPackedColor(BAR_FILL_COLOR);
+        batch.draw(whiteRegion, barX, barY, BAR_WIDTH * healthPercentage, BAR_HEIGHT);
+        batch.setPackedColor(oldColor);
 
-        float healthPercentage = health / maxHealth;
-        shapeRenderer.setColor(Color.RED);
-        shapeRenderer.rect(barX, barY, barWidth * healthPercentage, barHeight);
-        shapeRenderer.end();
+        labelPositions.add(barX + BAR_WIDTH + 5, barY + BAR_HEIGHT);
+        labelTexts.add(getPercentLabel(MathUtils.round(healthPercentage * 100)));
+    }
 
-        //Gdx.app.log("HealthBar", "position: " + position.x + ", " + position.y + ", width: " + width + ", height: " + height);
-        batch.begin();
+    /**
+     * 绘制排队的血条文字并清空队列 (需在 batch.begin/end 之间、本帧所有血条之后调用)
+     * @param batch 已 begin 的 SpriteBatch
+     */
+    public void drawLabels(SpriteBatch batch) {
         font.setColor(Color.WHITE);
-        font.draw(batch, String.format("%.0f%%", healthPercentage * 100), barX + barWidth + 5, barY + barHeight);
-        batch.end();
+        for (int i = 0; i < labelTexts.size; i++) {
+            font.draw(batch, labelTexts.get(i), labelPositions.get(i * 2), labelPositions.get(i * 2 + 1));
+        }
+        labelTexts.clear();
+        labelPositions.clear();
     }
 
     /**
-     * 绘制消息
-     * @param batch SpriteBatch 用于绘制
+     * 绘制消息 (需在 batch.begin/end 之间调用)
+     * @param batch 已 begin 的 SpriteBatch
      * @param message 消息内容
      * @param x X 坐标
      * @param y Y 坐标
      */
     public void drawMessage(SpriteBatch batch, String message, float x, float y) {
-        batch.begin();
         messageFont.draw(batch, message, x, y);
-        batch.end();
     }
 
     /**
-     * 绘制对战场景UI
-     * @param batch
-     * @param playerHealth
-     * @param enemyHealth
-     * @param battleMessage
-     * @param isPlayerTurn
+     * 绘制对战场景UI (需在 batch.begin/end 之间调用)
+     * @param batch 已 begin 的 SpriteBatch
+     * @param playerHealth 玩家血量 (百分比)
+     * @param enemyHealth 敌人血量 (百分比)
+     * @param battleMessage 战斗消息
+     * @param isPlayerTurn 是否轮到玩家 (显示技能菜单)
      */
     public void drawBattleUI(SpriteBatch batch, float playerHealth, float enemyHealth, String battleMessage, boolean isPlayerTurn) {
-        batch.begin();
-        font.draw(batch, "Player Health: " + String.format("%.0f%%", playerHealth), 10, SCENE_HEIGHT * PPM - 10);
-        font.draw(batch, "Enemy Health: " + String.format("%.0f%%", enemyHealth), 10, SCENE_HEIGHT * PPM - 30);
+        font.draw(batch, playerHealthLabel.get(MathUtils.round(playerHealth)), 10, SCENE_HEIGHT * PPM - 10);
+        font.draw(batch, enemyHealthLabel.get(MathUtils.round(enemyHealth)), 10, SCENE_HEIGHT * PPM - 30);
         font.draw(batch, battleMessage, 10, SCENE_HEIGHT * PPM - 50);
         if (isPlayerTurn) {
             font.draw(batch, "1. Normal Attack (10%)", 10, 50);
             font.draw(batch, "2. Double Strike (15% + Bleed)", 10, 30);
             font.draw(batch, "3. Defend (50% less damage)", 10, 10);
         }
-        batch.end();
+    }
+
+    private String getPercentLabel(int percent) {
+        String label = percentLabels[percent];
+        if (label == null) {
+            label = percent + "%";
+            percentLabels[percent] = label;
+        }
+        return label;
     }
 
     /**
      * 释放资源
      */
     public void dispose() {
-        shapeRenderer.dispose();
         font.dispose();
         messageFont.dispose();
+        AssetService.getInstance().release(AssetService.WORLD_ATLAS);
+    }
+
+    /**
+     * 带前后缀的整数文字，数值不变时复用上次生成的字符串
+     */
+    private static class ValueLabel {
+        private final String prefix;// 前缀
+        private final String suffix;// 后缀
+        private int value;// 当前文字对应的数值
+        private String text;// 当前文字
+
+        ValueLabel(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        String get(int value) {
+            if (text == null || value != this.value) {
+                this.value = value;
+                text = prefix + value + suffix;
+            }
+            return text;
+        }
     }
 }
@@ -1,8 +1,15 @@
 package tech.bskplu.test.manager;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import tech.bskplu.test.ai.GameTiledGraph;
+
+import java.io.DataOutput;
+import java.io.IOException;
 /**
  * @ClassName: WorldManager
  * @Description: 管理游戏世界，包括物理模拟、边界和地面
@@ -16,11 +23,51 @@ public class WorldManager {
     private static final float PIXELS_PER_METER = 32f;// 像素到米的转换比例
     private static final float GAME_WIDTH_METERS = 800f / PIXELS_PER_METER;// 游戏宽度 (米)
     private static final float GAME_HEIGHT_METERS = 600f / PIXELS_PER_METER;// 游戏高度 (米)
+    private static final float OBSTACLE_MOVE_EPSILON = 0.01f;// 包围盒变化小于该值 (米) 时不通知
+    private static final float WALL_COVERAGE_EPSILON = 0.001f;// 墙段覆盖整条边的判定误差 (米)
+
+    private final boolean mergeStaticWalls;// 是否把相接的静态墙段合并为一个物体上的链形 (ChainShape)
+    private final long seed;// 世界生成的随机种子
+    private final RandomXS128 random;// 世界生成的随机数 (地面布局、敌人出生点)，同一种子生成同一个世界
+
+    private final Array<ObstacleListener> obstacleListeners = new Array<>();// 障碍物变化监听器
+    private final ObjectMap<Body, Rectangle> obstacleBounds = new ObjectMap<>();// 每个障碍物上一次通知时的包围盒
+    private final Rectangle oldBoundsTemp = new Rectangle();
+    private final Rectangle newBoundsTemp = new Rectangle();
 
     /**
-     * 构造函数：初始化物理世界并创建边界和地面
+     * 构造函数：初始化物理世界并创建边界和地面 (静态墙段合并为链形，随机种子)
      */
     public WorldManager() {
+        this(true);
+    }
+
+    /**
+     * 构造函数：初始化物理世界并用给定种子创建边界和地面 (静态墙段合并为链形)
+     * @param seed 随机种子
+     */
+    public WorldManager(long seed) {
+        this(true, seed);
+    }
+
+    /**
+     * 构造函数：初始化物理世界并创建边界和地面 (随机种子)
+     * @param mergeStaticWalls 是否把边界和对战场景的墙段合并为链形
+     */
+    public WorldManager(boolean mergeStaticWalls) {
+        this(mergeStaticWalls, MathUtils.random.nextLong());
+    }
+
+    /**
+     * 构造函数：初始化物理世界并创建边界和地面
+     * @param mergeStaticWalls 是否把边界和对战场景的墙段合并为链形：
+     *                         每条边只占一个宽相代理，数量与场景大小无关；为 false 时每段墙是一个独立的矩形物体
+     * @param seed 随机种子 (记录下来即可重现同一个世界)
+     */
+    public WorldManager(boolean mergeStaticWalls, long seed) {
+        this.mergeStaticWalls = mergeStaticWalls;
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
         world = new World(new Vector2(0, 0), true);
         createBoundaries();
         createGround();
@@ -30,6 +77,12 @@ public class WorldManager {
      * 创建游戏边界
      */
     private void createBoundaries() {
+        if (mergeStaticWalls) {
+            // 墙体在地图外侧，只有朝内的一面会被碰到：用沿地图边缘的一圈链形代替四个矩形
+            Body boundaryBody = world.createBody(new BodyDef());
+            createChainFixture(boundaryBody, rectangleLoop(0f, 0f, GAME_WIDTH_METERS, GAME_HEIGHT_METERS), true, "boundary");
+            return;
+        }
         float wallThickness = 0.5f;
         BodyDef boundaryBodyDef = new BodyDef();
         boundaryBodyDef.type = BodyDef.BodyType.StaticBody;
@@ -70,23 +123,110 @@ public class WorldManager {
         for (int i = 0; i < 10; i++) {
             float maxWidth = (maxX - minX) / 2;
             float maxHeight = (maxY - minY) / 2;
-            float halfWidth = MathUtils.random(25 / PIXELS_PER_METER, Math.min(75 / PIXELS_PER_METER, maxWidth));
-            float halfHeight = MathUtils.random(10 / PIXELS_PER_METER, Math.min(35 / PIXELS_PER_METER, maxHeight));
-            float x = MathUtils.random(minX + halfWidth, maxX - halfWidth);
-            float y = MathUtils.random(minY + halfHeight, maxY - halfHeight);
-
-            BodyDef groundBodyDef = new BodyDef();
-            groundBodyDef.type = BodyDef.BodyType.StaticBody;
-            groundBodyDef.position.set(x, y);
-            Body groundBody = world.createBody(groundBodyDef);
-            PolygonShape groundBox = new PolygonShape();
-            groundBox.setAsBox(halfWidth, halfHeight);
-            groundBody.createFixture(groundBox, 0.0f).setUserData("ground");
-            groundBodies.add(groundBody);
-            groundBox.dispose();
+            float halfWidth = randomRange(25 / PIXELS_PER_METER, Math.min(75 / PIXELS_PER_METER, maxWidth));
+            float halfHeight = randomRange(10 / PIXELS_PER_METER, Math.min(35 / PIXELS_PER_METER, maxHeight));
+            float x = randomRange(minX + halfWidth, maxX - halfWidth);
+            float y = randomRange(minY + halfHeight, maxY - halfHeight);
+
+            createObstacle(x, y, halfWidth, halfHeight, BodyDef.BodyType.StaticBody);
         }
     }
 
+    /**
+     * [min, max) 内的随机数，与 MathUtils.random(min, max) 相同但使用本世界的随机数
+     */
+    private float randomRange(float min, float max) {
+        return min + random.nextFloat() * (max - min);
+    }
+
+    /**
+     * 创建矩形障碍物，加入地面物体列表并通知监听器
+     * @param x 中心 X (米)
+     * @param y 中心 Y (米)
+     * @param halfWidth 半宽 (米)
+     * @param halfHeight 半高 (米)
+     * @param type 物体类型 (可移动的箱子、门等使用 Kinematic 或 Dynamic)
+     * @return 障碍物
+     */
+    public Body createObstacle(float x, float y, float halfWidth, float halfHeight, BodyDef.BodyType type) {
+        BodyDef obstacleBodyDef = new BodyDef();
+        obstacleBodyDef.type = type;
+        obstacleBodyDef.position.set(x, y);
+        Body obstacleBody = world.createBody(obstacleBodyDef);
+        PolygonShape obstacleBox = new PolygonShape();
+        obstacleBox.setAsBox(halfWidth, halfHeight);
+        obstacleBody.createFixture(obstacleBox, type == BodyDef.BodyType.DynamicBody ? 1.0f : 0.0f).setUserData("ground");
+        obstacleBox.dispose();
+        groundBodies.add(obstacleBody);
+
+        Rectangle bounds = new Rectangle();
+        GameTiledGraph.getBodyBounds(obstacleBody, bounds);
+        obstacleBounds.put(obstacleBody, bounds);
+        notifyObstacleChanged(obstacleBody, null, bounds);
+        return obstacleBody;
+    }
+
+    /**
+     * 销毁障碍物并通知监听器
+     * @param obstacleBody 障碍物
+     */
+    public void destroyObstacle(Body obstacleBody) {
+        if (!groundBodies.removeValue(obstacleBody, true)) return;
+        Rectangle bounds = obstacleBounds.remove(obstacleBody);
+        notifyObstacleChanged(obstacleBody, bounds, null);
+        world.destroyBody(obstacleBody);
+    }
+
+    /**
+     * 移动障碍物 (保持角度) 并通知监听器
+     * @param obstacleBody 障碍物
+     * @param x 新的中心 X (米)
+     * @param y 新的中心 Y (米)
+     */
+    public void moveObstacle(Body obstacleBody, float x, float y) {
+        obstacleBody.setTransform(x, y, obstacleBody.getAngle());
+        refreshObstacle(obstacleBody);
+    }
+
+    /**
+     * 每次物理步进后调用：检查被物理推动的非静态障碍物，位置变化时通知监听器
+     */
+    public void updateObstacles() {
+        for (Body obstacleBody : groundBodies) {
+            if (obstacleBody.getType() != BodyDef.BodyType.StaticBody && obstacleBody.isAwake()) {
+                refreshObstacle(obstacleBody);
+            }
+        }
+    }
+
+    private void refreshObstacle(Body obstacleBody) {
+        Rectangle bounds = obstacleBounds.get(obstacleBody);
+        if (bounds == null || !GameTiledGraph.getBodyBounds(obstacleBody, newBoundsTemp)) return;
+        if (Math.abs(bounds.x - newBoundsTemp.x) < OBSTACLE_MOVE_EPSILON
+            && Math.abs(bounds.y - newBoundsTemp.y) < OBSTACLE_MOVE_EPSILON
+            && Math.abs(bounds.width - newBoundsTemp.width) < OBSTACLE_MOVE_EPSILON
+            && Math.abs(bounds.height - newBoundsTemp.height) < OBSTACLE_MOVE_EPSILON) {
+            return;
+        }
+        oldBoundsTemp.set(bounds);
+        bounds.set(newBoundsTemp);
+        notifyObstacleChanged(obstacleBody, oldBoundsTemp, bounds);
+    }
+
+    private void notifyObstacleChanged(Body obstacleBody, Rectangle oldBounds, Rectangle newBounds) {
+        for (ObstacleListener listener : obstacleListeners) {
+            listener.onObstacleChanged(obstacleBody, oldBounds, newBounds);
+        }
+    }
+
+    public void addObstacleListener(ObstacleListener listener) {
+        obstacleListeners.add(listener);
+    }
+
+    public void removeObstacleListener(ObstacleListener listener) {
+        obstacleListeners.removeValue(listener, true);
+    }
+
     /**
      * 对战场景墙壁创建
      * @param sceneWidth
@@ -95,6 +235,10 @@ public class WorldManager {
      * @param wallThickness
      */
     public void createBattleWalls(float sceneWidth, float sceneHeight, float wallLength, float wallThickness) {
+        if (mergeStaticWalls) {
+            createMergedBattleWalls(sceneWidth, sceneHeight, wallLength, wallThickness);
+            return;
+        }
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.StaticBody;
         PolygonShape shape = new PolygonShape();
@@ -136,6 +280,85 @@ public class WorldManager {
         shape.dispose();
     }
 
+    /**
+     * 合并版的对战场景墙壁：同一条边上首尾相接的墙段只保留朝内的一条边，
+     * 四条边都被完整覆盖时连成一个闭合链形，否则每条边各是一段开放链形 (都在同一个静态物体上)
+     */
+    private void createMergedBattleWalls(float sceneWidth, float sceneHeight, float wallLength, float wallThickness) {
+        float coveredWidth = (int) (sceneWidth / wallLength) * wallLength;
+        float coveredHeight = (int) (sceneHeight / wallLength) * wallLength;
+        Body wallBody = world.createBody(new BodyDef());
+        if (coveredWidth >= sceneWidth - WALL_COVERAGE_EPSILON && coveredHeight >= sceneHeight - WALL_COVERAGE_EPSILON) {
+            createChainFixture(wallBody, rectangleLoop(wallThickness, wallThickness, sceneWidth - wallThickness, sceneHeight - wallThickness), true, "wall");
+            return;
+        }
+        // 顶点顺序与闭合链形一致 (顺时针)，各边的法线都朝向场景内部
+        if (coveredWidth > 0f) {
+            createChainFixture(wallBody, new float[]{coveredWidth, wallThickness, 0f, wallThickness}, false, "wall_bottom");
+            createChainFixture(wallBody, new float[]{0f, sceneHeight - wallThickness, coveredWidth, sceneHeight - wallThickness}, false, "wall_top");
+        }
+        if (coveredHeight > 0f) {
+            createChainFixture(wallBody, new float[]{wallThickness, 0f, wallThickness, coveredHeight}, false, "wall_left");
+            createChainFixture(wallBody, new float[]{sceneWidth - wallThickness, coveredHeight, sceneWidth - wallThickness, 0f}, false, "wall_right");
+        }
+    }
+
+    /**
+     * 矩形的四个顶点，顺时针排列
+     */
+    private static float[] rectangleLoop(float minX, float minY, float maxX, float maxY) {
+        return new float[]{minX, minY, minX, maxY, maxX, maxY, maxX, minY};
+    }
+
+    private void createChainFixture(Body body, float[] vertices, boolean loop, String userData) {
+        ChainShape chainShape = new ChainShape();
+        if (loop) {
+            chainShape.createLoop(vertices);
+        } else {
+            chainShape.createChain(vertices);
+        }
+        FixtureDef fixtureDef = new FixtureDef();
+        fixtureDef.shape = chainShape;
+        fixtureDef.friction = 0.4f;
+        body.createFixture(fixtureDef).setUserData(userData);
+        chainShape.dispose();
+    }
+
+    /**
+     * 写入物理世界的物体总数和障碍物的状态 (按创建顺序)。
+     * World.getBodies 的顺序取决于原生对象地址，不同进程之间不一致，角色的物体由各自的 writeState 写入
+     * @param out 输出
+     */
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(world.getBodyCount());
+        out.writeInt(groundBodies.size);
+        for (Body body : groundBodies) {
+            writeBodyState(body, out);
+        }
+    }
+
+    /**
+     * 写入一个物体的状态：位置、角度、线速度、角速度、是否休眠。
+     * 浮点数按原始位写入，同一输入下两次模拟的快照逐字节相同
+     * @param body 物体 (为 null 时只写入一个标记)
+     * @param out 输出
+     */
+    public static void writeBodyState(Body body, DataOutput out) throws IOException {
+        out.writeBoolean(body != null);
+        if (body == null) return;
+        Vector2 position = body.getPosition();
+        Vector2 velocity = body.getLinearVelocity();
+        out.writeFloat(position.x);
+        out.writeFloat(position.y);
+        out.writeFloat(body.getAngle());
+        out.writeFloat(velocity.x);
+        out.writeFloat(velocity.y);
+        out.writeFloat(body.getAngularVelocity());
+        out.writeBoolean(body.isAwake());
+    }
+
     public World getWorld() { return world; }
+    public long getSeed() { return seed; }
+    public RandomXS128 getRandom() { return random; }
     public Array<Body> getGroundBodies() { return groundBodies; }
 }
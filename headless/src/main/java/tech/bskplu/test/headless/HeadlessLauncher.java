@@ -0,0 +1,238 @@
+package tech.bskplu.test.headless;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import tech.bskplu.test.ChaseSimulation;
+import tech.bskplu.test.SessionRecording;
+import tech.bskplu.test.ai.PathCache;
+import tech.bskplu.test.characters.Enemy;
+import tech.bskplu.test.manager.AIManager;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * @ClassName: HeadlessLauncher
+ * @Description: 在 libGDX 无窗口后端上全速运行追击模拟，输出每秒步数、每秒寻路次数和内存分配速率。
+ * 参数为 key=value 形式：ticks (测量步数)、warmup (预热步数)、enemies (敌人数)、seed (随机种子)、
+ * mode (敌人追击方式 {@link Enemy.PathMode})、finder (寻路算法 {@link AIManager.PathFinderMode})、
+ * minTicksPerSecond (低于该值时以非零状态退出，供 CI 检查性能回退)。
+ * 指定 replay=录像文件 时改为逐步回放 TGameScreen 保存的录像：在每个校验点对比快照校验和，
+ * 输出最慢的几步和录像中卡顿帧对应步的耗时；pauseAtTick 在该步之前等待回车 (便于挂上分析器)，
+ * stopAtTick 在该步之后停止。
+ * @Author BsKPLu
+ * @Date 2026/10/18
+ * @Version 1.1
+ */
+public class HeadlessLauncher {
+    private static final String TAG = "Headless";
+
+    public static void main(String[] args) {
+        ObjectMap<String, String> options = parseOptions(args);
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = -1;// 不进入渲染循环，模拟在 create() 中一次跑完
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                boolean passed = options.containsKey("replay") ? runReplay(options) : runSimulation(options);
+                Gdx.app.exit();
+                if (!passed) System.exit(1);
+            }
+        }, configuration);
+    }
+
+    private static ObjectMap<String, String> parseOptions(String[] args) {
+        ObjectMap<String, String> options = new ObjectMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * 运行模拟并输出报告
+     * @return 是否达到 minTicksPerSecond
+     */
+    private static boolean runSimulation(ObjectMap<String, String> options) {
+        int ticks = Integer.parseInt(options.get("ticks", "36000"));
+        int warmupTicks = Integer.parseInt(options.get("warmup", "3600"));
+        int enemyCount = Integer.parseInt(options.get("enemies", "8"));
+        long seed = Long.parseLong(options.get("seed", "20261018"));
+        Enemy.PathMode pathMode = Enemy.PathMode.valueOf(options.get("mode", Enemy.PathMode.SEARCH.name()));
+        AIManager.PathFinderMode pathFinderMode = AIManager.PathFinderMode.valueOf(options.get("finder", AIManager.PathFinderMode.JUMP_POINT.name()));
+        float minTicksPerSecond = Float.parseFloat(options.get("minTicksPerSecond", "0"));
+
+        Box2D.init();
+        Gdx.app.setLogLevel(Application.LOG_ERROR);// 模拟中敌人的日志 (抓住玩家等) 过于频繁
+        ChaseSimulation simulation = new ChaseSimulation(seed, enemyCount, pathMode, pathFinderMode);
+        simulation.setRespawnOnCatch(true);
+        simulation.run(warmupTicks);
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long startRequests = simulation.getPathRequestCount();
+        int startCatches = simulation.getCatchCount();
+        long startGcCount = getGcCount();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long maxTickNanos = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            long tickStart = System.nanoTime();
+            simulation.tick();
+            maxTickNanos = Math.max(maxTickNanos, System.nanoTime() - tickStart);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        long gcCount = getGcCount() - startGcCount;
+        long pathRequests = simulation.getPathRequestCount() - startRequests;
+        int catches = simulation.getCatchCount() - startCatches;
+        PathCache pathCache = simulation.getAIManager().getPathCache();
+        simulation.dispose();
+
+        double seconds = elapsedNanos / 1e9;
+        double ticksPerSecond = ticks / seconds;
+        Gdx.app.setLogLevel(Application.LOG_INFO);
+        Gdx.app.log(TAG, String.format("enemies=%d mode=%s finder=%s seed=%d ticks=%d (warmup %d)",
+            enemyCount, pathMode, pathFinderMode, seed, ticks, warmupTicks));
+        Gdx.app.log(TAG, String.format("ticks/s: %.0f (%.1fx realtime), max tick: %.3f ms",
+            ticksPerSecond, ticksPerSecond * simulation.getStep(), maxTickNanos / 1e6));
+        Gdx.app.log(TAG, String.format("path requests/s: %.0f (%d total), cache hit ratio: %.2f, catches: %d",
+            pathRequests / seconds, pathRequests, pathCache.getHitRatio(), catches));
+        Gdx.app.log(TAG, String.format("allocation (simulation thread): %.1f MB/s, %.0f B/tick, GC runs: %d",
+            allocatedBytes / seconds / (1024 * 1024), (double) allocatedBytes / ticks, gcCount));
+
+        if (ticksPerSecond < minTicksPerSecond) {
+            Gdx.app.error(TAG, String.format("ticks/s %.0f is below minTicksPerSecond %.0f", ticksPerSecond, minTicksPerSecond));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 回放录像并输出报告
+     * @return 回放是否与录像一致 (所有校验点的快照校验和相同)
+     */
+    private static boolean runReplay(ObjectMap<String, String> options) {
+        SessionRecording recording = SessionRecording.load(new FileHandle(options.get("replay")));
+        int[] inputs = recording.expandInputs();
+        int pauseAtTick = Integer.parseInt(options.get("pauseAtTick", "-1"));
+        int ticks = Math.min(inputs.length, Integer.parseInt(options.get("stopAtTick", String.valueOf(inputs.length - 1))) + 1);
+
+        Box2D.init();
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        ChaseSimulation simulation = new ChaseSimulation(recording);
+        IntArray checkpointTicks = recording.getCheckpointTicks();
+        LongArray checkpointChecksums = recording.getCheckpointChecksums();
+        int nextCheckpoint = 0;
+        int verifiedCheckpoints = 0;
+        int divergedTick = -1;
+        long[] aiNanos = new long[ticks];// 每步输入与 AI 的耗时
+        long[] physicsNanos = new long[ticks];// 每步物理的耗时
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick == pauseAtTick) waitForEnter(tick);
+            simulation.tick(inputs[tick]);
+            aiNanos[tick] = simulation.getLastAiNanos();
+            physicsNanos[tick] = simulation.getLastPhysicsNanos();
+            while (nextCheckpoint < checkpointTicks.size && checkpointTicks.get(nextCheckpoint) <= tick + 1) {
+                if (checkpointTicks.get(nextCheckpoint) == tick + 1) {
+                    if (simulation.getSnapshotChecksum() != checkpointChecksums.get(nextCheckpoint)) {
+                        divergedTick = tick + 1;
+                        break;
+                    }
+                    verifiedCheckpoints++;
+                }
+                nextCheckpoint++;
+            }
+            if (divergedTick >= 0) {
+                ticks = tick + 1;
+                break;
+            }
+        }
+        simulation.dispose();
+
+        Gdx.app.setLogLevel(Application.LOG_INFO);
+        Gdx.app.log(TAG, String.format("replay seed=%d enemies=%d mode=%s finder=%s: %d of %d ticks, %d checkpoints verified",
+            recording.getSeed(), recording.getEnemyCount(), recording.getPathMode(), recording.getPathFinderMode(),
+            ticks, inputs.length, verifiedCheckpoints));
+        for (int tick : slowestTicks(aiNanos, physicsNanos, ticks, 5)) {
+            Gdx.app.log(TAG, String.format("slow tick %d: %s", tick, formatTick(aiNanos, physicsNanos, tick)));
+        }
+        IntArray hitchTicks = recording.getHitchTicks();
+        int maxStepsPerFrame = simulation.getSimulationClock().getMaxStepsPerFrame();
+        for (int i = 0; i < hitchTicks.size; i++) {
+            int firstTick = hitchTicks.get(i);
+            if (firstTick >= ticks) break;
+            int slowest = firstTick;// 卡顿帧最多执行 maxStepsPerFrame 步，取其中最慢的一步
+            for (int tick = firstTick; tick < Math.min(ticks, firstTick + maxStepsPerFrame); tick++) {
+                if (aiNanos[tick] + physicsNanos[tick] > aiNanos[slowest] + physicsNanos[slowest]) slowest = tick;
+            }
+            Gdx.app.log(TAG, String.format("hitch at tick %d (recorded %.1f ms): slowest replayed tick %d: %s",
+                firstTick, recording.getHitchMillis().get(i), slowest, formatTick(aiNanos, physicsNanos, slowest)));
+        }
+        if (divergedTick >= 0) {
+            int lastVerified = nextCheckpoint > 0 ? checkpointTicks.get(nextCheckpoint - 1) : 0;
+            Gdx.app.error(TAG, String.format("replay diverged from the recording between tick %d and %d", lastVerified, divergedTick));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 耗时最长的若干步，按耗时从长到短排列
+     */
+    private static int[] slowestTicks(long[] aiNanos, long[] physicsNanos, int ticks, int count) {
+        int[] slowest = new int[Math.min(count, ticks)];
+        int size = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long nanos = aiNanos[tick] + physicsNanos[tick];
+            int position = Math.min(size, slowest.length - 1);
+            if (size == slowest.length && aiNanos[slowest[position]] + physicsNanos[slowest[position]] >= nanos) continue;
+            while (position > 0 && aiNanos[slowest[position - 1]] + physicsNanos[slowest[position - 1]] < nanos) {
+                slowest[position] = slowest[position - 1];
+                position--;
+            }
+            slowest[position] = tick;
+            if (size < slowest.length) size++;
+        }
+        return slowest;
+    }
+
+    private static String formatTick(long[] aiNanos, long[] physicsNanos, int tick) {
+        return String.format("%.3f ms (input+AI %.3f ms, physics %.3f ms)",
+            (aiNanos[tick] + physicsNanos[tick]) / 1e6, aiNanos[tick] / 1e6, physicsNanos[tick] / 1e6);
+    }
+
+    private static void waitForEnter(int tick) {
+        int logLevel = Gdx.app.getLogLevel();// 回放期间只输出错误，提示需要临时放开
+        Gdx.app.setLogLevel(Application.LOG_INFO);
+        Gdx.app.log(TAG, "Paused before tick " + tick + ", attach a profiler and press Enter to continue");
+        Gdx.app.setLogLevel(logLevel);
+        try {
+            int read;
+            do {
+                read = System.in.read();// 等待回车；标准输入已关闭 (-1) 时直接继续
+            } while (read != '\n' && read != -1);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+}